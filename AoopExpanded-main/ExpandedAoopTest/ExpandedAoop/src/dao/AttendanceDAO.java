@@ -1,9 +1,12 @@
 package dao;
 
 import util.DBConnection;
+import util.DataChangeNotifier;
 import model.Attendance;
+import model.EmployeeAttendance;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 import java.util.logging.Logger;
@@ -12,6 +15,13 @@ import java.util.logging.Level;
 public class AttendanceDAO {
     private static final Logger logger = Logger.getLogger(AttendanceDAO.class.getName());
 
+    /**
+     * Which records the company-wide attendance query returns
+     */
+    public enum StatusFilter {
+        ALL, LATE, UNDERTIME, LATE_OR_UNDERTIME
+    }
+
     public List<Attendance> getAttendanceByEmployeeId(int empId) {
         if (empId <= 0) {
             throw new IllegalArgumentException("Employee ID must be positive");
@@ -39,6 +49,200 @@ public class AttendanceDAO {
         return list;
     }
 
+    /**
+     * Get one page of an employee's attendance, newest first, continuing before a date.
+     * Attendance dates are unique per employee, so the date alone is the keyset and each
+     * page is a range scan on (employee_id, attendance_date).
+     * @param empId employee ID
+     * @param before attendance date of the last row of the previous page, or null for the first page
+     * @param limit maximum number of records to return
+     */
+    public List<Attendance> getAttendancePage(int empId, LocalDate before, int limit) {
+        if (empId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        List<Attendance> list = new ArrayList<>();
+        String query = "SELECT * FROM attendance WHERE employee_id = ?" +
+                (before != null ? " AND attendance_date < ?" : "") +
+                " ORDER BY attendance_date DESC LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            stmt.setInt(index++, empId);
+            if (before != null) {
+                stmt.setDate(index++, java.sql.Date.valueOf(before));
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapResultSetToAttendance(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving attendance page for employee ID: " + empId, ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+
+        return list;
+    }
+
+    /**
+     * Count all attendance records of an employee
+     */
+    public int countAttendanceByEmployeeId(int empId) {
+        if (empId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+
+        String query = "SELECT COUNT(*) FROM attendance WHERE employee_id = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, empId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error counting attendance for employee ID: " + empId, ex);
+            throw new RuntimeException("Failed to count attendance records", ex);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Get one page of attendance for all employees in a date range, newest first, with
+     * each employee's name and the late and undertime flags computed by the database.
+     * Replaces loading every employee and then their attendance one by one.
+     * @param after last record of the previous page, or null for the first page
+     * @param limit maximum number of records to return
+     */
+    public List<EmployeeAttendance> getCompanyAttendancePage(LocalDate from, LocalDate to, StatusFilter filter,
+                                                             EmployeeAttendance after, int limit) {
+        validateRange(from, to);
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder query = new StringBuilder(
+                "SELECT a.*, CONCAT(e.first_name, ' ', e.last_name) AS employee_name, " +
+                "a.log_in > ? AS is_late, a.log_out < ? AS has_undertime " +
+                "FROM attendance a JOIN employees e ON e.employee_id = a.employee_id");
+        params.add(Time.valueOf(Attendance.SHIFT_START));
+        params.add(Time.valueOf(Attendance.SHIFT_END));
+        appendCompanyConditions(query, params, from, to, filter);
+        if (after != null) {
+            query.append(" AND (a.attendance_date, a.id) < (?, ?)");
+            params.add(after.getAttendance().getDate());
+            params.add(after.getAttendance().getId());
+        }
+        query.append(" ORDER BY a.attendance_date DESC, a.id DESC LIMIT ?");
+        params.add(limit);
+
+        List<EmployeeAttendance> list = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new EmployeeAttendance(mapResultSetToAttendance(rs), rs.getString("employee_name"),
+                            rs.getBoolean("is_late"), rs.getBoolean("has_undertime")));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving company attendance between " + from + " and " + to, ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+
+        return list;
+    }
+
+    /**
+     * Count the records getCompanyAttendancePage returns for the same range and filter
+     */
+    public int countCompanyAttendance(LocalDate from, LocalDate to, StatusFilter filter) {
+        validateRange(from, to);
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder query = new StringBuilder("SELECT COUNT(*) FROM attendance a");
+        appendCompanyConditions(query, params, from, to, filter);
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error counting company attendance between " + from + " and " + to, ex);
+            throw new RuntimeException("Failed to count attendance records", ex);
+        }
+
+        return 0;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+    }
+
+    private static void appendCompanyConditions(StringBuilder query, List<Object> params,
+                                                LocalDate from, LocalDate to, StatusFilter filter) {
+        query.append(" WHERE a.attendance_date >= ? AND a.attendance_date <= ?");
+        params.add(java.sql.Date.valueOf(from));
+        params.add(java.sql.Date.valueOf(to));
+
+        Time shiftStart = Time.valueOf(Attendance.SHIFT_START);
+        Time shiftEnd = Time.valueOf(Attendance.SHIFT_END);
+        switch (filter != null ? filter : StatusFilter.ALL) {
+            case LATE:
+                query.append(" AND a.log_in > ?");
+                params.add(shiftStart);
+                break;
+            case UNDERTIME:
+                query.append(" AND a.log_out < ?");
+                params.add(shiftEnd);
+                break;
+            case LATE_OR_UNDERTIME:
+                query.append(" AND (a.log_in > ? OR a.log_out < ?)");
+                params.add(shiftStart);
+                params.add(shiftEnd);
+                break;
+            case ALL:
+            default:
+                break;
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+
     public List<Attendance> getAttendanceByEmployeeIdBetweenDates(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
         if (employeeId <= 0) {
             throw new IllegalArgumentException("Employee ID must be positive");
@@ -76,6 +280,41 @@ public class AttendanceDAO {
         return list;
     }
 
+    /**
+     * Attendance rows for all employees within a period, ordered by employee then date.
+     * Used by period-wide payroll runs so the whole company is read in one query.
+     */
+    public List<Attendance> getAttendanceBetweenDates(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+
+        List<Attendance> list = new ArrayList<>();
+        String query = "SELECT * FROM attendance WHERE attendance_date >= ? AND attendance_date <= ? ORDER BY employee_id, attendance_date DESC";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(2, java.sql.Date.valueOf(periodEnd));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapResultSetToAttendance(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving attendance between dates: " + periodStart + " and " + periodEnd, ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+
+        return list;
+    }
+
     public int insertAttendance(Attendance attendance) {
         if (attendance == null) {
             throw new IllegalArgumentException("Attendance cannot be null");
@@ -171,6 +410,7 @@ public class AttendanceDAO {
                     logger.info(String.format("Successfully inserted attendance record with ID: %d for employee %d",
                             generatedId, attendance.getEmployeeId()));
 
+                    notifyChanged(attendance);
                     return generatedId;
                 } else {
                     throw new SQLException("Creating attendance failed, no ID obtained.");
@@ -183,6 +423,160 @@ public class AttendanceDAO {
         }
     }
 
+    /**
+     * Record a log in punch with one call: inserts the day's row or, if it already exists,
+     * keeps its earliest log in. Unknown employees are rejected by the foreign key instead of a
+     * separate existence query.
+     * @return the attendance row after the punch; its log in differs from logInTime if the
+     *         employee had already logged in earlier that day
+     */
+    public Attendance recordLogIn(int employeeId, LocalDate attendanceDate, Time logInTime) {
+        validatePunch(employeeId, attendanceDate, logInTime);
+        Attendance attendance = callPunchProcedure("{CALL sp_record_log_in(?, ?, ?)}",
+                employeeId, attendanceDate, logInTime);
+        notifyChanged(attendance);
+        return attendance;
+    }
+
+    /**
+     * Record a log out punch with one call on the day's row
+     * @return the attendance row after the punch, or null if the employee has not logged in
+     *         that day; its log out differs from logOutTime if the punch was before the log in
+     *         or before a log out already recorded
+     */
+    public Attendance recordLogOut(int employeeId, LocalDate attendanceDate, Time logOutTime) {
+        validatePunch(employeeId, attendanceDate, logOutTime);
+        Attendance attendance = callPunchProcedure("{CALL sp_record_log_out(?, ?, ?)}",
+                employeeId, attendanceDate, logOutTime);
+        notifyChanged(attendance);
+        return attendance;
+    }
+
+    /**
+     * Write many punches in one transaction with batched statements, applying the same rules
+     * as recordLogIn and recordLogOut, so writing the same punches again changes nothing.
+     * Log ins are written before log outs so a log in and log out of the same day can share
+     * a batch. Punches for unknown employees, punches that do not move the recorded times and
+     * log outs without a matching log in are skipped instead of failing the batch.
+     * @param logIns attendance with employee, date and log in set
+     * @param logOuts attendance with employee, date and log out set
+     * @return number of punches skipped, as far as the driver reports it
+     */
+    public int recordPunches(List<Attendance> logIns, List<Attendance> logOuts) {
+        if (logIns.isEmpty() && logOuts.isEmpty()) {
+            return 0;
+        }
+
+        // Selecting from employees instead of VALUES inserts nothing for an unknown employee
+        String logInQuery = "INSERT INTO attendance (employee_id, attendance_date, log_in) " +
+                "SELECT e.employee_id, ?, ? FROM employees e WHERE e.employee_id = ? " +
+                "ON DUPLICATE KEY UPDATE log_in = LEAST(COALESCE(attendance.log_in, VALUES(log_in)), VALUES(log_in))";
+        String logOutQuery = "UPDATE attendance SET log_out = ? " +
+                "WHERE employee_id = ? AND attendance_date = ? AND log_in <= ? AND (log_out IS NULL OR log_out < ?)";
+
+        int skipped = 0;
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement logInStmt = conn.prepareStatement(logInQuery);
+                 PreparedStatement logOutStmt = conn.prepareStatement(logOutQuery)) {
+
+                for (Attendance punch : logIns) {
+                    logInStmt.setDate(1, punch.getDate());
+                    logInStmt.setTime(2, punch.getLogIn());
+                    logInStmt.setInt(3, punch.getEmployeeId());
+                    logInStmt.addBatch();
+                }
+                for (Attendance punch : logOuts) {
+                    logOutStmt.setTime(1, punch.getLogOut());
+                    logOutStmt.setInt(2, punch.getEmployeeId());
+                    logOutStmt.setDate(3, punch.getDate());
+                    logOutStmt.setTime(4, punch.getLogOut());
+                    logOutStmt.setTime(5, punch.getLogOut());
+                    logOutStmt.addBatch();
+                }
+
+                if (!logIns.isEmpty()) {
+                    skipped += countSkipped(logInStmt.executeBatch());
+                }
+                if (!logOuts.isEmpty()) {
+                    skipped += countSkipped(logOutStmt.executeBatch());
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error writing batch of " + (logIns.size() + logOuts.size()) + " punches", ex);
+            throw new RuntimeException("Failed to record attendance punches", ex);
+        }
+
+        Set<String> notified = new HashSet<>();
+        for (List<Attendance> punches : Arrays.asList(logIns, logOuts)) {
+            for (Attendance punch : punches) {
+                if (notified.add(punch.getEmployeeId() + "@" + punch.getDate())) {
+                    notifyChanged(punch);
+                }
+            }
+        }
+        return skipped;
+    }
+
+    private static int countSkipped(int[] updateCounts) {
+        int skipped = 0;
+        for (int count : updateCounts) {
+            // Rewritten batches report SUCCESS_NO_INFO instead of per-row counts
+            if (count == 0) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    private static void validatePunch(int employeeId, LocalDate attendanceDate, Time time) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive, got: " + employeeId);
+        }
+        if (attendanceDate == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (time == null) {
+            throw new IllegalArgumentException("Punch time cannot be null");
+        }
+        if (attendanceDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Attendance date cannot be in the future: " + attendanceDate);
+        }
+    }
+
+    private Attendance callPunchProcedure(String call, int employeeId, LocalDate attendanceDate, Time time) {
+        try (Connection conn = DBConnection.getConnection();
+             CallableStatement stmt = conn.prepareCall(call)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, java.sql.Date.valueOf(attendanceDate));
+            stmt.setTime(3, time);
+
+            // The procedure's only result set is the row after the punch
+            boolean hasResults = stmt.execute();
+            while (!hasResults && stmt.getUpdateCount() != -1) {
+                hasResults = stmt.getMoreResults();
+            }
+            if (!hasResults) {
+                return null;
+            }
+            try (ResultSet rs = stmt.getResultSet()) {
+                return rs.next() ? mapResultSetToAttendance(rs) : null;
+            }
+
+        } catch (SQLIntegrityConstraintViolationException ex) {
+            throw new IllegalArgumentException("Employee ID " + employeeId + " does not exist in the system", ex);
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error recording punch for employee " + employeeId + " on " + attendanceDate, ex);
+            throw new RuntimeException("Failed to record attendance punch", ex);
+        }
+    }
+
     public boolean updateAttendance(Attendance attendance) {
         if (attendance == null) {
             throw new IllegalArgumentException("Attendance cannot be null");
@@ -192,6 +586,7 @@ public class AttendanceDAO {
         }
 
         String query = "UPDATE attendance SET employee_id = ?, attendance_date = ?, log_in = ?, log_out = ? WHERE id = ?";
+        Attendance previous = DataChangeNotifier.hasListeners() ? getAttendanceById(attendance.getId()) : null;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -203,6 +598,10 @@ public class AttendanceDAO {
             stmt.setInt(5, attendance.getId());
 
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0) {
+                notifyChanged(previous);
+                notifyChanged(attendance);
+            }
             return affectedRows > 0;
 
         } catch (SQLException ex) {
@@ -217,12 +616,16 @@ public class AttendanceDAO {
         }
 
         String query = "DELETE FROM attendance WHERE id = ?";
+        Attendance previous = DataChangeNotifier.hasListeners() ? getAttendanceById(attendanceId) : null;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setInt(1, attendanceId);
             int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0) {
+                notifyChanged(previous);
+            }
             return affectedRows > 0;
 
         } catch (SQLException ex) {
@@ -256,6 +659,20 @@ public class AttendanceDAO {
         return null;
     }
 
+    /**
+     * Get many attendance records at once
+     * @return the records found, keyed by attendance ID in the order the IDs were given
+     */
+    public Map<Integer, Attendance> getAttendanceByIds(Collection<Integer> attendanceIds) {
+        try {
+            return KeyBatches.fetch("SELECT * FROM attendance WHERE id IN ", "id",
+                    attendanceIds, this::mapResultSetToAttendance);
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving " + attendanceIds.size() + " attendance records by ID", ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+    }
+
     public boolean attendanceExistsForDate(int employeeId, LocalDate attendanceDate) {
         if (employeeId <= 0) {
             throw new IllegalArgumentException("Employee ID must be positive");
@@ -351,33 +768,25 @@ public class AttendanceDAO {
         return null;
     }
 
-    private Attendance mapResultSetToAttendance(ResultSet rs) throws SQLException {
-        Attendance attendance = new Attendance();
-        attendance.setId(rs.getInt("id"));
-        attendance.setEmployeeId(rs.getInt("employee_id"));
-        attendance.setDate(rs.getDate("attendance_date"));
-        attendance.setLogIn(rs.getTime("log_in"));
-        attendance.setLogOut(rs.getTime("log_out"));
-
-        // Handle timestamps if they exist
-        try {
-            Timestamp created = rs.getTimestamp("created_at");
-            if (created != null) {
-                attendance.setCreatedAt(created.toLocalDateTime());
-            }
-        } catch (SQLException e) {
-            // created_at column might not exist in all queries
+    /**
+     * Tell caches that the employee's data for this attendance date changed
+     */
+    private void notifyChanged(Attendance attendance) {
+        if (attendance == null || attendance.getEmployeeId() <= 0) {
+            return;
         }
+        LocalDate date = attendance.getDate() != null ? attendance.getDate().toLocalDate() : null;
+        DataChangeNotifier.fireEmployeeDataChanged(attendance.getEmployeeId(), date, date);
+    }
 
-        try {
-            Timestamp updated = rs.getTimestamp("updated_at");
-            if (updated != null) {
-                attendance.setUpdatedAt(updated.toLocalDateTime());
-            }
-        } catch (SQLException e) {
-            // updated_at column might not exist in all queries
-        }
+    private Attendance mapResultSetToAttendance(ResultSet rs) throws SQLException {
+        // Every attendance query selects the full row, timestamps included
+        return Attendance.fromRow(rs.getInt("id"), rs.getInt("employee_id"), rs.getDate("attendance_date"),
+                rs.getTime("log_in"), rs.getTime("log_out"),
+                toLocalDateTime(rs.getTimestamp("created_at")), toLocalDateTime(rs.getTimestamp("updated_at")));
+    }
 
-        return attendance;
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
     }
 }
\ No newline at end of file
@@ -5,7 +5,10 @@ import util.DBConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -126,20 +129,7 @@ public class DeductionDAO {
             ResultSet rs = stmt.executeQuery();
 
             while (rs.next()) {
-                ConcreteDeduction d = new ConcreteDeduction(
-                        rs.getInt("employee_id"),
-                        rs.getString("type"),
-                        rs.getDouble("amount"),
-                        rs.getString("description")
-                );
-                d.setDeductionId(rs.getInt("deduction_id"));
-
-                Date deductionDate = rs.getDate("deduction_date");
-                if (deductionDate != null) {
-                    d.setDeductionDate(deductionDate);
-                }
-
-                deductions.add(d);
+                deductions.add(mapResultSetToDeduction(rs));
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving deductions for employee ID: " + employeeId, e);
@@ -239,20 +229,7 @@ public class DeductionDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                ConcreteDeduction deduction = new ConcreteDeduction(
-                        rs.getInt("employee_id"),
-                        rs.getString("type"),
-                        rs.getDouble("amount"),
-                        rs.getString("description")
-                );
-                deduction.setDeductionId(rs.getInt("deduction_id"));
-
-                Date deductionDate = rs.getDate("deduction_date");
-                if (deductionDate != null) {
-                    deduction.setDeductionDate(deductionDate);
-                }
-
-                return deduction;
+                return mapResultSetToDeduction(rs);
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error retrieving deduction by ID: " + deductionId, e);
@@ -262,6 +239,26 @@ public class DeductionDAO {
         return null;
     }
 
+    /**
+     * Gets many deductions at once
+     * @return the deductions found, keyed by deduction ID in the order the IDs were given
+     */
+    public Map<Integer, Deduction> getDeductionsByIds(Collection<Integer> deductionIds) throws SQLException {
+        KeyBatches.distinctKeys(deductionIds); // Reject bad IDs even when there is no table yet
+
+        if (!deductionsTableExists()) {
+            return new LinkedHashMap<>();
+        }
+
+        try {
+            return KeyBatches.fetch("SELECT * FROM deductions WHERE deduction_id IN ", "deduction_id",
+                    deductionIds, DeductionDAO::mapResultSetToDeduction);
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving " + deductionIds.size() + " deductions by ID", e);
+            throw e;
+        }
+    }
+
     /**
      * Gets total deductions for an employee by type
      */
@@ -320,6 +317,23 @@ public class DeductionDAO {
         return types;
     }
 
+    private static Deduction mapResultSetToDeduction(ResultSet rs) throws SQLException {
+        ConcreteDeduction deduction = new ConcreteDeduction(
+                rs.getInt("employee_id"),
+                rs.getString("type"),
+                rs.getDouble("amount"),
+                rs.getString("description")
+        );
+        deduction.setDeductionId(rs.getInt("deduction_id"));
+
+        Date deductionDate = rs.getDate("deduction_date");
+        if (deductionDate != null) {
+            deduction.setDeductionDate(deductionDate);
+        }
+
+        return deduction;
+    }
+
     /**
      * Concrete implementation of the abstract Deduction class
      */
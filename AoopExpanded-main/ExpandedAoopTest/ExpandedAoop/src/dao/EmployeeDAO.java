@@ -1,7 +1,11 @@
 package dao;
 
 import util.DBConnection;
+import util.DataChangeNotifier;
 import model.Employee;
+import model.EmployeeName;
+import model.EmployeeSummary;
+import model.Position;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -12,24 +16,43 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class EmployeeDAO {
     private static final Logger LOGGER = Logger.getLogger(EmployeeDAO.class.getName());
 
+    private static final String UPDATE_EMPLOYEE =
+            "UPDATE employees SET last_name=?, first_name=?, birthday=?, address=?, " +
+            "phone_number=?, sss_number=?, philhealth_number=?, tin_number=?, " +
+            "pagibig_number=?, status=?, position_id=?, supervisor_id=? WHERE employee_id=?";
+
+    // Columns of EmployeeSummary in mapResultSetToSummary order; position is a primary key lookup
+    private static final String SUMMARY_SELECT =
+            "SELECT e.employee_id, e.last_name, e.first_name, p.position_title, e.status, p.basic_salary, " +
+            "e.phone_number " +
+            "FROM employees e " +
+            "LEFT JOIN positions p ON e.position_id = p.position_id ";
+
     public List<Employee> getAllEmployees() {
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees ORDER BY last_name, first_name";
+        // Position and supervisor joined in, not looked up once per employee
+        String query = "SELECT e.*, p.position_title, p.basic_salary, " +
+                "CONCAT(sup.last_name, ', ', sup.first_name) AS supervisor_name " +
+                "FROM employees e " +
+                "LEFT JOIN positions p ON e.position_id = p.position_id " +
+                "LEFT JOIN employees sup ON e.supervisor_id = sup.employee_id " +
+                "ORDER BY e.last_name, e.first_name";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Employee e = mapResultSetToEmployee(rs);
-                employees.add(e);
+                employees.add(mapJoinedResultSetToEmployee(rs));
             }
 
         } catch (SQLException ex) {
@@ -61,6 +84,27 @@ public class EmployeeDAO {
         return null;
     }
 
+    /**
+     * Get many employees at once, with position title and basic salary filled in.
+     * The IDs are sent in IN lists of at most {@link KeyBatches#CHUNK_SIZE}.
+     * @return the employees found, keyed by employee ID in the order the IDs were given
+     */
+    public Map<Integer, Employee> getEmployeesByIds(Collection<Integer> employeeIds) {
+        String query = "SELECT e.*, p.position_title, p.basic_salary, " +
+                "CONCAT(sup.last_name, ', ', sup.first_name) AS supervisor_name " +
+                "FROM employees e " +
+                "LEFT JOIN positions p ON e.position_id = p.position_id " +
+                "LEFT JOIN employees sup ON e.supervisor_id = sup.employee_id " +
+                "WHERE e.employee_id IN ";
+
+        try {
+            return KeyBatches.fetch(query, "employee_id", employeeIds, this::mapJoinedResultSetToEmployee);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching " + employeeIds.size() + " employees by ID", ex);
+            throw new RuntimeException("Failed to fetch employees", ex);
+        }
+    }
+
     /**
      * Get employee with position details using the view
 	 * @param employeeId
@@ -87,6 +131,122 @@ public class EmployeeDAO {
         return null;
     }
 
+    /**
+     * Get all employees with position details from the view in one query
+     * @return employees ordered by last name, first name
+     */
+    public List<Employee> getAllEmployeesWithPositionDetails() {
+        List<Employee> employees = new ArrayList<>();
+        String query = "SELECT * FROM v_employee_details ORDER BY last_name, first_name";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                employees.add(mapViewResultSetToEmployee(rs));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching employee details", ex);
+            throw new RuntimeException("Failed to fetch employee details", ex);
+        }
+
+        return employees;
+    }
+
+    /**
+     * Get the total number of employees
+     */
+    public int getEmployeeCount() {
+        String query = "SELECT COUNT(*) FROM employees";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error counting employees", ex);
+            throw new RuntimeException("Failed to get employee count", ex);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Get one page of employee summaries in the given order, continuing after a previous row.
+     * Reads only the listed columns, which idx_employees_name covers for the name order.
+     * @param sort order of the list
+     * @param after last summary of the previous page, or null for the first page
+     * @param limit maximum number of summaries to return
+     */
+    public List<EmployeeSummary> getEmployeeSummaryPage(EmployeeSort sort, EmployeeSummary after, int limit) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort order cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        List<EmployeeSummary> summaries = new ArrayList<>(limit);
+        String query = SUMMARY_SELECT +
+                (after != null ? "WHERE " + sort.keysetCondition() + " " : "") +
+                sort.orderByClause() + " LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int index = 1;
+            if (after != null) {
+                for (Object key : sort.keyOf(after)) {
+                    stmt.setObject(index++, key);
+                }
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(mapResultSetToSummary(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching employee summary page ordered by " + sort, ex);
+            throw new RuntimeException("Failed to fetch employees", ex);
+        }
+
+        return summaries;
+    }
+
+    /**
+     * IDs and names of all employees, by name, for employee pickers.
+     * Answered from idx_employees_name alone without reading the table rows.
+     */
+    public List<EmployeeName> getEmployeeNames() {
+        List<EmployeeName> names = new ArrayList<>();
+        String query = "SELECT employee_id, last_name, first_name FROM employees " +
+                "ORDER BY last_name, first_name, employee_id";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                names.add(new EmployeeName(rs.getInt(1), rs.getString(2), rs.getString(3)));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching employee names", ex);
+            throw new RuntimeException("Failed to fetch employee names", ex);
+        }
+
+        return names;
+    }
+
     /**
      * Enhanced insertEmployee method matching the actual database schema
 	 * @param e
@@ -162,6 +322,8 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully inserted employee: " + e.getId() + " - " + e.getFullName());
+                SupervisorIndex.getInstance().put(e.getId(), e.getLastName(), e.getFirstName());
+                DataChangeNotifier.fireEmployeeDataChanged(e.getId());
                 return true;
             } else {
                 LOGGER.warning("No rows affected when inserting employee: " + e.getId());
@@ -175,38 +337,19 @@ public class EmployeeDAO {
     }
 
     public boolean updateEmployee(Employee e) {
-        if (e == null) {
-            throw new IllegalArgumentException("Employee cannot be null");
-        }
-        if (e.getId() <= 0) {
-            throw new IllegalArgumentException("Employee ID must be positive");
-        }
-
-        String sql = "UPDATE employees SET last_name=?, first_name=?, birthday=?, address=?, " +
-                "phone_number=?, sss_number=?, philhealth_number=?, tin_number=?, " +
-                "pagibig_number=?, status=?, position_id=?, supervisor_id=? WHERE employee_id=?";
+        validateForUpdate(e);
 
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_EMPLOYEE)) {
 
-            stmt.setString(1, e.getLastName() != null ? e.getLastName().trim() : null);
-            stmt.setString(2, e.getFirstName() != null ? e.getFirstName().trim() : null);
-            stmt.setDate(3, e.getBirthday() != null ? java.sql.Date.valueOf(e.getBirthday()) : null);
-            stmt.setString(4, e.getAddress() != null ? e.getAddress().trim() : null);
-            stmt.setString(5, e.getPhoneNumber() != null ? e.getPhoneNumber().trim() : null);
-            stmt.setString(6, e.getSssNumber() != null ? e.getSssNumber().trim() : null);
-            stmt.setString(7, e.getPhilhealthNumber() != null ? e.getPhilhealthNumber().trim() : null);
-            stmt.setString(8, e.getTinNumber() != null ? e.getTinNumber().trim() : null);
-            stmt.setString(9, e.getPagibigNumber() != null ? e.getPagibigNumber().trim() : null);
-            stmt.setString(10, e.getStatus() != null ? e.getStatus().trim() : "Regular");
-            stmt.setInt(11, getPositionId(e.getPosition()));
-            stmt.setObject(12, getSupervisorId(e.getImmediateSupervisor()), java.sql.Types.INTEGER);
-            stmt.setInt(13, e.getId());
+            bindUpdate(stmt, e, getSupervisorId(e.getImmediateSupervisor()));
 
             int result = stmt.executeUpdate();
 
             if (result > 0) {
                 LOGGER.info("Successfully updated employee: " + e.getId() + " - " + e.getFullName());
+                SupervisorIndex.getInstance().put(e.getId(), e.getLastName(), e.getFirstName());
+                DataChangeNotifier.fireEmployeeDataChanged(e.getId());
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + e.getId() + " for update");
@@ -219,6 +362,88 @@ public class EmployeeDAO {
         }
     }
 
+    /**
+     * Update many employees in one batched transaction, e.g. for an import.
+     * Supervisor names are resolved together through the in-memory supervisor index.
+     * @return the number of employees found and updated
+     */
+    public int updateEmployees(List<Employee> employees) {
+        if (employees == null) {
+            throw new IllegalArgumentException("Employees cannot be null");
+        }
+        if (employees.isEmpty()) {
+            return 0;
+        }
+
+        List<String> supervisorNames = new ArrayList<>(employees.size());
+        for (Employee e : employees) {
+            validateForUpdate(e);
+            supervisorNames.add(e.getImmediateSupervisor());
+        }
+        Map<String, Integer> supervisorIds = SupervisorIndex.getInstance().resolveIds(supervisorNames);
+
+        int updated = 0;
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_EMPLOYEE)) {
+                for (Employee e : employees) {
+                    bindUpdate(stmt, e, supervisorIds.get(e.getImmediateSupervisor()));
+                    stmt.addBatch();
+                }
+                int[] results = stmt.executeBatch();
+                conn.commit();
+
+                for (int i = 0; i < results.length; i++) {
+                    // The driver may report SUCCESS_NO_INFO (-2) instead of a row count
+                    if (results[i] > 0 || results[i] == Statement.SUCCESS_NO_INFO) {
+                        Employee e = employees.get(i);
+                        updated++;
+                        SupervisorIndex.getInstance().put(e.getId(), e.getLastName(), e.getFirstName());
+                        DataChangeNotifier.fireEmployeeDataChanged(e.getId());
+                    }
+                }
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error updating " + employees.size() + " employees", ex);
+            throw new RuntimeException("Failed to update employees: " + ex.getMessage(), ex);
+        }
+
+        LOGGER.info("Updated " + updated + " of " + employees.size() + " employees in one batch");
+        return updated;
+    }
+
+    private static void validateForUpdate(Employee e) {
+        if (e == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        if (e.getId() <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+    }
+
+    private void bindUpdate(PreparedStatement stmt, Employee e, Integer supervisorId) throws SQLException {
+        stmt.setString(1, e.getLastName() != null ? e.getLastName().trim() : null);
+        stmt.setString(2, e.getFirstName() != null ? e.getFirstName().trim() : null);
+        stmt.setDate(3, e.getBirthday() != null ? java.sql.Date.valueOf(e.getBirthday()) : null);
+        stmt.setString(4, e.getAddress() != null ? e.getAddress().trim() : null);
+        stmt.setString(5, e.getPhoneNumber() != null ? e.getPhoneNumber().trim() : null);
+        stmt.setString(6, e.getSssNumber() != null ? e.getSssNumber().trim() : null);
+        stmt.setString(7, e.getPhilhealthNumber() != null ? e.getPhilhealthNumber().trim() : null);
+        stmt.setString(8, e.getTinNumber() != null ? e.getTinNumber().trim() : null);
+        stmt.setString(9, e.getPagibigNumber() != null ? e.getPagibigNumber().trim() : null);
+        stmt.setString(10, e.getStatus() != null ? e.getStatus().trim() : "Regular");
+        stmt.setInt(11, getPositionId(e.getPosition()));
+        stmt.setObject(12, supervisorId, java.sql.Types.INTEGER);
+        stmt.setInt(13, e.getId());
+    }
+
     public boolean deleteEmployee(int employeeId) {
         if (employeeId <= 0) {
             throw new IllegalArgumentException("Employee ID must be positive");
@@ -234,6 +459,8 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully deleted employee with ID: " + employeeId);
+                SupervisorIndex.getInstance().remove(employeeId);
+                DataChangeNotifier.fireEmployeeDataChanged(employeeId);
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + employeeId + " for deletion");
@@ -354,44 +581,19 @@ public class EmployeeDAO {
      * Enhanced mapResultSetToEmployee matching actual database schema
      */
     private Employee mapResultSetToEmployee(ResultSet rs) throws SQLException {
-        Employee e = createEmployeeInstance();
-        e.setId(rs.getInt("employee_id"));
-        e.setLastName(rs.getString("last_name"));
-        e.setFirstName(rs.getString("first_name"));
-
-        java.sql.Date birthday = rs.getDate("birthday");
-        if (birthday != null) {
-            e.setBirthday(birthday.toLocalDate());
-        }
-
-        e.setAddress(rs.getString("address"));
-        e.setPhoneNumber(rs.getString("phone_number"));
-        e.setSssNumber(rs.getString("sss_number"));
-        e.setPhilhealthNumber(rs.getString("philhealth_number"));
-        e.setTinNumber(rs.getString("tin_number"));
-        e.setPagibigNumber(rs.getString("pagibig_number"));
-        e.setStatus(rs.getString("status"));
+        DatabaseEmployee e = new DatabaseEmployee(rs, 0.0, true);
 
         // Get position name from position_id
         int positionId = rs.getInt("position_id");
-        e.setPosition(getPositionName(positionId));
+        String supervisorName = null;
 
         // Get supervisor name from supervisor_id
         Integer supervisorId = rs.getObject("supervisor_id", Integer.class);
         if (supervisorId != null) {
-            e.setImmediateSupervisor(getSupervisorName(supervisorId));
-        }
-
-        // Handle timestamps
-        Timestamp created = rs.getTimestamp("created_at");
-        if (created != null) {
-            e.setCreatedAt(created.toLocalDateTime());
-        }
-        Timestamp updated = rs.getTimestamp("updated_at");
-        if (updated != null) {
-            e.setUpdatedAt(updated.toLocalDateTime());
+            supervisorName = getSupervisorName(supervisorId);
         }
 
+        e.placement(getPositionName(positionId), supervisorName);
         return e;
     }
 
@@ -399,146 +601,118 @@ public class EmployeeDAO {
      * Map view result set to Employee with position details
      */
     private Employee mapViewResultSetToEmployee(ResultSet rs) throws SQLException {
-        Employee e = createEmployeeInstance();
-        e.setId(rs.getInt("employee_id"));
-        e.setLastName(rs.getString("last_name"));
-        e.setFirstName(rs.getString("first_name"));
-
-        java.sql.Date birthday = rs.getDate("birthday");
-        if (birthday != null) {
-            e.setBirthday(birthday.toLocalDate());
-        }
-
-        e.setAddress(rs.getString("address"));
-        e.setPhoneNumber(rs.getString("phone_number"));
-        e.setSssNumber(rs.getString("sss_number"));
-        e.setPhilhealthNumber(rs.getString("philhealth_number"));
-        e.setTinNumber(rs.getString("tin_number"));
-        e.setPagibigNumber(rs.getString("pagibig_number"));
-        e.setStatus(rs.getString("status"));
-        e.setPosition(rs.getString("position_title"));
-        e.setImmediateSupervisor(rs.getString("supervisor_name"));
+        // The view has no timestamp columns
+        DatabaseEmployee e = new DatabaseEmployee(rs, rs.getDouble("basic_salary"), false);
+        e.placement(rs.getString("position_title"), rs.getString("supervisor_name"));
+        return e;
+    }
 
-        // Set basic salary from position
-        e.setBasicSalary(rs.getDouble("basic_salary"));
+    private static EmployeeSummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        return new EmployeeSummary(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getDouble(6),
+                rs.getString(7));
+    }
 
+    /**
+     * Map an employees row joined with its position and supervisor name,
+     * so no extra lookups are needed per row
+     */
+    private Employee mapJoinedResultSetToEmployee(ResultSet rs) throws SQLException {
+        DatabaseEmployee e = new DatabaseEmployee(rs, rs.getDouble("basic_salary"), true);
+        e.placement(rs.getString("position_title"), rs.getString("supervisor_name"));
         return e;
     }
 
-    // Helper methods to convert between position names and IDs
+    // Helper methods to convert between position names and IDs, answered from the shared position cache
     private int getPositionId(String positionName) {
         if (positionName == null) return 1; // Default position
 
-        String query = "SELECT position_id FROM positions WHERE position_title = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setString(1, positionName);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getInt("position_id");
-            }
-
-        } catch (SQLException ex) {
-            LOGGER.log(Level.WARNING, "Error getting position ID for: " + positionName, ex);
+        Position position = PositionCache.getInstance().getByTitle(positionName);
+        if (position != null) {
+            return position.getPositionId();
         }
 
+        LOGGER.warning("Unknown position title: " + positionName);
         return 1; // Default position ID if not found
     }
 
     private String getPositionName(int positionId) {
-        String query = "SELECT position_title FROM positions WHERE position_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, positionId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getString("position_title");
-            }
-
-        } catch (SQLException ex) {
-            LOGGER.log(Level.WARNING, "Error getting position name for ID: " + positionId, ex);
-        }
-
-        return "Unknown Position";
+        Position position = PositionCache.getInstance().getById(positionId);
+        return position != null ? position.getPositionName() : "Unknown Position";
     }
 
+    // Supervisor names and IDs are resolved through the shared in-memory supervisor index
     private Integer getSupervisorId(String supervisorName) {
-        if (supervisorName == null || supervisorName.trim().isEmpty()) {
-            return null;
-        }
-
-        String query = "SELECT employee_id FROM employees WHERE CONCAT(last_name, ', ', first_name) = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setString(1, supervisorName.trim());
-            ResultSet rs = stmt.executeQuery();
+        return SupervisorIndex.getInstance().idOf(supervisorName);
+    }
 
-            if (rs.next()) {
-                return rs.getInt("employee_id");
-            }
+    private String getSupervisorName(int supervisorId) {
+        String name = SupervisorIndex.getInstance().nameOf(supervisorId);
+        return name != null ? name : "Unknown Supervisor";
+    }
+    
+    /**
+     * Employee as stored in the database. Rows are hydrated field by field without the
+     * setters, so mapping a row reads no clock and throws no validation exceptions.
+     */
+    private static final class DatabaseEmployee extends Employee {
+        DatabaseEmployee(ResultSet rs, double basicSalary, boolean hasTimestamps) throws SQLException {
+            super(rs.getInt("employee_id"), basicSalary,
+                    hasTimestamps ? toLocalDateTime(rs.getTimestamp("created_at")) : null,
+                    hasTimestamps ? toLocalDateTime(rs.getTimestamp("updated_at")) : null);
+            lastName = rs.getString("last_name");
+            firstName = rs.getString("first_name");
+            java.sql.Date birthDate = rs.getDate("birthday");
+            birthday = birthDate != null ? birthDate.toLocalDate() : null;
+            address = rs.getString("address");
+            phoneNumber = rs.getString("phone_number");
+            sssNumber = rs.getString("sss_number");
+            philhealthNumber = rs.getString("philhealth_number");
+            tinNumber = rs.getString("tin_number");
+            pagibigNumber = rs.getString("pagibig_number");
+            status = rs.getString("status");
+            positionId = rs.getInt("position_id");
+        }
 
-        } catch (SQLException ex) {
-            LOGGER.log(Level.WARNING, "Error getting supervisor ID for: " + supervisorName, ex);
+        void placement(String positionTitle, String supervisorName) {
+            position = positionTitle;
+            immediateSupervisor = supervisorName;
         }
 
-        return null;
-    }
+        private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
 
-    private String getSupervisorName(int supervisorId) {
-        String query = "SELECT CONCAT(last_name, ', ', first_name) as full_name FROM employees WHERE employee_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        @Override
+        public double calculateGrossPay(int daysWorked, double overtimeHours) {
+            double dailyRate = getBasicSalary() / 22;
+            return dailyRate * daysWorked;
+        }
 
-            stmt.setInt(1, supervisorId);
-            ResultSet rs = stmt.executeQuery();
+        @Override
+        public double calculateDeductions() {
+            return getBasicSalary() * 0.15; // 15% deductions
+        }
 
-            if (rs.next()) {
-                return rs.getString("full_name");
-            }
+        @Override
+        public double calculateAllowances() {
+            return getRiceSubsidy() + getPhoneAllowance() + getClothingAllowance();
+        }
 
-        } catch (SQLException ex) {
-            LOGGER.log(Level.WARNING, "Error getting supervisor name for ID: " + supervisorId, ex);
+        @Override
+        public boolean isEligibleForBenefits() {
+            return "Regular".equals(getStatus());
         }
 
-        return "Unknown Supervisor";
-    }
-    
-    /**
-     * Helper method to create employee instance
-     */
-    private Employee createEmployeeInstance() {
-        return new Employee() {
-            @Override
-            public double calculateGrossPay(int daysWorked, double overtimeHours) {
-                double dailyRate = getBasicSalary() / 22;
-                return dailyRate * daysWorked;
-            }
-            
-            @Override
-            public double calculateDeductions() {
-                return getBasicSalary() * 0.15; // 15% deductions
-            }
-            
-            @Override
-            public double calculateAllowances() {
-                return getRiceSubsidy() + getPhoneAllowance() + getClothingAllowance();
-            }
-            
-            @Override
-            public boolean isEligibleForBenefits() {
-                return "Regular".equals(getStatus());
-            }
-            
-            @Override
-            public String getEmployeeType() {
-                return "Database Employee";
-            }
-        };
+        @Override
+        public String getEmployeeType() {
+            return "Database Employee";
+        }
     }
 
     /**
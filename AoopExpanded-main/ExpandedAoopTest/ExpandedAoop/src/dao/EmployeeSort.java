@@ -0,0 +1,105 @@
+package dao;
+
+import model.Employee;
+import model.EmployeeSummary;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Orders in which employee lists can be paged. Each order ends with the employee ID so
+ * the key is unique, which lets a page continue after the last row of the one before
+ * (keyset pagination) instead of counting rows with OFFSET.
+ */
+public enum EmployeeSort {
+    ID_ASC(true, new String[]{"e.employee_id"},
+            (id, last, first, position) -> new Object[]{id}),
+    ID_DESC(false, new String[]{"e.employee_id"},
+            (id, last, first, position) -> new Object[]{id}),
+    NAME_ASC(true, new String[]{"e.last_name", "e.first_name", "e.employee_id"},
+            (id, last, first, position) -> new Object[]{last, first, id}),
+    NAME_DESC(false, new String[]{"e.last_name", "e.first_name", "e.employee_id"},
+            (id, last, first, position) -> new Object[]{last, first, id}),
+    // Employees without a position sort first; a NULL title would drop out of the keyset comparison
+    POSITION_ASC(true, new String[]{"COALESCE(p.position_title, '')", "e.employee_id"},
+            (id, last, first, position) -> new Object[]{position != null ? position : "", id});
+
+    /**
+     * Sort key built from the fields every employee row has, full entity or summary
+     */
+    private interface KeyValues {
+        Object[] of(int employeeId, String lastName, String firstName, String position);
+    }
+
+    private final boolean ascending;
+    private final String[] keyColumns;
+    private final KeyValues keyValues;
+
+    EmployeeSort(boolean ascending, String[] keyColumns, KeyValues keyValues) {
+        this.ascending = ascending;
+        this.keyColumns = keyColumns;
+        this.keyValues = keyValues;
+    }
+
+    /**
+     * Row comparison selecting the rows after a key, e.g. (e.last_name, e.employee_id) > (?, ?)
+     */
+    String keysetCondition() {
+        String placeholders = String.join(", ", Collections.nCopies(keyColumns.length, "?"));
+        return "(" + String.join(", ", keyColumns) + ") " + (ascending ? ">" : "<") + " (" + placeholders + ")";
+    }
+
+    String orderByClause() {
+        String direction = ascending ? " ASC" : " DESC";
+        StringBuilder sb = new StringBuilder("ORDER BY ");
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(keyColumns[i]).append(direction);
+        }
+        return sb.toString();
+    }
+
+    Object[] keyOf(Employee employee) {
+        return keyValues.of(employee.getEmployeeId(), employee.getLastName(), employee.getFirstName(),
+                employee.getPosition());
+    }
+
+    Object[] keyOf(EmployeeSummary summary) {
+        return keyValues.of(summary.getEmployeeId(), summary.getLastName(), summary.getFirstName(),
+                summary.getPositionTitle());
+    }
+
+    /**
+     * The same order applied in memory, for lists that did not come from a paged query
+     */
+    public Comparator<Employee> comparator() {
+        return comparing(this::keyOf);
+    }
+
+    /**
+     * The same order applied in memory to employee summaries
+     */
+    public Comparator<EmployeeSummary> summaryComparator() {
+        return comparing(this::keyOf);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Comparator<T> comparing(Function<T, Object[]> keyOf) {
+        Comparator<T> byKey = (a, b) -> {
+            Object[] ka = keyOf.apply(a);
+            Object[] kb = keyOf.apply(b);
+            for (int i = 0; i < ka.length; i++) {
+                int cmp = Comparator.nullsFirst(Comparator.<Comparable>naturalOrder())
+                        .compare((Comparable) ka[i], (Comparable) kb[i]);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        };
+        return ascending ? byKey : byKey.reversed();
+    }
+}
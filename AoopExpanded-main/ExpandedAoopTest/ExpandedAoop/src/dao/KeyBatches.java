@@ -0,0 +1,109 @@
+package dao;
+
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches the rows for many keys with IN lists of bounded size, all on one connection,
+ * so N keys cost ceil(N / chunk size) round trips instead of one query per key.
+ * Used by the getXxxByIds methods of the DAOs.
+ */
+public final class KeyBatches {
+    /** Keys per IN list; -Dmotorph.dao.inListSize overrides it */
+    public static final int CHUNK_SIZE = Math.max(1, Integer.getInteger("motorph.dao.inListSize", 500));
+
+    /**
+     * Maps the current row of a result set
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private KeyBatches() {
+    }
+
+    /**
+     * The distinct keys in the order they were first given
+     * @throws IllegalArgumentException if the collection is null or holds a null or non-positive key
+     */
+    public static List<Integer> distinctKeys(Collection<Integer> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        LinkedHashSet<Integer> keys = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id == null || id <= 0) {
+                throw new IllegalArgumentException("IDs must be positive: " + id);
+            }
+            keys.add(id);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Consecutive runs of at most chunkSize keys
+     */
+    public static List<List<Integer>> chunks(List<Integer> keys, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<List<Integer>> chunks = new ArrayList<>((keys.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            chunks.add(keys.subList(from, Math.min(from + chunkSize, keys.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Run selectPrefix + "(?, ?, ...)" once per chunk of keys and collect the rows by keyColumn.
+     * @param selectPrefix query up to and including "IN ", e.g. "SELECT * FROM positions WHERE position_id IN "
+     * @return the rows found, in the order of the given keys; keys without a row are absent
+     */
+    static <T> Map<Integer, T> fetch(String selectPrefix, String keyColumn, Collection<Integer> ids,
+                                     RowMapper<T> mapper) throws SQLException {
+        List<Integer> keys = distinctKeys(ids);
+        if (keys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        Map<Integer, T> found = new HashMap<>(keys.size() * 2);
+        try (Connection conn = DBConnection.getConnection()) {
+            for (List<Integer> chunk : chunks(keys, CHUNK_SIZE)) {
+                String query = selectPrefix + "(" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                    int index = 1;
+                    for (Integer key : chunk) {
+                        stmt.setInt(index++, key);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            found.put(rs.getInt(keyColumn), mapper.map(rs));
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<Integer, T> ordered = new LinkedHashMap<>(found.size() * 2);
+        for (Integer key : keys) {
+            T row = found.get(key);
+            if (row != null) {
+                ordered.put(key, row);
+            }
+        }
+        return ordered;
+    }
+}
@@ -1,6 +1,7 @@
 package dao;
 
 import util.DBConnection;
+import util.DataChangeNotifier;
 import model.LeaveRequest;
 import java.sql.*;
 import java.time.LocalDate;
@@ -27,6 +28,12 @@ public class LeaveRequestDAO {
         ORDER BY start_date DESC
         """;
 
+    private static final String SELECT_APPROVED_BY_DATE_RANGE = """
+        SELECT * FROM leave_requests 
+        WHERE status = ? AND start_date <= ? AND end_date >= ?
+        ORDER BY employee_id, start_date DESC
+        """;
+
     private static final String SELECT_BY_STATUS =
             "SELECT * FROM leave_requests WHERE status = ? ORDER BY start_date DESC";
 
@@ -45,6 +52,9 @@ public class LeaveRequestDAO {
     private static final String SELECT_BY_ID =
             "SELECT * FROM leave_requests WHERE id = ?";
 
+    private static final String SELECT_BY_IDS =
+            "SELECT * FROM leave_requests WHERE id IN ";
+
     private static final String CHECK_OVERLAPPING_LEAVE = """
         SELECT COUNT(*) FROM leave_requests 
         WHERE employee_id = ? AND status = ? 
@@ -153,6 +163,36 @@ public class LeaveRequestDAO {
         return approvedLeaves;
     }
 
+    /**
+     * Retrieves approved leave requests of all employees that overlap a date range
+     */
+    public List<LeaveRequest> getApprovedLeavesByDateRange(LocalDate periodStart, LocalDate periodEnd) {
+        validateDateRange(periodStart, periodEnd);
+
+        List<LeaveRequest> approvedLeaves = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_APPROVED_BY_DATE_RANGE)) {
+
+            stmt.setString(1, STATUS_APPROVED);
+            stmt.setDate(2, java.sql.Date.valueOf(periodEnd));
+            stmt.setDate(3, java.sql.Date.valueOf(periodStart));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    approvedLeaves.add(mapResultSetToLeaveRequest(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format(
+                    "Error retrieving approved leaves between dates: %s and %s", periodStart, periodEnd), ex);
+            throw new RuntimeException("Failed to retrieve approved leave requests for date range", ex);
+        }
+
+        return approvedLeaves;
+    }
+
     /**
      * Retrieves leave requests by status
      */
@@ -210,6 +250,7 @@ public class LeaveRequestDAO {
                     leaveRequest.setLeaveId(generatedId);
                     logger.info(String.format("Successfully inserted leave request with ID: %d for employee %d",
                             generatedId, leaveRequest.getEmployeeId()));
+                    notifyChanged(leaveRequest);
                     return generatedId;
                 } else {
                     throw new SQLException("Creating leave request failed, no ID obtained.");
@@ -228,6 +269,7 @@ public class LeaveRequestDAO {
     public boolean updateLeaveStatus(int leaveId, String status) {
         validateLeaveId(leaveId);
         validateStatus(status);
+        Optional<LeaveRequest> previous = findForNotification(leaveId);
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS)) {
@@ -239,6 +281,7 @@ public class LeaveRequestDAO {
             boolean updated = affectedRows > 0;
 
             if (updated) {
+                previous.ifPresent(this::notifyChanged);
                 logger.info(String.format("Successfully updated leave request %d status to %s", leaveId, status));
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveId));
@@ -257,6 +300,7 @@ public class LeaveRequestDAO {
      */
     public boolean updateLeaveRequest(LeaveRequest leaveRequest) {
         validateLeaveRequestForUpdate(leaveRequest);
+        Optional<LeaveRequest> previous = findForNotification(leaveRequest.getLeaveId());
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_LEAVE_REQUEST)) {
@@ -272,6 +316,8 @@ public class LeaveRequestDAO {
             boolean updated = affectedRows > 0;
 
             if (updated) {
+                previous.ifPresent(this::notifyChanged);
+                notifyChanged(leaveRequest);
                 logger.info(String.format("Successfully updated leave request with ID: %d", leaveRequest.getLeaveId()));
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveRequest.getLeaveId()));
@@ -290,6 +336,7 @@ public class LeaveRequestDAO {
      */
     public boolean deleteLeaveRequest(int leaveId) {
         validateLeaveId(leaveId);
+        Optional<LeaveRequest> previous = findForNotification(leaveId);
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(DELETE_LEAVE_REQUEST)) {
@@ -299,6 +346,7 @@ public class LeaveRequestDAO {
             boolean deleted = affectedRows > 0;
 
             if (deleted) {
+                previous.ifPresent(this::notifyChanged);
                 logger.info(String.format("Successfully deleted leave request with ID: %d", leaveId));
             } else {
                 logger.warning(String.format("No leave request found with ID: %d", leaveId));
@@ -337,6 +385,19 @@ public class LeaveRequestDAO {
         return Optional.empty();
     }
 
+    /**
+     * Retrieves many leave requests at once
+     * @return the requests found, keyed by leave ID in the order the IDs were given
+     */
+    public Map<Integer, LeaveRequest> getLeaveRequestsByIds(Collection<Integer> leaveIds) {
+        try {
+            return KeyBatches.fetch(SELECT_BY_IDS, "id", leaveIds, this::mapResultSetToLeaveRequest);
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error retrieving %d leave requests by ID", leaveIds.size()), ex);
+            throw new RuntimeException("Failed to retrieve leave requests", ex);
+        }
+    }
+
     /**
      * Checks for overlapping leave requests
      */
@@ -380,6 +441,25 @@ public class LeaveRequestDAO {
         return false;
     }
 
+    /**
+     * Load the stored row only when a cache is listening for changes
+     */
+    private Optional<LeaveRequest> findForNotification(int leaveId) {
+        return DataChangeNotifier.hasListeners() ? getLeaveRequestById(leaveId) : Optional.empty();
+    }
+
+    /**
+     * Tell caches that the employee's data for the leave period changed
+     */
+    private void notifyChanged(LeaveRequest leaveRequest) {
+        if (leaveRequest == null || leaveRequest.getEmployeeId() <= 0) {
+            return;
+        }
+        LocalDate from = leaveRequest.getStartDate() != null ? leaveRequest.getStartDate().toLocalDate() : null;
+        LocalDate to = leaveRequest.getEndDate() != null ? leaveRequest.getEndDate().toLocalDate() : null;
+        DataChangeNotifier.fireEmployeeDataChanged(leaveRequest.getEmployeeId(), from, to);
+    }
+
     /**
      * Maps ResultSet to LeaveRequest object matching actual database schema
      */
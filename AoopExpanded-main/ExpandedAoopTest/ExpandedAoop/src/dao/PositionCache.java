@@ -0,0 +1,304 @@
+package dao;
+
+import model.Position;
+import util.DataChangeNotifier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide cache of the positions table, looked up by ID or by title.
+ * All positions are loaded with one query into immutable maps that are swapped whole on
+ * every refresh, so reads take no lock. The cache reloads when a DAO reports a position
+ * write and when the loaded copy is older than the TTL; a TTL refresh happens on one
+ * reading thread while the others keep using the previous copy.
+ * Cached Position instances are shared and should be treated as read-only.
+ */
+public class PositionCache implements PositionCacheMXBean, DataChangeNotifier.DataChangeListener {
+    private static final Logger LOGGER = Logger.getLogger(PositionCache.class.getName());
+
+    private static final String MBEAN_NAME = "com.motorph:type=PositionCache";
+    private static final long DEFAULT_TTL_SECONDS = 300;
+
+    private static volatile PositionCache instance;
+
+    /**
+     * Source of the full list of positions
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<Position> load();
+    }
+
+    private static final class Snapshot {
+        final Map<Integer, Position> byId;
+        final Map<String, Position> byTitle;
+        final List<Position> all;
+        final long loadedAtNanos;
+
+        Snapshot(List<Position> positions, long loadedAtNanos) {
+            Map<Integer, Position> ids = new HashMap<>(positions.size() * 2);
+            Map<String, Position> titles = new HashMap<>(positions.size() * 2);
+            List<Position> sorted = new ArrayList<>(positions);
+            for (Position position : positions) {
+                ids.put(position.getPositionId(), position);
+                if (position.getPositionName() != null) {
+                    titles.put(key(position.getPositionName()), position);
+                }
+            }
+            sorted.sort(Comparator.comparing(Position::getPositionName, Comparator.nullsLast(String::compareTo)));
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byTitle = Collections.unmodifiableMap(titles);
+            this.all = Collections.unmodifiableList(sorted);
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    private final Loader loader;
+    private final long ttlNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+    // Set by a position write; the next read reloads before answering
+    private volatile boolean invalidated;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private volatile long lastRefreshNanos;
+    private volatile long maxRefreshNanos;
+
+    /**
+     * Shared cache backed by PositionDAO; TTL from -Dmotorph.positions.cache.ttlSeconds (0 disables expiry)
+     */
+    public static PositionCache getInstance() {
+        PositionCache current = instance;
+        if (current == null) {
+            synchronized (PositionCache.class) {
+                current = instance;
+                if (current == null) {
+                    PositionDAO positionDAO = new PositionDAO();
+                    current = new PositionCache(positionDAO::getAllPositions,
+                            TimeUnit.SECONDS.toMillis(Long.getLong("motorph.positions.cache.ttlSeconds", DEFAULT_TTL_SECONDS)));
+                    DataChangeNotifier.addListener(current);
+                    registerMBean(current);
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @param ttlMillis age after which the positions are reloaded, or 0 to keep them until invalidated
+     */
+    public PositionCache(Loader loader, long ttlMillis) {
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("TTL cannot be negative");
+        }
+        this.loader = loader;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * The position with the given ID, or null if there is none
+     */
+    public Position getById(int positionId) {
+        return count(current().byId.get(positionId));
+    }
+
+    /**
+     * The position with the given title, or null if there is none. Titles match like the
+     * position_title collation: ignoring case and surrounding spaces.
+     */
+    public Position getByTitle(String title) {
+        if (title == null) {
+            return null;
+        }
+        return count(current().byTitle.get(key(title)));
+    }
+
+    /**
+     * All positions ordered by title
+     */
+    public List<Position> getAll() {
+        return current().all;
+    }
+
+    /**
+     * Drop the loaded positions; the next read reloads them
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    @Override
+    public void positionChanged(int positionId) {
+        invalidate();
+    }
+
+    @Override
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            load();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Position count(Position position) {
+        (position != null ? hits : misses).incrementAndGet();
+        return position;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !invalidated && !expired(current)) {
+            return current;
+        }
+        if (current != null && !invalidated) {
+            // Only the TTL ran out: one thread reloads, the rest keep the copy they have
+            if (!refreshLock.tryLock()) {
+                return current;
+            }
+        } else {
+            refreshLock.lock();
+        }
+        try {
+            Snapshot latest = snapshot;
+            if (latest != null && latest != current && !invalidated) {
+                return latest; // Another thread reloaded while this one waited
+            }
+            boolean written = invalidated;
+            try {
+                return load();
+            } catch (RuntimeException e) {
+                if (latest == null) {
+                    throw e;
+                }
+                if (written) {
+                    invalidated = true; // Still behind a write, so the next read tries again
+                }
+                LOGGER.log(Level.WARNING, "Could not reload positions, keeping the copy loaded "
+                        + TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - latest.loadedAtNanos) + " s ago", e);
+                return latest;
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean expired(Snapshot current) {
+        return ttlNanos > 0 && System.nanoTime() - current.loadedAtNanos > ttlNanos;
+    }
+
+    // Called with refreshLock held
+    private Snapshot load() {
+        invalidated = false; // Cleared first so a write during the load invalidates its result
+        long start = System.nanoTime();
+        List<Position> positions;
+        try {
+            positions = loader.load();
+        } catch (RuntimeException e) {
+            refreshFailures.incrementAndGet();
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        Snapshot loaded = new Snapshot(positions, start);
+        snapshot = loaded;
+        refreshes.incrementAndGet();
+        lastRefreshNanos = elapsed;
+        maxRefreshNanos = Math.max(maxRefreshNanos, elapsed);
+        LOGGER.fine("Loaded " + positions.size() + " positions in " + elapsed / 1000 + " µs");
+        return loaded;
+    }
+
+    @Override
+    public int getPositionCount() {
+        Snapshot current = snapshot;
+        return current != null ? current.byId.size() : 0;
+    }
+
+    @Override
+    public long getTtlMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    @Override
+    public long getStalenessMillis() {
+        Snapshot current = snapshot;
+        return current != null ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - current.loadedAtNanos) : -1;
+    }
+
+    @Override
+    public boolean isStale() {
+        Snapshot current = snapshot;
+        return current == null || invalidated || expired(current);
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public long getRefreshCount() {
+        return refreshes.get();
+    }
+
+    @Override
+    public long getRefreshFailures() {
+        return refreshFailures.get();
+    }
+
+    @Override
+    public double getLastRefreshMillis() {
+        return lastRefreshNanos / 1_000_000.0;
+    }
+
+    @Override
+    public double getMaxRefreshMillis() {
+        return maxRefreshNanos / 1_000_000.0;
+    }
+
+    private static String key(String title) {
+        return title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void registerMBean(PositionCache cache) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(cache, name);
+        } catch (JMException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not register position cache MBean", e);
+        }
+    }
+}
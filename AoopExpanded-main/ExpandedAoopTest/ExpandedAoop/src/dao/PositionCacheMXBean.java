@@ -0,0 +1,28 @@
+package dao;
+
+/**
+ * JMX management interface for the shared position cache.
+ * Registered as com.motorph:type=PositionCache so it can be watched from JConsole or VisualVM.
+ */
+public interface PositionCacheMXBean {
+    int getPositionCount();
+    long getTtlMillis();
+
+    /**
+     * Milliseconds since the cached positions were loaded, or -1 before the first load
+     */
+    long getStalenessMillis();
+    boolean isStale();
+
+    long getHits();
+    long getMisses();
+    long getRefreshCount();
+    long getRefreshFailures();
+    double getLastRefreshMillis();
+    double getMaxRefreshMillis();
+
+    /**
+     * Reload the positions now
+     */
+    void refresh();
+}
@@ -1,6 +1,7 @@
 package dao;
 
 import util.DBConnection;
+import util.DataChangeNotifier;
 import model.Position;
 import java.sql.*;
 import java.util.*;
@@ -37,6 +38,38 @@ public class PositionDAO {
         return positions;
     }
 
+    /**
+     * Get the position of every employee in a single join, keyed by employee ID.
+     * Employees sharing a position share the same Position instance.
+     */
+    public Map<Integer, Position> getPositionsByEmployee() {
+        Map<Integer, Position> positionsByEmployee = new LinkedHashMap<>();
+        Map<Integer, Position> positionsById = new HashMap<>();
+        String query = "SELECT e.employee_id, p.* FROM employees e " +
+                "JOIN positions p ON e.position_id = p.position_id ORDER BY e.employee_id";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                int positionId = rs.getInt("position_id");
+                Position position = positionsById.get(positionId);
+                if (position == null) {
+                    position = mapResultSetToPosition(rs);
+                    positionsById.put(positionId, position);
+                }
+                positionsByEmployee.put(rs.getInt("employee_id"), position);
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching positions by employee", ex);
+            throw new RuntimeException("Failed to fetch positions by employee", ex);
+        }
+
+        return positionsByEmployee;
+    }
+
     /**
      * Get position by ID
      */
@@ -65,6 +98,20 @@ public class PositionDAO {
         return null;
     }
 
+    /**
+     * Get many positions at once
+     * @return the positions found, keyed by position ID in the order the IDs were given
+     */
+    public Map<Integer, Position> getPositionsByIds(Collection<Integer> positionIds) {
+        try {
+            return KeyBatches.fetch("SELECT * FROM positions WHERE position_id IN ", "position_id",
+                    positionIds, this::mapResultSetToPosition);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching " + positionIds.size() + " positions by ID", ex);
+            throw new RuntimeException("Failed to fetch positions", ex);
+        }
+    }
+
     /**
      * Get position by title
      */
@@ -133,6 +180,7 @@ public class PositionDAO {
                     int generatedId = generatedKeys.getInt(1);
                     position.setPositionId(generatedId);
                     LOGGER.info("Successfully inserted position: " + position.getPositionName());
+                    DataChangeNotifier.firePositionChanged(generatedId);
                     return generatedId;
                 } else {
                     throw new SQLException("Creating position failed, no ID obtained");
@@ -180,6 +228,7 @@ public class PositionDAO {
 
             if (updated) {
                 LOGGER.info("Successfully updated position: " + position.getPositionName());
+                DataChangeNotifier.firePositionChanged(position.getPositionId());
             } else {
                 LOGGER.warning("No position found with ID: " + position.getPositionId());
             }
@@ -216,6 +265,7 @@ public class PositionDAO {
 
             if (deleted) {
                 LOGGER.info("Successfully deleted position with ID: " + positionId);
+                DataChangeNotifier.firePositionChanged(positionId);
             } else {
                 LOGGER.warning("No position found with ID: " + positionId);
             }
@@ -0,0 +1,248 @@
+package dao;
+
+import model.EmployeeName;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory index between employee IDs and supervisor names in the "Last, First" form
+ * used by {@link model.Employee#getImmediateSupervisor()}. It is loaded once from
+ * idx_employees_name and kept current by EmployeeDAO's writes, so resolving a supervisor
+ * no longer scans the employees table with CONCAT. A lookup that misses reloads the
+ * index at most once per reload interval, to pick up rows written by other clients.
+ * Names match like the database collation: ignoring case and surrounding spaces. When
+ * two employees share a name, the name resolves to the lower employee ID.
+ */
+public class SupervisorIndex {
+    private static final Logger LOGGER = Logger.getLogger(SupervisorIndex.class.getName());
+
+    private static final long DEFAULT_RELOAD_INTERVAL_MILLIS = 5000;
+
+    private static volatile SupervisorIndex instance;
+
+    /**
+     * Source of every employee's ID and name
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<EmployeeName> load();
+    }
+
+    private static final class Maps {
+        final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+        // Every employee holding a name, lowest ID first; a name with no holders is removed
+        final Map<String, NavigableSet<Integer>> idsByName = new ConcurrentHashMap<>();
+
+        Integer idOf(String key) {
+            NavigableSet<Integer> ids = idsByName.get(key);
+            // ceiling instead of first: a writer may empty the set before removing it
+            return ids != null ? ids.ceiling(Integer.MIN_VALUE) : null;
+        }
+
+        void link(int employeeId, String name) {
+            namesById.put(employeeId, name);
+            idsByName.computeIfAbsent(key(name), k -> new ConcurrentSkipListSet<>()).add(employeeId);
+        }
+
+        void unlink(int employeeId) {
+            String oldName = namesById.remove(employeeId);
+            if (oldName == null) {
+                return;
+            }
+            String oldKey = key(oldName);
+            NavigableSet<Integer> ids = idsByName.get(oldKey);
+            if (ids != null && ids.remove(employeeId) && ids.isEmpty()) {
+                idsByName.remove(oldKey, ids);
+            }
+        }
+    }
+
+    private final Loader loader;
+    private final long reloadIntervalNanos;
+
+    private volatile Maps maps;
+    private volatile long loadedAtNanos;
+
+    /**
+     * Shared index backed by EmployeeDAO.getEmployeeNames
+     */
+    public static SupervisorIndex getInstance() {
+        SupervisorIndex current = instance;
+        if (current == null) {
+            synchronized (SupervisorIndex.class) {
+                current = instance;
+                if (current == null) {
+                    EmployeeDAO employeeDAO = new EmployeeDAO();
+                    current = new SupervisorIndex(employeeDAO::getEmployeeNames, DEFAULT_RELOAD_INTERVAL_MILLIS);
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @param reloadIntervalMillis minimum time between reloads caused by lookups that miss
+     */
+    public SupervisorIndex(Loader loader, long reloadIntervalMillis) {
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        if (reloadIntervalMillis < 0) {
+            throw new IllegalArgumentException("Reload interval cannot be negative");
+        }
+        this.loader = loader;
+        this.reloadIntervalNanos = TimeUnit.MILLISECONDS.toNanos(reloadIntervalMillis);
+    }
+
+    /**
+     * The "Last, First" form stored as an employee's immediate supervisor
+     */
+    public static String displayName(String lastName, String firstName) {
+        return lastName + ", " + firstName;
+    }
+
+    /**
+     * Employee ID of the supervisor with the given "Last, First" name, or null if blank or unknown
+     */
+    public Integer idOf(String supervisorName) {
+        if (supervisorName == null || supervisorName.trim().isEmpty()) {
+            return null;
+        }
+        String key = key(supervisorName);
+        Integer id = loaded().idOf(key);
+        if (id == null) {
+            Maps reloaded = reloadAfterMiss();
+            id = reloaded != null ? reloaded.idOf(key) : null;
+        }
+        return id;
+    }
+
+    /**
+     * "Last, First" name of the employee with the given ID, or null if unknown
+     */
+    public String nameOf(int employeeId) {
+        String name = loaded().namesById.get(employeeId);
+        if (name == null) {
+            Maps reloaded = reloadAfterMiss();
+            name = reloaded != null ? reloaded.namesById.get(employeeId) : null;
+        }
+        return name;
+    }
+
+    /**
+     * Resolve many supervisor names at once, e.g. for an import; misses cost at most one reload
+     * @return the IDs found, keyed by the names as given and in their order; blank and unknown names are absent
+     */
+    public Map<String, Integer> resolveIds(Collection<String> supervisorNames) {
+        Map<String, Integer> resolved = new LinkedHashMap<>();
+        Maps current = loaded();
+        boolean reloaded = false;
+        for (String name : supervisorNames) {
+            if (name == null || name.trim().isEmpty() || resolved.containsKey(name)) {
+                continue;
+            }
+            Integer id = current.idOf(key(name));
+            if (id == null && !reloaded) {
+                reloaded = true;
+                Maps fresh = reloadAfterMiss();
+                if (fresh != null) {
+                    current = fresh;
+                    id = current.idOf(key(name));
+                }
+            }
+            if (id != null) {
+                resolved.put(name, id);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Record an employee's current name after it was inserted or updated
+     */
+    public synchronized void put(int employeeId, String lastName, String firstName) {
+        Maps current = maps;
+        if (current == null || lastName == null || firstName == null) {
+            return; // Picked up by the first load
+        }
+        current.unlink(employeeId);
+        current.link(employeeId, displayName(lastName.trim(), firstName.trim()));
+    }
+
+    /**
+     * Forget an employee after it was deleted
+     */
+    public synchronized void remove(int employeeId) {
+        Maps current = maps;
+        if (current != null) {
+            current.unlink(employeeId);
+        }
+    }
+
+    /**
+     * Drop the index; the next lookup loads it again
+     */
+    public synchronized void invalidate() {
+        maps = null;
+    }
+
+    public int size() {
+        Maps current = maps;
+        return current != null ? current.namesById.size() : 0;
+    }
+
+    private Maps loaded() {
+        Maps current = maps;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return maps != null ? maps : load();
+        }
+    }
+
+    /**
+     * Reload after a lookup missed, unless the last load was too recent
+     * @return the reloaded index, or null if it was not reloaded
+     */
+    private synchronized Maps reloadAfterMiss() {
+        if (maps != null && System.nanoTime() - loadedAtNanos < reloadIntervalNanos) {
+            return null;
+        }
+        try {
+            return load();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not reload the supervisor index", e);
+            return null;
+        }
+    }
+
+    // Called with the lock held
+    private Maps load() {
+        long start = System.nanoTime();
+        List<EmployeeName> employees = loader.load();
+        Maps loaded = new Maps();
+        for (EmployeeName employee : employees) {
+            loaded.link(employee.getEmployeeId(), displayName(employee.getLastName(), employee.getFirstName()));
+        }
+        maps = loaded;
+        loadedAtNanos = System.nanoTime();
+        LOGGER.fine("Indexed " + employees.size() + " supervisor names in " + (loadedAtNanos - start) / 1000 + " µs");
+        return loaded;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,9 +3,14 @@ package model;
 import java.sql.Date;
 import java.sql.Time;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 public class Attendance extends BaseEntity {
+    // Shift hours used for late and undertime; also applied in attendance queries
+    public static final LocalTime SHIFT_START = LocalTime.of(8, 0);
+    public static final LocalTime SHIFT_END = LocalTime.of(17, 0);
+
     private int employeeId;
     private Date date;
     private Time logIn;
@@ -20,6 +25,24 @@ public class Attendance extends BaseEntity {
         this.logOut = logOut;
     }
 
+    private Attendance(int id, int employeeId, Date date, Time logIn, Time logOut,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        super(id, createdAt, updatedAt);
+        this.employeeId = employeeId;
+        this.date = date;
+        this.logIn = logIn;
+        this.logOut = logOut;
+    }
+
+    /**
+     * Build an attendance record from a stored row. The values are trusted as the database
+     * holds them, so no setter validation or touch() runs and no clock is read.
+     */
+    public static Attendance fromRow(int id, int employeeId, Date date, Time logIn, Time logOut,
+                                     LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return new Attendance(id, employeeId, date, logIn, logOut, createdAt, updatedAt);
+    }
+
     // Getters and Setters
     public int getEmployeeId() { return employeeId; }
     public void setEmployeeId(int employeeId) {
@@ -56,12 +79,12 @@ public class Attendance extends BaseEntity {
 
     public boolean isLate() {
         if (logIn == null) return false;
-        return logIn.toLocalTime().isAfter(LocalTime.of(8, 0));
+        return logIn.toLocalTime().isAfter(SHIFT_START);
     }
 
     public boolean hasUndertime() {
         if (logOut == null) return false;
-        return logOut.toLocalTime().isBefore(LocalTime.of(17, 0));
+        return logOut.toLocalTime().isBefore(SHIFT_END);
     }
 
     @Override
@@ -13,6 +13,13 @@ public abstract class BaseEntity {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // For entities loaded from the database: keeps the stored timestamps and reads no clock
+    protected BaseEntity(int id, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Common getters/setters
     public int getId() { return id; }
     public void setId(int id) {
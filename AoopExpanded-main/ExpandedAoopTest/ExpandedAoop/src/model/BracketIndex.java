@@ -0,0 +1,75 @@
+package model;
+
+/**
+ * Bracket table stored column-wise in primitive arrays, searched by bracket minimum.
+ * Column 0 is the bracket minimum and column 1 the inclusive maximum.
+ */
+final class BracketIndex {
+    private final double[] minimums;
+    private final double[] maximums;
+    private final double[][] columns;
+
+    BracketIndex(double[][] table) {
+        if (table == null || table.length == 0) {
+            throw new IllegalArgumentException("Bracket table cannot be empty");
+        }
+        int rows = table.length;
+        int width = table[0].length;
+        minimums = new double[rows];
+        maximums = new double[rows];
+        columns = new double[width][rows];
+        for (int row = 0; row < rows; row++) {
+            if (table[row].length != width) {
+                throw new IllegalArgumentException("Bracket row " + (row + 1) + " has " + table[row].length
+                        + " columns, expected " + width);
+            }
+            if (row > 0 && table[row][0] <= table[row - 1][0]) {
+                throw new IllegalArgumentException("Brackets must be sorted by minimum salary");
+            }
+            minimums[row] = table[row][0];
+            maximums[row] = table[row][1];
+            for (int col = 0; col < width; col++) {
+                columns[col][row] = table[row][col];
+            }
+        }
+    }
+
+    /**
+     * Bracket whose [min, max] contains the value; values outside every bracket
+     * (negative, NaN or between two brackets) fall back to the highest bracket
+     */
+    int find(double value) {
+        int low = 0;
+        int high = minimums.length - 1;
+        int match = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (minimums[mid] <= value) {
+                match = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (match < 0 || value > maximums[match]) {
+            return minimums.length - 1;
+        }
+        return match;
+    }
+
+    double column(int col, int row) {
+        return columns[col][row];
+    }
+
+    double lowestMinimum() {
+        return minimums[0];
+    }
+
+    int size() {
+        return minimums.length;
+    }
+
+    int width() {
+        return columns.length;
+    }
+}
@@ -0,0 +1,124 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * One immutable version of the SSS, PhilHealth, Pag-IBIG and withholding tax schedules,
+ * in force from its effective date until the next version. Tables are compiled into
+ * primitive bracket indexes when the schedule is created, so lookups do not allocate.
+ */
+public final class ContributionSchedule {
+
+    // Built-in withholding tax brackets on annual salary
+    private static final double[][] INCOME_TAX_TABLE = {
+            // {minAnnual, maxAnnual, baseTax, rateOnExcessOverMin}
+            {0.00, 250000.00, 0.00, 0.00},
+            {250000.00, 400000.00, 0.00, 0.15},
+            {400000.00, 800000.00, 22500.00, 0.20},
+            {800000.00, 2000000.00, 102500.00, 0.25},
+            {2000000.00, 8000000.00, 402500.00, 0.30},
+            {8000000.00, Double.MAX_VALUE, 2202500.00, 0.35}
+    };
+
+    private static final ContributionSchedule BUILT_IN = new ContributionSchedule("built-in", LocalDate.MIN,
+            GovernmentContribution.SSS_TABLE, GovernmentContribution.PHILHEALTH_TABLE,
+            GovernmentContribution.PAGIBIG_TABLE, GovernmentContribution.PAGIBIG_MAX_CONTRIBUTORY_SALARY,
+            INCOME_TAX_TABLE);
+
+    private final String label;
+    private final LocalDate effectiveFrom;
+    private final BracketIndex sss;
+    private final BracketIndex philHealth;
+    private final BracketIndex pagIbig;
+    private final double pagIbigMaxContributorySalary;
+    private final BracketIndex incomeTax;
+
+    /**
+     * @param sss rows of {min, max, salaryCredit, employeeShare, employerShare}
+     * @param philHealth rows of {min, max, monthlyPremium, employeeShare, employerShare}
+     * @param pagIbig rows of {min, max, employeeRate, employerRate}
+     * @param incomeTax rows of {minAnnual, maxAnnual, baseTax, rateOnExcessOverMin}
+     */
+    public ContributionSchedule(String label, LocalDate effectiveFrom, double[][] sss, double[][] philHealth,
+                                double[][] pagIbig, double pagIbigMaxContributorySalary, double[][] incomeTax) {
+        if (effectiveFrom == null) {
+            throw new IllegalArgumentException("Effective date cannot be null");
+        }
+        if (pagIbigMaxContributorySalary <= 0) {
+            throw new IllegalArgumentException("Pag-IBIG maximum contributory salary must be positive");
+        }
+        this.label = label != null ? label : effectiveFrom.toString();
+        this.effectiveFrom = effectiveFrom;
+        this.sss = compile("SSS", sss, 5);
+        this.philHealth = compile("PhilHealth", philHealth, 5);
+        this.pagIbig = compile("Pag-IBIG", pagIbig, 4);
+        this.pagIbigMaxContributorySalary = pagIbigMaxContributorySalary;
+        this.incomeTax = compile("Income tax", incomeTax, 4);
+    }
+
+    private static BracketIndex compile(String name, double[][] table, int expectedColumns) {
+        try {
+            BracketIndex index = new BracketIndex(table);
+            if (index.width() != expectedColumns) {
+                throw new IllegalArgumentException("expected " + expectedColumns + " columns but found " + index.width());
+            }
+            return index;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " table: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Schedule compiled from the tables shipped in {@link GovernmentContribution}
+     */
+    public static ContributionSchedule builtIn() {
+        return BUILT_IN;
+    }
+
+    public String getLabel() { return label; }
+    public LocalDate getEffectiveFrom() { return effectiveFrom; }
+
+    public GovernmentContribution.Shares lookupSSS(double salary, GovernmentContribution.Shares out) {
+        int row = sss.find(salary);
+        return out.set(sss.column(2, row), sss.column(3, row), sss.column(4, row), 0.0, 0.0);
+    }
+
+    public GovernmentContribution.Shares lookupPhilHealth(double salary, GovernmentContribution.Shares out) {
+        int row = philHealth.find(salary);
+        return out.set(philHealth.column(2, row), philHealth.column(3, row), philHealth.column(4, row), 0.0, 0.0);
+    }
+
+    public GovernmentContribution.Shares lookupPagIBIG(double salary, GovernmentContribution.Shares out) {
+        // Use minimum of actual salary or max contributory salary
+        double contributorySalary = Math.min(salary, pagIbigMaxContributorySalary);
+
+        // Salaries below the first bracket use the first bracket rates with the actual salary
+        int row = contributorySalary < pagIbig.lowestMinimum() ? 0 : pagIbig.find(contributorySalary);
+        double employeeRate = pagIbig.column(2, row);
+        double employerRate = pagIbig.column(3, row);
+        return out.set(contributorySalary, contributorySalary * employeeRate, contributorySalary * employerRate,
+                employeeRate, employerRate);
+    }
+
+    public double getPagIBIGMaxContributorySalary() {
+        return pagIbigMaxContributorySalary;
+    }
+
+    /**
+     * Monthly withholding tax for a monthly salary, computed on the annualized amount
+     */
+    public double monthlyIncomeTax(double monthlySalary) {
+        double annualSalary = monthlySalary * 12;
+        if (!(annualSalary > 0)) {
+            return 0.0;
+        }
+        int row = incomeTax.find(annualSalary);
+        double annualTax = incomeTax.column(2, row) + (annualSalary - incomeTax.column(0, row)) * incomeTax.column(3, row);
+        return annualTax / 12;
+    }
+
+    @Override
+    public String toString() {
+        return "ContributionSchedule{" + label + ", effective " + effectiveFrom + "}";
+    }
+}
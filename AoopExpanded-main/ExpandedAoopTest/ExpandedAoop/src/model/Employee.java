@@ -1,6 +1,7 @@
 package model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Period;
 
 // Abstract base class demonstrating ABSTRACTION
@@ -48,6 +49,19 @@ public abstract class Employee extends BaseEntity {
         calculateDerivedFields();
     }
     
+    // Constructor for employees loaded from the database: keeps the stored timestamps and
+    // skips setter validation and touch(); subclasses fill the remaining fields directly
+    protected Employee(int employeeId, double basicSalary, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        super(employeeId, createdAt, updatedAt);
+        this.employeeId = employeeId;
+        this.status = "Regular";
+        this.riceSubsidy = 1500.0;
+        this.phoneAllowance = 1000.0;
+        this.clothingAllowance = 800.0;
+        this.basicSalary = basicSalary;
+        calculateDerivedFields();
+    }
+    
     // Abstract methods - MUST be implemented by subclasses (ABSTRACTION)
     public abstract double calculateGrossPay(int daysWorked, double overtimeHours);
     public abstract double calculateDeductions();
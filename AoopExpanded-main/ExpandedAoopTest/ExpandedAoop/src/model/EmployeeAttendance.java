@@ -0,0 +1,24 @@
+package model;
+
+/**
+ * One attendance record with the employee's name and the late and undertime flags,
+ * as returned by the company-wide attendance query
+ */
+public class EmployeeAttendance {
+    private final Attendance attendance;
+    private final String employeeName;
+    private final boolean late;
+    private final boolean undertime;
+
+    public EmployeeAttendance(Attendance attendance, String employeeName, boolean late, boolean undertime) {
+        this.attendance = attendance;
+        this.employeeName = employeeName;
+        this.late = late;
+        this.undertime = undertime;
+    }
+
+    public Attendance getAttendance() { return attendance; }
+    public String getEmployeeName() { return employeeName; }
+    public boolean isLate() { return late; }
+    public boolean hasUndertime() { return undertime; }
+}
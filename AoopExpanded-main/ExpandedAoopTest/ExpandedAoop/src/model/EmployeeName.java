@@ -0,0 +1,29 @@
+package model;
+
+/**
+ * An employee's ID and name, all an employee picker needs
+ */
+public final class EmployeeName {
+    private final int employeeId;
+    private final String lastName;
+    private final String firstName;
+
+    public EmployeeName(int employeeId, String lastName, String firstName) {
+        this.employeeId = employeeId;
+        this.lastName = lastName;
+        this.firstName = firstName;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    @Override
+    public String toString() {
+        return getFullName();
+    }
+}
@@ -0,0 +1,51 @@
+package model;
+
+/**
+ * The columns an employee list shows: ID, name, position, status, salary and phone.
+ * Loaded by the projection queries in EmployeeDAO instead of a full Employee.
+ */
+public final class EmployeeSummary {
+    private final int employeeId;
+    private final String lastName;
+    private final String firstName;
+    private final String positionTitle;
+    private final String status;
+    private final double basicSalary;
+    private final String phoneNumber;
+
+    public EmployeeSummary(int employeeId, String lastName, String firstName, String positionTitle,
+                           String status, double basicSalary, String phoneNumber) {
+        this.employeeId = employeeId;
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.positionTitle = positionTitle;
+        this.status = status;
+        this.basicSalary = basicSalary;
+        this.phoneNumber = phoneNumber;
+    }
+
+    /**
+     * Summary of an employee already in memory, e.g. a search result
+     */
+    public static EmployeeSummary of(Employee employee) {
+        return new EmployeeSummary(employee.getEmployeeId(), employee.getLastName(), employee.getFirstName(),
+                employee.getPosition(), employee.getStatus(), employee.getBasicSalary(), employee.getPhoneNumber());
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+    public String getPositionTitle() { return positionTitle; }
+    public String getStatus() { return status; }
+    public double getBasicSalary() { return basicSalary; }
+    public String getPhoneNumber() { return phoneNumber; }
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    @Override
+    public String toString() {
+        return getFullName();
+    }
+}
@@ -35,7 +35,7 @@ public class GovernmentContribution extends PayrollComponent {
     }
 
     // SSS Contribution Table Data
-    private static final double[][] SSS_TABLE = {
+    static final double[][] SSS_TABLE = {
             // {minSalary, maxSalary, salaryCredit, employeeContrib, employerContrib}
             {0.00, 5249.99, 5000.00, 250.00, 500.00},
             {5250.00, 5749.99, 5500.00, 275.00, 550.00},
@@ -100,218 +100,164 @@ public class GovernmentContribution extends PayrollComponent {
             {34750.00, Double.MAX_VALUE, 35000.00, 1750.00, 3500.00} // Over 34,750
     };
 
-    /**
-     * Calculate SSS contribution based on salary bracket
-     */
-    private static SSSContribution calculateSSSFromTable(double salary) {
-        for (double[] bracket : SSS_TABLE) {
-            if (salary >= bracket[0] && salary <= bracket[1]) {
-                return new SSSContribution(bracket[2], bracket[3], bracket[4]);
-            }
-        }
-        // Default to highest bracket if not found
-        double[] highestBracket = SSS_TABLE[SSS_TABLE.length - 1];
-        return new SSSContribution(highestBracket[2], highestBracket[3], highestBracket[4]);
-    }
-
-    // Factory methods for specific contributions
-    public static GovernmentContribution createSSS(int employeeId, double salary) {
-        SSSContribution sssData = calculateSSSFromTable(salary);
-        GovernmentContribution sss = new GovernmentContribution();
-        sss.setEmployeeId(employeeId);
-        sss.setType("SSS");
-        sss.setBaseSalary(sssData.salaryCredit);
-        sss.setAmount(sssData.employeeContribution);
-        sss.setDescription("Social Security System contribution - Salary Credit: ₱" +
-                String.format("%.2f", sssData.salaryCredit));
-        return sss;
-    }
-
     // PhilHealth Contribution Table Data
-    private static final double[][] PHILHEALTH_TABLE = {
+    static final double[][] PHILHEALTH_TABLE = {
             // {minSalary, maxSalary, monthlyPremium, employeeShare, employerShare}
             {0.00, 10000.00, 500.00, 250.00, 250.00},
             {10000.01, 99999.99, 2500.00, 1250.00, 1250.00},
             {100000.00, Double.MAX_VALUE, 5000.00, 2500.00, 2500.00}
     };
 
-    /**
-     * Calculate PhilHealth contribution based on salary bracket
-     */
-    private static PhilHealthContribution calculatePhilHealthFromTable(double salary) {
-        for (double[] bracket : PHILHEALTH_TABLE) {
-            if (salary >= bracket[0] && salary <= bracket[1]) {
-                return new PhilHealthContribution(bracket[2], bracket[3], bracket[4]);
-            }
-        }
-        // Default to highest bracket if not found
-        double[] highestBracket = PHILHEALTH_TABLE[PHILHEALTH_TABLE.length - 1];
-        return new PhilHealthContribution(highestBracket[2], highestBracket[3], highestBracket[4]);
-    }
-
-    public static GovernmentContribution createPhilHealth(int employeeId, double salary) {
-        PhilHealthContribution philHealthData = calculatePhilHealthFromTable(salary);
-
-        GovernmentContribution philHealth = new GovernmentContribution();
-        philHealth.setEmployeeId(employeeId);
-        philHealth.setType("PhilHealth");
-        philHealth.setBaseSalary(salary);
-        philHealth.setAmount(philHealthData.employeeContribution);
-        philHealth.setDescription("Philippine Health Insurance Corporation contribution - Monthly Premium: ₱" +
-                String.format("%.2f", philHealthData.monthlyPremium));
-        return philHealth;
-    }
-
     // Pag-IBIG Contribution Table Data
-    private static final double[][] PAGIBIG_TABLE = {
+    static final double[][] PAGIBIG_TABLE = {
             // {minSalary, maxSalary, employeeRate, employerRate}
             {1000.00, 1500.00, 0.01, 0.02}, // 1% employee, 2% employer
             {1500.01, Double.MAX_VALUE, 0.02, 0.02} // 2% employee, 2% employer
     };
 
-    private static final double PAGIBIG_MAX_CONTRIBUTORY_SALARY = 5000.00;
+    static final double PAGIBIG_MAX_CONTRIBUTORY_SALARY = 5000.00;
 
     /**
-     * Calculate Pag-IBIG contribution based on salary bracket
+     * Look up the SSS bracket for a salary without allocating.
+     * Fills base (salary credit), employee and employer shares of {@code out} and returns it.
+     * Uses the built-in tables; see {@link ContributionSchedule} for effective-dated schedules.
      */
-    private static PagIBIGContribution calculatePagIBIGFromTable(double salary) {
-        // Use minimum of actual salary or max contributory salary
-        double contributorySalary = Math.min(salary, PAGIBIG_MAX_CONTRIBUTORY_SALARY);
+    public static Shares lookupSSS(double salary, Shares out) {
+        return ContributionSchedule.builtIn().lookupSSS(salary, out);
+    }
 
-        // Find the appropriate bracket
-        for (double[] bracket : PAGIBIG_TABLE) {
-            if (contributorySalary >= bracket[0] && contributorySalary <= bracket[1]) {
-                double employeeContribution = contributorySalary * bracket[2];
-                double employerContribution = contributorySalary * bracket[3];
-                return new PagIBIGContribution(contributorySalary, employeeContribution, employerContribution, bracket[2], bracket[3]);
-            }
-        }
+    /**
+     * Look up the PhilHealth bracket for a salary without allocating.
+     * Fills base (monthly premium), employee and employer shares of {@code out} and returns it.
+     */
+    public static Shares lookupPhilHealth(double salary, Shares out) {
+        return ContributionSchedule.builtIn().lookupPhilHealth(salary, out);
+    }
 
-        // If salary is below 1,000, use the first bracket rates but with actual salary
-        if (contributorySalary < 1000.00) {
-            double[] firstBracket = PAGIBIG_TABLE[0];
-            double employeeContribution = contributorySalary * firstBracket[2];
-            double employerContribution = contributorySalary * firstBracket[3];
-            return new PagIBIGContribution(contributorySalary, employeeContribution, employerContribution, firstBracket[2], firstBracket[3]);
-        }
+    /**
+     * Look up the Pag-IBIG contribution for a salary without allocating.
+     * Fills base (contributory salary), shares and rates of {@code out} and returns it.
+     */
+    public static Shares lookupPagIBIG(double salary, Shares out) {
+        return ContributionSchedule.builtIn().lookupPagIBIG(salary, out);
+    }
 
-        // Default to highest bracket if not found
-        double[] highestBracket = PAGIBIG_TABLE[PAGIBIG_TABLE.length - 1];
-        double employeeContribution = contributorySalary * highestBracket[2];
-        double employerContribution = contributorySalary * highestBracket[3];
-        return new PagIBIGContribution(contributorySalary, employeeContribution, employerContribution, highestBracket[2], highestBracket[3]);
+    // Factory methods for specific contributions; the caller passes the schedule in force on the pay date
+    public static GovernmentContribution createSSS(int employeeId, double salary, ContributionSchedule schedule) {
+        Shares sssData = schedule.lookupSSS(salary, new Shares());
+        GovernmentContribution sss = new GovernmentContribution();
+        sss.setEmployeeId(employeeId);
+        sss.setType("SSS");
+        sss.setBaseSalary(sssData.getBase());
+        sss.setAmount(sssData.getEmployeeShare());
+        sss.setDescription("Social Security System contribution - Salary Credit: ₱" +
+                String.format("%.2f", sssData.getBase()));
+        return sss;
+    }
+
+    public static GovernmentContribution createPhilHealth(int employeeId, double salary, ContributionSchedule schedule) {
+        Shares philHealthData = schedule.lookupPhilHealth(salary, new Shares());
+
+        GovernmentContribution philHealth = new GovernmentContribution();
+        philHealth.setEmployeeId(employeeId);
+        philHealth.setType("PhilHealth");
+        philHealth.setBaseSalary(salary);
+        philHealth.setAmount(philHealthData.getEmployeeShare());
+        philHealth.setDescription("Philippine Health Insurance Corporation contribution - Monthly Premium: ₱" +
+                String.format("%.2f", philHealthData.getBase()));
+        return philHealth;
     }
 
-    public static GovernmentContribution createPagIBIG(int employeeId, double salary) {
-        PagIBIGContribution pagibigData = calculatePagIBIGFromTable(salary);
+    public static GovernmentContribution createPagIBIG(int employeeId, double salary, ContributionSchedule schedule) {
+        Shares pagibigData = schedule.lookupPagIBIG(salary, new Shares());
 
         GovernmentContribution pagibig = new GovernmentContribution();
         pagibig.setEmployeeId(employeeId);
         pagibig.setType("Pag-IBIG");
-        pagibig.setBaseSalary(pagibigData.contributorySalary);
-        pagibig.setAmount(pagibigData.employeeContribution);
+        pagibig.setBaseSalary(pagibigData.getBase());
+        pagibig.setAmount(pagibigData.getEmployeeShare());
         pagibig.setDescription("Home Development Mutual Fund contribution - Rate: " +
-                String.format("%.1f%%", pagibigData.employeeRate * 100) +
-                " (Max contributory: ₱" + String.format("%.2f", PAGIBIG_MAX_CONTRIBUTORY_SALARY) + ")");
+                String.format("%.1f%%", pagibigData.getEmployeeRate() * 100) +
+                " (Max contributory: ₱" + String.format("%.2f", schedule.getPagIBIGMaxContributorySalary()) + ")");
         return pagibig;
     }
 
-    // Helper class to hold SSS calculation results
-    private static class SSSContribution {
-        final double salaryCredit;
-        final double employeeContribution;
-        final double employerContribution;
-
-        SSSContribution(double salaryCredit, double employeeContribution, double employerContribution) {
-            this.salaryCredit = salaryCredit;
-            this.employeeContribution = employeeContribution;
-            this.employerContribution = employerContribution;
-        }
-    }
-
-    // Helper class to hold PhilHealth calculation results
-    private static class PhilHealthContribution {
-        final double monthlyPremium;
-        final double employeeContribution;
-        final double employerContribution;
-
-        PhilHealthContribution(double monthlyPremium, double employeeContribution, double employerContribution) {
-            this.monthlyPremium = monthlyPremium;
-            this.employeeContribution = employeeContribution;
-            this.employerContribution = employerContribution;
-        }
-    }
-
-    // Helper class to hold Pag-IBIG calculation results
-    private static class PagIBIGContribution {
-        final double contributorySalary;
-        final double employeeContribution;
-        final double employerContribution;
-        final double employeeRate;
-        final double employerRate;
-
-        PagIBIGContribution(double contributorySalary, double employeeContribution, double employerContribution, double employeeRate, double employerRate) {
-            this.contributorySalary = contributorySalary;
-            this.employeeContribution = employeeContribution;
-            this.employerContribution = employerContribution;
+    /**
+     * Caller-owned result holder for the lookup methods; reuse one instance across lookups
+     */
+    public static final class Shares {
+        private double base;
+        private double employeeShare;
+        private double employerShare;
+        private double employeeRate;
+        private double employerRate;
+
+        Shares set(double base, double employeeShare, double employerShare,
+                           double employeeRate, double employerRate) {
+            this.base = base;
+            this.employeeShare = employeeShare;
+            this.employerShare = employerShare;
             this.employeeRate = employeeRate;
             this.employerRate = employerRate;
+            return this;
         }
+
+        /** Salary credit (SSS), monthly premium (PhilHealth) or contributory salary (Pag-IBIG) */
+        public double getBase() { return base; }
+        public double getEmployeeShare() { return employeeShare; }
+        public double getEmployerShare() { return employerShare; }
+        /** Only set by Pag-IBIG lookups */
+        public double getEmployeeRate() { return employeeRate; }
+        /** Only set by Pag-IBIG lookups */
+        public double getEmployerRate() { return employerRate; }
     }
 
     /**
      * Get the employer contribution amount for SSS (for informational purposes)
      */
-    public static double getSSSEmployerContribution(double salary) {
-        SSSContribution sssData = calculateSSSFromTable(salary);
-        return sssData.employerContribution;
+    public static double getSSSEmployerContribution(double salary, ContributionSchedule schedule) {
+        return schedule.lookupSSS(salary, new Shares()).getEmployerShare();
     }
 
     /**
      * Get the salary credit for SSS (for informational purposes)
      */
-    public static double getSSSSalaryCredit(double salary) {
-        SSSContribution sssData = calculateSSSFromTable(salary);
-        return sssData.salaryCredit;
+    public static double getSSSSalaryCredit(double salary, ContributionSchedule schedule) {
+        return schedule.lookupSSS(salary, new Shares()).getBase();
     }
 
     /**
      * Get the employer contribution amount for PhilHealth (for informational purposes)
      */
-    public static double getPhilHealthEmployerContribution(double salary) {
-        PhilHealthContribution philHealthData = calculatePhilHealthFromTable(salary);
-        return philHealthData.employerContribution;
+    public static double getPhilHealthEmployerContribution(double salary, ContributionSchedule schedule) {
+        return schedule.lookupPhilHealth(salary, new Shares()).getEmployerShare();
     }
 
     /**
      * Get the monthly premium for PhilHealth (for informational purposes)
      */
-    public static double getPhilHealthMonthlyPremium(double salary) {
-        PhilHealthContribution philHealthData = calculatePhilHealthFromTable(salary);
-        return philHealthData.monthlyPremium;
+    public static double getPhilHealthMonthlyPremium(double salary, ContributionSchedule schedule) {
+        return schedule.lookupPhilHealth(salary, new Shares()).getBase();
     }
 
     /**
      * Get the employer contribution amount for Pag-IBIG (for informational purposes)
      */
-    public static double getPagIBIGEmployerContribution(double salary) {
-        PagIBIGContribution pagibigData = calculatePagIBIGFromTable(salary);
-        return pagibigData.employerContribution;
+    public static double getPagIBIGEmployerContribution(double salary, ContributionSchedule schedule) {
+        return schedule.lookupPagIBIG(salary, new Shares()).getEmployerShare();
     }
 
     /**
      * Get the employee contribution rate for Pag-IBIG (for informational purposes)
      */
-    public static double getPagIBIGEmployeeRate(double salary) {
-        PagIBIGContribution pagibigData = calculatePagIBIGFromTable(salary);
-        return pagibigData.employeeRate;
+    public static double getPagIBIGEmployeeRate(double salary, ContributionSchedule schedule) {
+        return schedule.lookupPagIBIG(salary, new Shares()).getEmployeeRate();
     }
 
     /**
      * Get the employer contribution rate for Pag-IBIG (for informational purposes)
      */
-    public static double getPagIBIGEmployerRate(double salary) {
-        PagIBIGContribution pagibigData = calculatePagIBIGFromTable(salary);
-        return pagibigData.employerRate;
+    public static double getPagIBIGEmployerRate(double salary, ContributionSchedule schedule) {
+        return schedule.lookupPagIBIG(salary, new Shares()).getEmployerRate();
     }
-}
\ No newline at end of file
+}
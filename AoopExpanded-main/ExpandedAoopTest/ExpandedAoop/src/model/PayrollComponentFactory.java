@@ -12,6 +12,7 @@ public class PayrollComponentFactory {
     }
 
     // Factory method demonstrating polymorphism - returns different concrete types as PayrollComponent
+    // Contributions take the salary and the ContributionSchedule in force on the pay date
     public static PayrollComponent create(ComponentType type, int employeeId, Object... params) {
         switch (type) {
             case RICE_SUBSIDY:
@@ -21,16 +22,23 @@ public class PayrollComponentFactory {
             case CLOTHING_ALLOWANCE:
                 return Allowance.createClothingAllowance(employeeId, (Double) params[0]);
             case SSS:
-                return GovernmentContribution.createSSS(employeeId, (Double) params[0]);
+                return GovernmentContribution.createSSS(employeeId, (Double) params[0], schedule(type, params));
             case PHILHEALTH:
-                return GovernmentContribution.createPhilHealth(employeeId, (Double) params[0]);
+                return GovernmentContribution.createPhilHealth(employeeId, (Double) params[0], schedule(type, params));
             case PAGIBIG:
-                return GovernmentContribution.createPagIBIG(employeeId, (Double) params[0]);
+                return GovernmentContribution.createPagIBIG(employeeId, (Double) params[0], schedule(type, params));
             default:
                 throw new IllegalArgumentException("Unknown component type: " + type);
         }
     }
 
+    private static ContributionSchedule schedule(ComponentType type, Object[] params) {
+        if (params.length < 2 || !(params[1] instanceof ContributionSchedule)) {
+            throw new IllegalArgumentException(type + " needs a salary and the contribution schedule for the pay date");
+        }
+        return (ContributionSchedule) params[1];
+    }
+
     // Convenience methods
     public static List<PayrollComponent> createStandardAllowances(int employeeId, double rice, double phone, double clothing) {
         List<PayrollComponent> allowances = new ArrayList<>();
@@ -40,11 +48,12 @@ public class PayrollComponentFactory {
         return allowances;
     }
 
-    public static List<PayrollComponent> createStandardContributions(int employeeId, double salary) {
+    public static List<PayrollComponent> createStandardContributions(int employeeId, double salary,
+                                                                     ContributionSchedule schedule) {
         List<PayrollComponent> contributions = new ArrayList<>();
-        contributions.add(create(ComponentType.SSS, employeeId, salary));
-        contributions.add(create(ComponentType.PHILHEALTH, employeeId, salary));
-        contributions.add(create(ComponentType.PAGIBIG, employeeId, salary));
+        contributions.add(create(ComponentType.SSS, employeeId, salary, schedule));
+        contributions.add(create(ComponentType.PHILHEALTH, employeeId, salary, schedule));
+        contributions.add(create(ComponentType.PAGIBIG, employeeId, salary, schedule));
         return contributions;
     }
 }
\ No newline at end of file
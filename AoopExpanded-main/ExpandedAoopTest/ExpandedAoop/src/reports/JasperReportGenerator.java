@@ -11,15 +11,18 @@ import net.sf.jasperreports.engine.design.JasperDesign;
 import net.sf.jasperreports.engine.xml.JRXmlLoader;
 
 import javax.swing.*;
+import java.awt.Image;
 import java.io.File;
-import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
 public class JasperReportGenerator {
     private static final String REPORTS_PATH = "/reports/templates/";
+    private static final String COMPANY_LOGO = "/images/motorph_logo.png";
     private static final String OUTPUT_PATH = System.getProperty("user.home") + "/MotorPH_Reports/";
     
+    private final ReportTemplateCache templateCache = ReportTemplateCache.getInstance();
+    
     public JasperReportGenerator() {
         // Create output directory if it doesn't exist
         File outputDir = new File(OUTPUT_PATH);
@@ -31,15 +34,14 @@ public class JasperReportGenerator {
     public File generatePayrollReport(List<PayrollReportData> payrollData, String periodName) 
             throws JRException {
         try {
-            // Load MotorPH payroll template
-            InputStream reportTemplate = getClass().getResourceAsStream(REPORTS_PATH + "motorph_payroll_template.jrxml");
-            if (reportTemplate == null) {
-                throw new JRException("MotorPH payroll template not found. Please ensure motorph_payroll_template.jrxml exists in " + REPORTS_PATH);
+            // Load the compiled MotorPH payroll template
+            JasperReport jasperReport;
+            try {
+                jasperReport = templateCache.getReport(REPORTS_PATH + "motorph_payroll_template.jrxml");
+            } catch (JRException e) {
+                throw new JRException("MotorPH payroll template not found or invalid. Please ensure motorph_payroll_template.jrxml exists in " + REPORTS_PATH, e);
             }
             
-            // Compile the report
-            JasperReport jasperReport = JasperCompileManager.compileReport(reportTemplate);
-            
             // Create data source
             JRDataSource dataSource = new JRBeanCollectionDataSource(payrollData);
             
@@ -63,9 +65,9 @@ public class JasperReportGenerator {
             parameters.put("EMPLOYEE_COUNT", payrollData.size());
             
             // Add company logo
-            InputStream logoStream = getClass().getResourceAsStream("/images/motorph_logo.png");
-            if (logoStream != null) {
-                parameters.put("COMPANY_LOGO", logoStream);
+            Image logo = templateCache.getImage(COMPANY_LOGO);
+            if (logo != null) {
+                parameters.put("COMPANY_LOGO", logo);
             }
             
             // Fill the report
@@ -91,13 +93,8 @@ public class JasperReportGenerator {
     public File generateEmployeeReport(Employee employee, List<PayrollReportData> employeePayrollHistory) 
             throws JRException {
         try {
-            // Load MotorPH employee template
-            InputStream reportTemplate = getClass().getResourceAsStream(REPORTS_PATH + "motorph_employee_template.jrxml");
-            if (reportTemplate == null) {
-                throw new JRException("MotorPH employee template not found");
-            }
-            
-            JasperReport jasperReport = JasperCompileManager.compileReport(reportTemplate);
+            // Load the compiled MotorPH employee template
+            JasperReport jasperReport = templateCache.getReport(REPORTS_PATH + "motorph_employee_template.jrxml");
             JRDataSource dataSource = new JRBeanCollectionDataSource(employeePayrollHistory);
             
             // Set parameters
@@ -10,15 +10,18 @@ import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.view.JasperViewer;
 
+import java.awt.Image;
 import java.io.File;
-import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
 public class MotorPHPayslipGenerator {
     private static final String PAYSLIP_TEMPLATE = "/reports/templates/motorph_payslip_template.jrxml";
+    private static final String COMPANY_LOGO = "/images/motorph_logo.png";
     private static final String OUTPUT_PATH = System.getProperty("user.home") + "/MotorPH_Payslips/";
     
+    private final ReportTemplateCache templateCache = ReportTemplateCache.getInstance();
+    
     public MotorPHPayslipGenerator() {
         // Create output directory
         File outputDir = new File(OUTPUT_PATH);
@@ -35,14 +38,8 @@ public class MotorPHPayslipGenerator {
             payslipData.setPeriodStartDate(periodStart);
             payslipData.setPeriodEndDate(periodEnd);
             
-            // Load template
-            InputStream templateStream = getClass().getResourceAsStream(PAYSLIP_TEMPLATE);
-            if (templateStream == null) {
-                throw new JRException("Payslip template not found: " + PAYSLIP_TEMPLATE);
-            }
-            
-            // Compile report
-            JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
+            // Compiled template is shared across payslips
+            JasperReport jasperReport = templateCache.getReport(PAYSLIP_TEMPLATE);
             
             // Create data source (single payslip)
             List<PayslipData> payslipList = Arrays.asList(payslipData);
@@ -54,9 +51,9 @@ public class MotorPHPayslipGenerator {
             parameters.put("GENERATED_DATE", new Date());
             
             // Add logo if available
-            InputStream logoStream = getClass().getResourceAsStream("/images/motorph_logo.png");
-            if (logoStream != null) {
-                parameters.put("COMPANY_LOGO", logoStream);
+            Image logo = templateCache.getImage(COMPANY_LOGO);
+            if (logo != null) {
+                parameters.put("COMPANY_LOGO", logo);
             }
             
             // Fill report
@@ -85,9 +82,8 @@ public class MotorPHPayslipGenerator {
             payslipData.setPeriodStartDate(periodStart);
             payslipData.setPeriodEndDate(periodEnd);
             
-            // Load and compile template
-            InputStream templateStream = getClass().getResourceAsStream(PAYSLIP_TEMPLATE);
-            JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
+            // Load compiled template
+            JasperReport jasperReport = templateCache.getReport(PAYSLIP_TEMPLATE);
             
             // Create data source
             List<PayslipData> payslipList = Arrays.asList(payslipData);
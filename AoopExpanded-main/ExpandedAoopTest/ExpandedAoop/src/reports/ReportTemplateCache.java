@@ -0,0 +1,163 @@
+package reports;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+
+import javax.imageio.ImageIO;
+import java.awt.Image;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared cache of compiled JasperReports templates and decoded report images.
+ * A template is loaded from its precompiled .jasper file (written next to the
+ * .jrxml by the precompile-reports Maven profile, see {@link TemplatePrecompiler})
+ * or compiled from the JRXML once, then reused by every report. When the JRXML is a plain file
+ * on the classpath (running from the IDE) its timestamp is checked on each
+ * lookup and the template is recompiled after it is edited.
+ */
+public final class ReportTemplateCache {
+    private static final Logger LOGGER = Logger.getLogger(ReportTemplateCache.class.getName());
+
+    private static volatile ReportTemplateCache instance;
+
+    private final ConcurrentHashMap<String, CompiledTemplate> reports = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Optional<Image>> images = new ConcurrentHashMap<>();
+
+    private static final class CompiledTemplate {
+        final JasperReport report;
+        final long sourceStamp;
+
+        CompiledTemplate(JasperReport report, long sourceStamp) {
+            this.report = report;
+            this.sourceStamp = sourceStamp;
+        }
+    }
+
+    private ReportTemplateCache() {
+    }
+
+    public static ReportTemplateCache getInstance() {
+        ReportTemplateCache current = instance;
+        if (current == null) {
+            synchronized (ReportTemplateCache.class) {
+                current = instance;
+                if (current == null) {
+                    current = new ReportTemplateCache();
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Compiled report for a JRXML classpath resource such as /motorph_payslip.jrxml
+     */
+    public JasperReport getReport(String jrxmlResource) throws JRException {
+        URL source = ReportTemplateCache.class.getResource(jrxmlResource);
+        if (source == null) {
+            throw new JRException("Report template not found: " + jrxmlResource);
+        }
+        long stamp = lastModified(source);
+
+        CompiledTemplate cached = reports.get(jrxmlResource);
+        if (cached != null && cached.sourceStamp == stamp) {
+            return cached.report;
+        }
+
+        // Compiling is slow, so only one thread loads a given template
+        synchronized (reports) {
+            cached = reports.get(jrxmlResource);
+            if (cached != null && cached.sourceStamp == stamp) {
+                return cached.report;
+            }
+            JasperReport report = loadPrecompiled(jrxmlResource, stamp);
+            if (report == null) {
+                long start = System.currentTimeMillis();
+                try (InputStream in = source.openStream()) {
+                    report = JasperCompileManager.compileReport(in);
+                } catch (IOException e) {
+                    throw new JRException("Failed to read report template: " + jrxmlResource, e);
+                }
+                LOGGER.info("Compiled report template " + jrxmlResource + " in "
+                        + (System.currentTimeMillis() - start) + " ms");
+            }
+            reports.put(jrxmlResource, new CompiledTemplate(report, stamp));
+            return report;
+        }
+    }
+
+    /**
+     * Decoded image for a classpath resource, or null if it does not exist or cannot be read.
+     * The image is shared between reports and must not be modified.
+     */
+    public Image getImage(String imageResource) {
+        return images.computeIfAbsent(imageResource, ReportTemplateCache::decodeImage).orElse(null);
+    }
+
+    /**
+     * Drop all cached templates and images
+     */
+    public void clear() {
+        reports.clear();
+        images.clear();
+    }
+
+    private JasperReport loadPrecompiled(String jrxmlResource, long sourceStamp) {
+        String compiledResource = jrxmlResource.replaceFirst("\\.jrxml$", ".jasper");
+        URL compiled = ReportTemplateCache.class.getResource(compiledResource);
+        if (compiled == null || compiledResource.equals(jrxmlResource)) {
+            return null;
+        }
+        if (lastModified(compiled) < sourceStamp) {
+            LOGGER.info("Precompiled report " + compiledResource + " is older than its template, recompiling");
+            return null;
+        }
+        try (InputStream in = compiled.openStream()) {
+            LOGGER.info("Loading precompiled report " + compiledResource);
+            return (JasperReport) JRLoader.loadObject(in);
+        } catch (JRException | IOException | ClassCastException e) {
+            LOGGER.log(Level.WARNING, "Failed to load precompiled report " + compiledResource
+                    + ", will compile from JRXML", e);
+            return null;
+        }
+    }
+
+    private static Optional<Image> decodeImage(String imageResource) {
+        URL url = ReportTemplateCache.class.getResource(imageResource);
+        if (url == null) {
+            LOGGER.warning("Report image not found: " + imageResource);
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(ImageIO.read(url));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to decode report image " + imageResource, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Modification time of a file resource; resources inside a jar cannot change and report 0
+     */
+    private static long lastModified(URL resource) {
+        if (!"file".equals(resource.getProtocol())) {
+            return 0L;
+        }
+        try {
+            return new File(resource.toURI()).lastModified();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return 0L;
+        }
+    }
+}
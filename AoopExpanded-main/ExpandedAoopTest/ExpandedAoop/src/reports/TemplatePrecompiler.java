@@ -0,0 +1,56 @@
+package reports;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build step that compiles every .jrxml under a source directory into a .jasper
+ * file at the same relative path in the output directory, so the application
+ * loads reports without invoking the Java compiler at runtime.
+ * Run by the precompile-reports Maven profile in the process-classes phase.
+ *
+ * <p>Usage: TemplatePrecompiler &lt;sourceDir&gt; &lt;outputDir&gt;</p>
+ */
+public final class TemplatePrecompiler {
+
+    private TemplatePrecompiler() {
+    }
+
+    public static void main(String[] args) throws IOException, JRException {
+        if (args.length != 2) {
+            System.err.println("Usage: TemplatePrecompiler <sourceDir> <outputDir>");
+            System.exit(2);
+        }
+        Path sourceDir = Paths.get(args[0]);
+        Path outputDir = Paths.get(args[1]);
+
+        List<Path> templates;
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            templates = files.filter(p -> p.toString().endsWith(".jrxml")).collect(Collectors.toList());
+        }
+
+        int compiled = 0;
+        for (Path template : templates) {
+            String relative = sourceDir.relativize(template).toString();
+            Path target = outputDir.resolve(relative.substring(0, relative.length() - ".jrxml".length()) + ".jasper");
+            File targetFile = target.toFile();
+            if (targetFile.exists() && targetFile.lastModified() >= template.toFile().lastModified()) {
+                continue;
+            }
+            Files.createDirectories(target.getParent());
+            System.out.println("Compiling report " + relative);
+            JasperCompileManager.compileReportToFile(template.toString(), target.toString());
+            compiled++;
+        }
+        System.out.println("Report templates compiled: " + compiled + ", up to date: " + (templates.size() - compiled));
+    }
+}
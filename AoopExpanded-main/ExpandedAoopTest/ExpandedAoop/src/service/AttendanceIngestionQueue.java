@@ -0,0 +1,555 @@
+package service;
+
+import dao.AttendanceDAO;
+import model.Attendance;
+import util.DBConnection;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Accepts clock-in and clock-out punches into a bounded in-memory queue and writes them
+ * to the attendance table from one background writer, so a kiosk gets its answer without
+ * waiting for MySQL. The writer groups punches into one batched transaction per
+ * {@code batchSize} punches or per {@code flushIntervalMillis}, whichever comes first.
+ * When the queue is full, {@link #submit} waits up to {@code offerTimeoutMillis} and then
+ * refuses the punch so the caller can ask the employee to try again.
+ * Queued punches are written before the connection pool closes on exit.
+ * With an {@link AttendanceJournal}, a batch that fails because the database cannot be
+ * reached and a punch that finds the queue full are saved to the journal instead, to be
+ * replayed when the database is back. A batch that fails for another reason is retried.
+ */
+public class AttendanceIngestionQueue implements AttendanceIngestionQueueMXBean {
+    private static final Logger LOGGER = Logger.getLogger(AttendanceIngestionQueue.class.getName());
+
+    private static final String MBEAN_NAME = "com.motorph:type=AttendanceIngestionQueue";
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000L;
+    private static final int SHUTDOWN_WRITE_ATTEMPTS = 3;
+    // How often a writer waiting to fill a batch checks for flush and shutdown requests
+    private static final long WAIT_SLICE_MILLIS = 10L;
+
+    private static volatile AttendanceIngestionQueue shared;
+
+    /**
+     * Writes one batch of punches; called from the writer thread only
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        /**
+         * @return number of punches that were skipped, such as repeated log ins
+         */
+        int write(List<Punch> batch) throws Exception;
+    }
+
+    /**
+     * One clock-in or clock-out as entered at the kiosk
+     */
+    public static final class Punch {
+        public enum Type { LOG_IN, LOG_OUT }
+
+        private final int employeeId;
+        private final LocalDate date;
+        private final Time time;
+        private final Type type;
+
+        public Punch(int employeeId, LocalDate date, Time time, Type type) {
+            if (employeeId <= 0) {
+                throw new IllegalArgumentException("Employee ID must be positive, got: " + employeeId);
+            }
+            if (date == null || time == null || type == null) {
+                throw new IllegalArgumentException("Punch date, time and type cannot be null");
+            }
+            this.employeeId = employeeId;
+            this.date = date;
+            this.time = time;
+            this.type = type;
+        }
+
+        public int getEmployeeId() { return employeeId; }
+        public LocalDate getDate() { return date; }
+        public Time getTime() { return time; }
+        public Type getType() { return type; }
+
+        @Override
+        public String toString() {
+            return type + " " + employeeId + " " + date + " " + time;
+        }
+    }
+
+    private final BatchWriter writer;
+    private final Config config;
+    private final AttendanceJournal journal;
+    private final BlockingQueue<Punch> queue;
+    private final Thread writerThread;
+    private final Object flushLock = new Object();
+
+    private volatile boolean closed;
+    private volatile boolean flushRequested;
+    // Accepted punches not yet written or dropped; guarded by flushLock
+    private int pending;
+
+    private final AtomicLong punchesAccepted = new AtomicLong();
+    private final AtomicLong punchesRejected = new AtomicLong();
+    private final AtomicLong punchesWritten = new AtomicLong();
+    private final AtomicLong punchesSkipped = new AtomicLong();
+    private final AtomicLong punchesDropped = new AtomicLong();
+    private final AtomicLong punchesJournaled = new AtomicLong();
+    private final AtomicLong batchesCommitted = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong commitNanosTotal = new AtomicLong();
+    private final AtomicLong commitNanosMax = new AtomicLong();
+    private final AtomicLong commitNanosLast = new AtomicLong();
+
+    public AttendanceIngestionQueue(BatchWriter writer, Config config) {
+        this(writer, config, null);
+    }
+
+    /**
+     * @param journal where punches go when the database or the queue cannot take them, may be null
+     */
+    public AttendanceIngestionQueue(BatchWriter writer, Config config, AttendanceJournal journal) {
+        if (writer == null || config == null) {
+            throw new IllegalArgumentException("Batch writer and config cannot be null");
+        }
+        this.writer = writer;
+        this.config = config;
+        this.journal = journal;
+        this.queue = new ArrayBlockingQueue<>(config.getCapacity());
+        this.writerThread = new Thread(this::writeLoop, "motorph-punch-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Shared queue writing through AttendanceDAO, created on first use with
+     * -Dmotorph.punch.queue.* settings and flushed before the connection pool closes
+     */
+    public static AttendanceIngestionQueue getShared() {
+        AttendanceIngestionQueue current = shared;
+        if (current == null) {
+            synchronized (AttendanceIngestionQueue.class) {
+                current = shared;
+                if (current == null) {
+                    current = new AttendanceIngestionQueue(daoWriter(new AttendanceDAO()), Config.fromSystemProperties(),
+                            openSharedJournal());
+                    shared = current;
+                    registerMBean(current);
+                    // Whichever hook runs first writes the queue; the pool waits for it
+                    DBConnection.addPoolShutdownTask(current::shutdown);
+                    Runtime.getRuntime().addShutdownHook(new Thread(current::shutdown, "motorph-punch-shutdown"));
+                }
+            }
+        }
+        return current;
+    }
+
+    private static AttendanceJournal openSharedJournal() {
+        try {
+            return AttendanceJournal.getShared();
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "Attendance journal unavailable; punches are kept in memory only", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writer that records each batch in one transaction with AttendanceDAO.recordPunches
+     */
+    public static BatchWriter daoWriter(AttendanceDAO attendanceDAO) {
+        return batch -> {
+            List<Attendance> logIns = new ArrayList<>();
+            List<Attendance> logOuts = new ArrayList<>();
+            for (Punch punch : batch) {
+                Attendance attendance = new Attendance();
+                attendance.setEmployeeId(punch.getEmployeeId());
+                attendance.setDate(Date.valueOf(punch.getDate()));
+                if (punch.getType() == Punch.Type.LOG_IN) {
+                    attendance.setLogIn(punch.getTime());
+                    logIns.add(attendance);
+                } else {
+                    attendance.setLogOut(punch.getTime());
+                    logOuts.add(attendance);
+                }
+            }
+            return attendanceDAO.recordPunches(logIns, logOuts);
+        };
+    }
+
+    /**
+     * Queue a punch for writing. Returns as soon as the punch is queued; if the queue is
+     * full, waits up to the offer timeout for room.
+     * @return false if the queue stayed full or is shut down, so the punch was not taken
+     */
+    public boolean submit(Punch punch) {
+        if (punch == null) {
+            throw new IllegalArgumentException("Punch cannot be null");
+        }
+        if (closed) {
+            punchesRejected.incrementAndGet();
+            return false;
+        }
+
+        synchronized (flushLock) {
+            pending++;
+        }
+        boolean accepted;
+        try {
+            accepted = queue.offer(punch, config.getOfferTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (accepted && closed && queue.remove(punch)) {
+            // Shut down while queuing; the writer may already have stopped
+            accepted = false;
+        }
+
+        if (accepted) {
+            punchesAccepted.incrementAndGet();
+            return true;
+        }
+
+        // Not queued, so the writer will never complete it
+        completed(1);
+        if (!closed && journalPunches(Collections.singletonList(punch))) {
+            // Queue stayed full; the journal keeps the punch until the replay writes it
+            punchesAccepted.incrementAndGet();
+            return true;
+        }
+        punchesRejected.incrementAndGet();
+        LOGGER.warning("Attendance queue full, punch refused: " + punch);
+        return false;
+    }
+
+    @Override
+    public void flush() {
+        flushRequested = true;
+    }
+
+    /**
+     * Write everything queued so far and wait for it
+     * @return true if every accepted punch was written or dropped within the timeout
+     */
+    public boolean flush(long timeoutMillis) throws InterruptedException {
+        flushRequested = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (flushLock) {
+            while (pending > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                flushLock.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop taking punches, write the ones already queued and stop the writer.
+     * Safe to call more than once; every caller waits for the final write.
+     */
+    public void shutdown() {
+        closed = true;
+        try {
+            writerThread.join(config.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            LOGGER.warning("Attendance queue writer did not finish within " + config.getShutdownTimeoutMillis() +
+                    " ms; " + getPendingPunches() + " punches not written");
+        }
+        if (this == shared) {
+            unregisterMBean();
+        }
+    }
+
+    public boolean isShutdown() {
+        return closed;
+    }
+
+    private void writeLoop() {
+        List<Punch> batch = new ArrayList<>(config.getBatchSize());
+        int failures = 0;
+        while (true) {
+            try {
+                if (batch.isEmpty() && !fillBatch(batch)) {
+                    if (closed && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+
+                Exception failure = commit(batch);
+                if (failure == null) {
+                    batch.clear();
+                    failures = 0;
+                    continue;
+                }
+                // Only an outage is worth replaying; any other failure would block the journal
+                if (DBConnection.isConnectionFailure(failure) && journalPunches(batch)) {
+                    completed(batch.size());
+                    batch.clear();
+                    failures = 0;
+                    continue;
+                }
+
+                failures++;
+                if (closed && failures >= SHUTDOWN_WRITE_ATTEMPTS) {
+                    LOGGER.severe("Dropping " + batch.size() + " punches after " + failures +
+                            " failed writes during shutdown: " + batch);
+                    punchesDropped.addAndGet(batch.size());
+                    completed(batch.size());
+                    batch.clear();
+                    failures = 0;
+                } else if (!closed) {
+                    // Keep the batch and try again; a full queue pushes back on new punches meanwhile
+                    Thread.sleep(Math.min(MAX_RETRY_DELAY_MILLIS,
+                            config.getFlushIntervalMillis() << Math.min(failures, 10)));
+                }
+            } catch (InterruptedException e) {
+                // Only shutdown stops the writer; queued punches must still be written
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Wait for the next punch, then keep collecting until the batch is full, the flush
+     * interval since the first punch has passed, or a flush or shutdown is requested
+     * @return false if no punch arrived within one flush interval
+     */
+    private boolean fillBatch(List<Punch> batch) throws InterruptedException {
+        Punch first = queue.poll(closed ? 0 : config.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            flushRequested = false;
+            return false;
+        }
+        batch.add(first);
+
+        int batchSize = config.getBatchSize();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getFlushIntervalMillis());
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || closed || flushRequested || remaining <= 0) {
+                break;
+            }
+            Punch next = queue.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(WAIT_SLICE_MILLIS)),
+                    TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+        if (queue.isEmpty()) {
+            flushRequested = false;
+        }
+        return true;
+    }
+
+    /**
+     * @return null if the batch was written, otherwise why it failed
+     */
+    private Exception commit(List<Punch> batch) {
+        long start = System.nanoTime();
+        int skipped;
+        try {
+            skipped = writer.write(batch);
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Failed to write " + batch.size() + " queued punches", e);
+            return e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        commitNanosTotal.addAndGet(elapsed);
+        commitNanosMax.accumulateAndGet(elapsed, Math::max);
+        commitNanosLast.set(elapsed);
+        batchesCommitted.incrementAndGet();
+        punchesWritten.addAndGet(batch.size() - skipped);
+        if (skipped > 0) {
+            punchesSkipped.addAndGet(skipped);
+            LOGGER.info(skipped + " of " + batch.size() + " queued punches were skipped " +
+                    "(repeated log in, log out without log in, or unknown employee)");
+        }
+        completed(batch.size());
+        return null;
+    }
+
+    private boolean journalPunches(List<Punch> punches) {
+        if (journal == null) {
+            return false;
+        }
+        try {
+            journal.append(punches);
+            punchesJournaled.addAndGet(punches.size());
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Could not save " + punches.size() + " punches to the attendance journal", e);
+            return false;
+        }
+    }
+
+    private void completed(int count) {
+        synchronized (flushLock) {
+            pending -= count;
+            if (pending == 0) {
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    private static void registerMBean(AttendanceIngestionQueue queue) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(queue, name);
+        } catch (JMException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not register attendance queue MBean", e);
+        }
+    }
+
+    private static void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Could not unregister attendance queue MBean", e);
+        }
+    }
+
+    @Override
+    public int getQueueDepth() { return queue.size(); }
+
+    @Override
+    public int getCapacity() { return config.getCapacity(); }
+
+    @Override
+    public int getPendingPunches() {
+        synchronized (flushLock) {
+            return pending;
+        }
+    }
+
+    @Override
+    public long getPunchesAccepted() { return punchesAccepted.get(); }
+
+    @Override
+    public long getPunchesRejected() { return punchesRejected.get(); }
+
+    @Override
+    public long getPunchesWritten() { return punchesWritten.get(); }
+
+    @Override
+    public long getPunchesSkipped() { return punchesSkipped.get(); }
+
+    @Override
+    public long getPunchesDropped() { return punchesDropped.get(); }
+
+    @Override
+    public long getPunchesJournaled() { return punchesJournaled.get(); }
+
+    @Override
+    public long getBatchesCommitted() { return batchesCommitted.get(); }
+
+    @Override
+    public long getFailedBatches() { return failedBatches.get(); }
+
+    @Override
+    public double getAverageBatchSize() {
+        long batches = batchesCommitted.get();
+        return batches == 0 ? 0.0 : (punchesWritten.get() + punchesSkipped.get()) / (double) batches;
+    }
+
+    @Override
+    public double getAverageCommitMillis() {
+        long batches = batchesCommitted.get();
+        return batches == 0 ? 0.0 : commitNanosTotal.get() / (double) batches / 1_000_000.0;
+    }
+
+    @Override
+    public double getMaxCommitMillis() {
+        return commitNanosMax.get() / 1_000_000.0;
+    }
+
+    @Override
+    public double getLastCommitMillis() {
+        return commitNanosLast.get() / 1_000_000.0;
+    }
+
+    /**
+     * Queue settings, read from system properties with defaults sized for the morning rush
+     */
+    public static class Config {
+        private int capacity = 10_000;
+        private int batchSize = 200;
+        private long flushIntervalMillis = 200L;
+        private long offerTimeoutMillis = 2_000L;
+        private long shutdownTimeoutMillis = 15_000L;
+
+        /**
+         * Build configuration from -Dmotorph.punch.queue.* system properties
+         */
+        public static Config fromSystemProperties() {
+            Config config = new Config();
+            config.setCapacity(Integer.getInteger("motorph.punch.queue.capacity", config.capacity));
+            config.setBatchSize(Integer.getInteger("motorph.punch.queue.batchSize", config.batchSize));
+            config.setFlushIntervalMillis(Long.getLong("motorph.punch.queue.flushMs", config.flushIntervalMillis));
+            config.setOfferTimeoutMillis(Long.getLong("motorph.punch.queue.offerTimeoutMs", config.offerTimeoutMillis));
+            config.setShutdownTimeoutMillis(Long.getLong("motorph.punch.queue.shutdownTimeoutMs", config.shutdownTimeoutMillis));
+            return config;
+        }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) {
+            if (capacity <= 0) throw new IllegalArgumentException("Queue capacity must be positive");
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) {
+            if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMillis() { return flushIntervalMillis; }
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            if (flushIntervalMillis <= 0) throw new IllegalArgumentException("Flush interval must be positive");
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+
+        public long getOfferTimeoutMillis() { return offerTimeoutMillis; }
+        public void setOfferTimeoutMillis(long offerTimeoutMillis) {
+            if (offerTimeoutMillis < 0) throw new IllegalArgumentException("Offer timeout cannot be negative");
+            this.offerTimeoutMillis = offerTimeoutMillis;
+        }
+
+        public long getShutdownTimeoutMillis() { return shutdownTimeoutMillis; }
+        public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+            if (shutdownTimeoutMillis < 0) throw new IllegalArgumentException("Shutdown timeout cannot be negative");
+            this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package service;
+
+/**
+ * JMX management interface for the buffered attendance punch queue.
+ * Registered as com.motorph:type=AttendanceIngestionQueue so it can be watched from JConsole or VisualVM.
+ */
+public interface AttendanceIngestionQueueMXBean {
+    int getQueueDepth();
+    int getCapacity();
+    int getPendingPunches();
+
+    long getPunchesAccepted();
+    long getPunchesRejected();
+    long getPunchesWritten();
+    long getPunchesSkipped();
+    long getPunchesDropped();
+    long getPunchesJournaled();
+    long getBatchesCommitted();
+    long getFailedBatches();
+
+    double getAverageBatchSize();
+    double getAverageCommitMillis();
+    double getMaxCommitMillis();
+    double getLastCommitMillis();
+
+    /**
+     * Write everything queued so far without waiting for the flush interval
+     */
+    void flush();
+}
@@ -0,0 +1,420 @@
+package service;
+
+import dao.AttendanceDAO;
+import service.AttendanceIngestionQueue.BatchWriter;
+import service.AttendanceIngestionQueue.Punch;
+import util.DBConnection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local file that keeps punches the database could not take, so an outage
+ * does not lose them. Appends are forced to disk before returning; callers appending at
+ * the same time share one fsync. A background worker replays the journal in batches once
+ * the database answers again. Replay is safe to repeat: log ins keep the earliest time and
+ * log outs the latest, so a punch written twice leaves the same row.
+ *
+ * The journal is a sequence of fixed-size records, each ending in a CRC32, so a record
+ * torn by a crash is detected and dropped when the file is reopened. For replay the file
+ * is moved aside and a fresh one started, which lets new punches keep arriving while the
+ * old ones are written.
+ *
+ * A batch the database rejects for any reason other than being unreachable, such as a
+ * constraint or procedure error, would fail on every replay and hold back every punch
+ * after it. Such batches are moved to a dead-letter file in the same record format for
+ * someone to look at, and replay carries on.
+ */
+public class AttendanceJournal implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(AttendanceJournal.class.getName());
+
+    private static final String JOURNAL_FILE = "attendance.journal";
+    private static final String REPLAY_FILE = "attendance.journal.replay";
+    private static final String DEAD_LETTER_FILE = "attendance.journal.dead";
+    // employee ID, epoch day, second of day, type, CRC32
+    private static final int PAYLOAD_SIZE = 4 + 4 + 4 + 1;
+    private static final int RECORD_SIZE = PAYLOAD_SIZE + 4;
+
+    private static volatile AttendanceJournal shared;
+
+    private final Path journalFile;
+    private final Path replayFile;
+    private final Path deadLetterFile;
+    private final BatchWriter writer;
+    private final int replayBatchSize;
+    private final ScheduledExecutorService replayer;
+
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+    private final Object replayLock = new Object();
+
+    // Guarded by writeLock
+    private FileChannel channel;
+    // Bytes appended and bytes forced to disk since the journal was opened, across rotations
+    private volatile long bytesWritten;
+    private long bytesSynced; // guarded by syncLock
+    // Records of the replay file already written to the database; guarded by replayLock
+    private int replayedRecords;
+    private volatile boolean closed;
+
+    private final AtomicLong punchesJournaled = new AtomicLong();
+    private final AtomicLong punchesReplayed = new AtomicLong();
+    private final AtomicLong replayFailures = new AtomicLong();
+    private final AtomicLong punchesDeadLettered = new AtomicLong();
+    private final AtomicLong syncCount = new AtomicLong();
+
+    /**
+     * @param directory folder for the journal files, created if missing
+     * @param writer writes replayed batches to the database
+     * @param replayBatchSize punches per replay batch
+     * @param replayIntervalMillis how often to try replaying, or 0 to replay only on {@link #replay()}
+     */
+    public AttendanceJournal(Path directory, BatchWriter writer, int replayBatchSize, long replayIntervalMillis)
+            throws IOException {
+        if (directory == null || writer == null) {
+            throw new IllegalArgumentException("Journal directory and writer cannot be null");
+        }
+        if (replayBatchSize <= 0 || replayIntervalMillis < 0) {
+            throw new IllegalArgumentException("Replay batch size must be positive and interval not negative");
+        }
+        Files.createDirectories(directory);
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.replayFile = directory.resolve(REPLAY_FILE);
+        this.deadLetterFile = directory.resolve(DEAD_LETTER_FILE);
+        this.writer = writer;
+        this.replayBatchSize = replayBatchSize;
+        this.channel = openJournal();
+
+        long pending = getPendingPunches();
+        if (pending > 0) {
+            LOGGER.info("Attendance journal has " + pending + " punches from a previous session to replay");
+        }
+
+        if (replayIntervalMillis > 0) {
+            replayer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "motorph-journal-replay");
+                t.setDaemon(true);
+                return t;
+            });
+            replayer.scheduleWithFixedDelay(this::replayQuietly, 0, replayIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            replayer = null;
+        }
+    }
+
+    /**
+     * Shared journal writing through AttendanceDAO, in -Dmotorph.journal.dir
+     * (default ~/.motorph/journal), replayed every -Dmotorph.journal.replayMs (default 5 s)
+     */
+    public static AttendanceJournal getShared() {
+        AttendanceJournal current = shared;
+        if (current == null) {
+            synchronized (AttendanceJournal.class) {
+                current = shared;
+                if (current == null) {
+                    String dir = System.getProperty("motorph.journal.dir");
+                    Path directory = dir != null ? Paths.get(dir)
+                            : Paths.get(System.getProperty("user.home"), ".motorph", "journal");
+                    try {
+                        current = new AttendanceJournal(directory,
+                                AttendanceIngestionQueue.daoWriter(new AttendanceDAO()),
+                                Integer.getInteger("motorph.journal.replayBatchSize", 500),
+                                Long.getLong("motorph.journal.replayMs", 5_000L));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Cannot open attendance journal in " + directory, e);
+                    }
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Add one punch and wait until it is on disk
+     */
+    public void append(Punch punch) throws IOException {
+        append(Collections.singletonList(punch));
+    }
+
+    /**
+     * Add punches and wait until they are on disk
+     */
+    public void append(List<Punch> punches) throws IOException {
+        if (punches.isEmpty()) {
+            return;
+        }
+        ByteBuffer buffer = encode(punches);
+
+        long end;
+        synchronized (writeLock) {
+            if (closed) {
+                throw new IOException("Attendance journal is closed");
+            }
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            end = bytesWritten + punches.size() * RECORD_SIZE;
+            bytesWritten = end;
+        }
+        sync(end);
+        punchesJournaled.addAndGet(punches.size());
+    }
+
+    /**
+     * Force the journal to disk if the bytes up to end are not there yet. Whoever gets the
+     * lock first forces everything appended so far, covering the callers queued behind it.
+     */
+    private void sync(long end) throws IOException {
+        synchronized (syncLock) {
+            if (bytesSynced >= end) {
+                return;
+            }
+            long target = bytesWritten;
+            FileChannel current;
+            synchronized (writeLock) {
+                current = channel;
+            }
+            current.force(false);
+            syncCount.incrementAndGet();
+            bytesSynced = Math.max(bytesSynced, target);
+        }
+    }
+
+    /**
+     * Write journaled punches to the database in batches. Stops at the first batch that
+     * fails because the database cannot be reached and continues from there on the next
+     * call; a batch that fails for another reason is moved to the dead-letter file.
+     * @return true if the journal is empty afterwards
+     */
+    public boolean replay() throws Exception {
+        synchronized (replayLock) {
+            if (!Files.exists(replayFile) && !rotate()) {
+                return true;
+            }
+
+            List<Punch> punches = readRecords(replayFile);
+            while (replayedRecords < punches.size()) {
+                List<Punch> batch = punches.subList(replayedRecords,
+                        Math.min(punches.size(), replayedRecords + replayBatchSize));
+                try {
+                    writer.write(batch);
+                    punchesReplayed.addAndGet(batch.size());
+                } catch (Exception e) {
+                    if (DBConnection.isConnectionFailure(e)) {
+                        throw e;
+                    }
+                    deadLetter(batch, e);
+                }
+                replayedRecords += batch.size();
+            }
+
+            Files.delete(replayFile);
+            replayedRecords = 0;
+            LOGGER.info("Replayed " + punches.size() + " journaled punches to the database");
+            return getPendingPunches() == 0;
+        }
+    }
+
+    /**
+     * Set aside a batch the database rejected so replay can move past it
+     */
+    private void deadLetter(List<Punch> batch, Exception cause) throws IOException {
+        ByteBuffer buffer = encode(batch);
+        try (FileChannel out = FileChannel.open(deadLetterFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+        }
+        punchesDeadLettered.addAndGet(batch.size());
+        LOGGER.log(Level.SEVERE, "Database rejected " + batch.size() + " journaled punches; moved to " +
+                deadLetterFile + ": " + batch, cause);
+    }
+
+    private void replayQuietly() {
+        try {
+            replay();
+        } catch (Exception e) {
+            replayFailures.incrementAndGet();
+            LOGGER.log(Level.FINE, "Attendance journal replay failed; will retry", e);
+        }
+    }
+
+    /**
+     * Move the current journal aside for replay and start an empty one
+     * @return false if there was nothing to move
+     */
+    private boolean rotate() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (closed || channel.size() == 0) {
+                    return false;
+                }
+                channel.force(false);
+                bytesSynced = bytesWritten;
+                channel.close();
+                Files.move(journalFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                channel = openJournal();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Punches waiting in the journal and replay files
+     */
+    public long getPendingPunches() {
+        long records = 0;
+        try {
+            if (Files.exists(replayFile)) {
+                records += Files.size(replayFile) / RECORD_SIZE;
+                synchronized (replayLock) {
+                    records -= replayedRecords;
+                }
+            }
+            if (Files.exists(journalFile)) {
+                records += Files.size(journalFile) / RECORD_SIZE;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not read attendance journal size", e);
+        }
+        return records;
+    }
+
+    public long getPunchesJournaled() { return punchesJournaled.get(); }
+    public long getPunchesReplayed() { return punchesReplayed.get(); }
+    public long getReplayFailures() { return replayFailures.get(); }
+    public long getPunchesDeadLettered() { return punchesDeadLettered.get(); }
+    public long getSyncCount() { return syncCount.get(); }
+
+    @Override
+    public void close() throws IOException {
+        if (replayer != null) {
+            replayer.shutdownNow();
+        }
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Open the journal for appending, cutting off a record torn by a crash
+     */
+    private FileChannel openJournal() throws IOException {
+        FileChannel opened = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long valid = (long) readRecords(opened).size() * RECORD_SIZE;
+        if (opened.size() > valid) {
+            LOGGER.warning("Attendance journal " + journalFile + " ends in a damaged record; truncating to " +
+                    valid / RECORD_SIZE + " punches");
+            opened.truncate(valid);
+            opened.force(false);
+        }
+        opened.position(valid);
+        return opened;
+    }
+
+    private static List<Punch> readRecords(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readRecords(in);
+        }
+    }
+
+    /**
+     * Valid records from the start of the file up to the first damaged or partial one
+     */
+    private static List<Punch> readRecords(FileChannel in) throws IOException {
+        long size = in.size();
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        long position = 0;
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        buffer.flip();
+
+        List<Punch> punches = new ArrayList<>(buffer.remaining() / RECORD_SIZE);
+        while (buffer.remaining() >= RECORD_SIZE) {
+            Punch punch = decode(buffer);
+            if (punch == null) {
+                break;
+            }
+            punches.add(punch);
+        }
+        return punches;
+    }
+
+    private static ByteBuffer encode(List<Punch> punches) {
+        ByteBuffer buffer = ByteBuffer.allocate(punches.size() * RECORD_SIZE);
+        for (Punch punch : punches) {
+            encode(punch, buffer);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void encode(Punch punch, ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putInt(punch.getEmployeeId());
+        buffer.putInt((int) punch.getDate().toEpochDay());
+        buffer.putInt(punch.getTime().toLocalTime().toSecondOfDay());
+        buffer.put((byte) punch.getType().ordinal());
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), start, PAYLOAD_SIZE);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * @return the next punch, or null if its checksum or content is invalid
+     */
+    private static Punch decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), start, PAYLOAD_SIZE);
+
+        int employeeId = buffer.getInt();
+        int epochDay = buffer.getInt();
+        int secondOfDay = buffer.getInt();
+        int type = buffer.get();
+        int checksum = buffer.getInt();
+
+        if (checksum != (int) crc.getValue() || employeeId <= 0 || type < 0 || type >= Punch.Type.values().length
+                || secondOfDay < 0 || secondOfDay >= 24 * 60 * 60) {
+            return null;
+        }
+        return new Punch(employeeId, LocalDate.ofEpochDay(epochDay),
+                Time.valueOf(LocalTime.ofSecondOfDay(secondOfDay)), Punch.Type.values()[type]);
+    }
+}
@@ -1,11 +1,9 @@
 package service;
 
 import dao.AttendanceDAO;
-import dao.EmployeeDAO;
 import model.Attendance;
-import model.Employee;
+import util.DBConnection;
 import java.time.LocalDate;
-import java.sql.Date;
 import java.sql.Time;
 import java.util.List;
 import java.util.logging.Logger;
@@ -18,79 +16,121 @@ public class AttendanceService {
     private static final Logger LOGGER = Logger.getLogger(AttendanceService.class.getName());
 
     private final AttendanceDAO attendanceDAO;
-    private final EmployeeDAO employeeDAO;
 
     public AttendanceService() {
         this.attendanceDAO = new AttendanceDAO();
-        this.employeeDAO = new EmployeeDAO();
     }
 
     /**
-     * Record employee log in
+     * Record employee log in. One database round trip: the day's row is upserted and
+     * returned, so a repeated punch with the same time also succeeds. If the database
+     * cannot be reached the punch is saved to the local journal and written later.
      */
     public boolean recordLogIn(int employeeId, LocalDate date, Time logInTime) {
         try {
-            // Validate employee exists
-            if (!employeeDAO.employeeExists(employeeId)) {
-                LOGGER.warning("Employee not found for log in: " + employeeId);
-                return false;
-            }
-
-            // Check if attendance already exists for this date
-            if (attendanceDAO.attendanceExistsForDate(employeeId, date)) {
+            Attendance attendance = attendanceDAO.recordLogIn(employeeId, date, logInTime);
+            if (attendance == null || !samePunch(logInTime, attendance.getLogIn())) {
                 LOGGER.warning("Attendance already recorded for employee " + employeeId + " on " + date);
                 return false;
             }
 
-            // Create attendance record
-            Attendance attendance = new Attendance();
-            attendance.setEmployeeId(employeeId);
-            attendance.setDate(Date.valueOf(date));
-            attendance.setLogIn(logInTime);
-
-            int attendanceId = attendanceDAO.insertAttendance(attendance);
-            boolean success = attendanceId > 0;
-
-            if (success) {
-                LOGGER.info("Log in recorded for employee " + employeeId + " at " + logInTime);
-            }
-
-            return success;
+            LOGGER.info("Log in recorded for employee " + employeeId + " at " + logInTime);
+            return true;
 
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Log in rejected for employee " + employeeId + ": " + e.getMessage());
+            return false;
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error recording log in for employee: " + employeeId, e);
-            return false;
+            return DBConnection.isConnectionFailure(e) && journal(new AttendanceIngestionQueue.Punch(employeeId,
+                    date, logInTime, AttendanceIngestionQueue.Punch.Type.LOG_IN));
         }
     }
 
     /**
-     * Record employee log out
+     * Record employee log out. One database round trip on the day's row; saved to the
+     * local journal if the database cannot be reached.
      */
     public boolean recordLogOut(int employeeId, LocalDate date, Time logOutTime) {
         try {
-            // Get existing attendance record
-            Attendance attendance = attendanceDAO.getAttendanceByEmployeeAndDate(employeeId, date);
+            Attendance attendance = attendanceDAO.recordLogOut(employeeId, date, logOutTime);
             if (attendance == null) {
                 LOGGER.warning("No attendance record found for employee " + employeeId + " on " + date);
                 return false;
             }
-
-            // Update with log out time
-            attendance.setLogOut(logOutTime);
-
-            boolean success = attendanceDAO.updateAttendance(attendance);
-            if (success) {
-                LOGGER.info("Log out recorded for employee " + employeeId + " at " + logOutTime);
+            if (!samePunch(logOutTime, attendance.getLogOut())) {
+                if (attendance.getLogIn() != null && logOutTime.toLocalTime().isBefore(attendance.getLogIn().toLocalTime())) {
+                    LOGGER.warning("Log out " + logOutTime + " is before log in " + attendance.getLogIn() +
+                            " for employee " + employeeId + " on " + date);
+                } else {
+                    LOGGER.warning("Log out " + logOutTime + " ignored, a later log out " + attendance.getLogOut() +
+                            " is already recorded for employee " + employeeId + " on " + date);
+                }
+                return false;
             }
 
-            return success;
+            LOGGER.info("Log out recorded for employee " + employeeId + " at " + logOutTime);
+            return true;
 
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Log out rejected for employee " + employeeId + ": " + e.getMessage());
+            return false;
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error recording log out for employee: " + employeeId, e);
+            return DBConnection.isConnectionFailure(e) && journal(new AttendanceIngestionQueue.Punch(employeeId,
+                    date, logOutTime, AttendanceIngestionQueue.Punch.Type.LOG_OUT));
+        }
+    }
+
+    /**
+     * Queue a log in for the background writer and return at once. Use at kiosks where
+     * the employee should not wait for the database.
+     * @return false if the punch was not queued (queue full or shutting down); ask the employee to try again
+     */
+    public boolean submitLogIn(int employeeId, LocalDate date, Time logInTime) {
+        return submit(new AttendanceIngestionQueue.Punch(employeeId, date, logInTime,
+                AttendanceIngestionQueue.Punch.Type.LOG_IN));
+    }
+
+    /**
+     * Queue a log out for the background writer and return at once
+     * @return false if the punch was not queued (queue full or shutting down); ask the employee to try again
+     */
+    public boolean submitLogOut(int employeeId, LocalDate date, Time logOutTime) {
+        return submit(new AttendanceIngestionQueue.Punch(employeeId, date, logOutTime,
+                AttendanceIngestionQueue.Punch.Type.LOG_OUT));
+    }
+
+    private boolean submit(AttendanceIngestionQueue.Punch punch) {
+        if (punch.getDate().isAfter(LocalDate.now())) {
+            LOGGER.warning("Punch rejected, date is in the future: " + punch);
+            return false;
+        }
+        return AttendanceIngestionQueue.getShared().submit(punch);
+    }
+
+    /**
+     * Keep a punch the database did not take so the journal replays it once it is back
+     * @return true if the punch is safely on disk
+     */
+    private boolean journal(AttendanceIngestionQueue.Punch punch) {
+        try {
+            AttendanceJournal.getShared().append(punch);
+            LOGGER.warning("Database unavailable; punch saved to local journal for replay: " + punch);
+            return true;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Could not save punch to local journal: " + punch, e);
             return false;
         }
     }
 
+    /**
+     * Whether the stored time is this punch; compared to the second as the column stores it
+     */
+    private static boolean samePunch(Time punch, Time stored) {
+        return stored != null && punch.toLocalTime().equals(stored.toLocalTime());
+    }
+
     /**
      * Get attendance records for employee
      */
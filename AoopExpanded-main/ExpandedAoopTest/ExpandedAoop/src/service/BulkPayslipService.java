@@ -0,0 +1,384 @@
+package service;
+
+import dao.EmployeeDAO;
+import model.Employee;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import service.JasperPayslipService.ExportFormat;
+import service.JasperPayslipService.JasperReportException;
+import service.PayrollCalculator.PayrollCalculationException;
+import service.PayrollCalculator.PayrollData;
+import service.PayrollRunService.ProgressListener;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Month-end payslip generation for many employees at once.
+ * Payroll for the whole period is calculated with one set-based call, reports
+ * are filled in parallel from the shared compiled template, and each document is
+ * streamed straight into a ZIP archive or its own file. Only a bounded number of
+ * filled reports is held in memory at any time.
+ */
+public class BulkPayslipService {
+    private static final Logger LOGGER = Logger.getLogger(BulkPayslipService.class.getName());
+
+    private final JasperPayslipService payslipService;
+    private final PayrollCalculator payrollCalculator;
+    private final EmployeeDAO employeeDAO;
+    private final int workers;
+
+    public BulkPayslipService() throws JasperReportException {
+        this(new JasperPayslipService(),
+                Integer.getInteger("motorph.payslip.workers", Runtime.getRuntime().availableProcessors()));
+    }
+
+    public BulkPayslipService(JasperPayslipService payslipService, int workers) {
+        if (payslipService == null) {
+            throw new IllegalArgumentException("Payslip service cannot be null");
+        }
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        this.payslipService = payslipService;
+        this.payrollCalculator = new PayrollCalculator();
+        this.employeeDAO = new EmployeeDAO();
+        this.workers = workers;
+    }
+
+    /**
+     * Generate payslips into a ZIP archive written to the given stream.
+     * The archive is finished but the stream is not closed.
+     *
+     * @param employeeIds employees to include, or null for every employee with a position
+     * @param listener optional progress callback, called on the calling thread
+     */
+    public BulkResult generateToZip(LocalDate periodStart, LocalDate periodEnd, Collection<Integer> employeeIds,
+                                    ExportFormat format, OutputStream out, ProgressListener listener)
+            throws JasperReportException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        RunState state = prepare(periodStart, periodEnd, employeeIds, format);
+        JasperReport report = compiledReport();
+        ExecutorService pool = newPool();
+        try {
+            CompletionService<Filled> completion = new ExecutorCompletionService<>(pool);
+            ZipOutputStream zip = new ZipOutputStream(out);
+            // PDF and XLSX content is already compressed
+            zip.setLevel(Deflater.BEST_SPEED);
+
+            // Keep only a few filled reports waiting for the single archive writer
+            int maxInFlight = workers * 2;
+            int submitted = 0;
+            for (int received = 0; received < state.jobs.size(); received++) {
+                while (submitted - received < maxInFlight && submitted < state.jobs.size()) {
+                    Job job = state.jobs.get(submitted++);
+                    completion.submit(() -> fill(report, job, state));
+                }
+                Filled filled = completion.take().get();
+                if (filled.error != null) {
+                    state.fail(filled.job.employeeId, filled.error, listener);
+                    continue;
+                }
+
+                long exportStart = System.nanoTime();
+                zip.putNextEntry(new ZipEntry(filled.job.fileName));
+                try {
+                    payslipService.exportReport(filled.print, format, zip);
+                } catch (JRException e) {
+                    throw new JasperReportException("Failed to write payslip for employee "
+                            + filled.job.employeeId + " to archive: " + e.getMessage(), e);
+                }
+                zip.closeEntry();
+                state.exportNanos.add(System.nanoTime() - exportStart);
+                state.succeed(filled.job.employeeId, listener);
+            }
+            zip.finish();
+        } catch (IOException e) {
+            throw new JasperReportException("Failed to write payslip archive: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JasperReportException("Bulk payslip generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new JasperReportException("Bulk payslip generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return state.finish();
+    }
+
+    /**
+     * Generate one payslip file per employee in the output directory; workers write their files directly
+     *
+     * @param employeeIds employees to include, or null for every employee with a position
+     * @param listener optional progress callback, called on the calling thread
+     */
+    public BulkResult generateToDirectory(LocalDate periodStart, LocalDate periodEnd, Collection<Integer> employeeIds,
+                                          ExportFormat format, File outputDir, ProgressListener listener)
+            throws JasperReportException {
+        if (outputDir == null) {
+            throw new IllegalArgumentException("Output directory cannot be null");
+        }
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new JasperReportException("Failed to create output directory: " + outputDir);
+        }
+        RunState state = prepare(periodStart, periodEnd, employeeIds, format);
+        JasperReport report = compiledReport();
+        ExecutorService pool = newPool();
+        try {
+            CompletionService<Filled> completion = new ExecutorCompletionService<>(pool);
+            for (Job job : state.jobs) {
+                completion.submit(() -> fillToFile(report, job, format, new File(outputDir, job.fileName), state));
+            }
+            for (int received = 0; received < state.jobs.size(); received++) {
+                Filled filled = completion.take().get();
+                if (filled.error != null) {
+                    state.fail(filled.job.employeeId, filled.error, listener);
+                } else {
+                    state.succeed(filled.job.employeeId, listener);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JasperReportException("Bulk payslip generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new JasperReportException("Bulk payslip generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return state.finish();
+    }
+
+    private RunState prepare(LocalDate periodStart, LocalDate periodEnd, Collection<Integer> employeeIds,
+                             ExportFormat format) throws JasperReportException {
+        if (format == null) {
+            throw new IllegalArgumentException("Export format cannot be null");
+        }
+        long start = System.nanoTime();
+        Map<Integer, PayrollData> payroll;
+        try {
+            payroll = payrollCalculator.calculatePayrollForPeriod(periodStart, periodEnd);
+        } catch (PayrollCalculationException e) {
+            throw new JasperReportException("Failed to calculate payroll: " + e.getMessage(), e);
+        }
+
+        Map<Integer, Employee> employees = new LinkedHashMap<>();
+        for (Employee employee : employeeDAO.getAllEmployeesWithPositionDetails()) {
+            employees.put(employee.getId(), employee);
+        }
+
+        Collection<Integer> requested = employeeIds != null ? employeeIds : employees.keySet();
+        RunState state = new RunState(requested.size(), System.nanoTime() - start);
+        for (Integer employeeId : requested) {
+            Employee employee = employees.get(employeeId);
+            PayrollData payrollData = payroll.get(employeeId);
+            if (employee == null) {
+                state.failures.put(employeeId, "Employee not found");
+            } else if (payrollData == null) {
+                state.failures.put(employeeId, "No position assigned");
+            } else {
+                String fileName = JasperPayslipService.payslipFileName(
+                        employee.getLastName() != null ? employee.getLastName() : "Unknown",
+                        employeeId, periodStart, format);
+                state.jobs.add(new Job(employeeId, employee, payrollData, fileName));
+            }
+        }
+        state.completed.set(state.failures.size());
+        return state;
+    }
+
+    private JasperReport compiledReport() throws JasperReportException {
+        try {
+            return payslipService.getCompiledReport();
+        } catch (JRException e) {
+            throw new JasperReportException("Failed to load payslip template: " + e.getMessage(), e);
+        }
+    }
+
+    private Filled fill(JasperReport report, Job job, RunState state) {
+        long fillStart = System.nanoTime();
+        try {
+            JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(
+                    Collections.singletonList(payslipService.createPayslipData(job.employee, job.payrollData)));
+            Map<String, Object> parameters = payslipService.createReportParameters(job.employee, job.payrollData);
+            return new Filled(job, JasperFillManager.fillReport(report, parameters, dataSource), null);
+        } catch (Exception e) {
+            return new Filled(job, null, e.getMessage() != null ? e.getMessage() : e.toString());
+        } finally {
+            state.fillNanos.add(System.nanoTime() - fillStart);
+        }
+    }
+
+    private Filled fillToFile(JasperReport report, Job job, ExportFormat format, File file, RunState state) {
+        Filled filled = fill(report, job, state);
+        if (filled.error != null) {
+            return filled;
+        }
+        long exportStart = System.nanoTime();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            payslipService.exportReport(filled.print, format, out);
+            return new Filled(job, null, null);
+        } catch (JRException | IOException e) {
+            file.delete();
+            return new Filled(job, null, "Failed to write " + file.getName() + ": " + e.getMessage());
+        } finally {
+            state.exportNanos.add(System.nanoTime() - exportStart);
+        }
+    }
+
+    private ExecutorService newPool() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "motorph-payslip-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static final class Job {
+        final int employeeId;
+        final Employee employee;
+        final PayrollData payrollData;
+        final String fileName;
+
+        Job(int employeeId, Employee employee, PayrollData payrollData, String fileName) {
+            this.employeeId = employeeId;
+            this.employee = employee;
+            this.payrollData = payrollData;
+            this.fileName = fileName;
+        }
+    }
+
+    private static final class Filled {
+        final Job job;
+        final JasperPrint print;
+        final String error;
+
+        Filled(Job job, JasperPrint print, String error) {
+            this.job = job;
+            this.print = print;
+            this.error = error;
+        }
+    }
+
+    private final class RunState {
+        final int total;
+        final long startNanos = System.nanoTime();
+        final long payrollNanos;
+        final List<Job> jobs = new ArrayList<>();
+        final Map<Integer, String> failures = new LinkedHashMap<>();
+        final AtomicInteger completed = new AtomicInteger();
+        final LongAdder fillNanos = new LongAdder();
+        final LongAdder exportNanos = new LongAdder();
+        int generated;
+
+        RunState(int total, long payrollNanos) {
+            this.total = total;
+            this.payrollNanos = payrollNanos;
+        }
+
+        void succeed(int employeeId, ProgressListener listener) {
+            generated++;
+            notifyProgress(employeeId, true, listener);
+        }
+
+        void fail(int employeeId, String error, ProgressListener listener) {
+            failures.put(employeeId, error);
+            LOGGER.warning("Payslip for employee " + employeeId + " failed: " + error);
+            notifyProgress(employeeId, false, listener);
+        }
+
+        private void notifyProgress(int employeeId, boolean success, ProgressListener listener) {
+            int done = completed.incrementAndGet();
+            if (listener != null) {
+                listener.onProgress(done, total, employeeId, success);
+            }
+        }
+
+        BulkResult finish() {
+            long elapsedNanos = payrollNanos + (System.nanoTime() - startNanos);
+            BulkResult result = new BulkResult(total, generated, failures, workers, toMillis(payrollNanos),
+                    toMillis(fillNanos.sum()), toMillis(exportNanos.sum()), toMillis(elapsedNanos));
+            LOGGER.info(result.toString());
+            return result;
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Outcome and timings of a bulk run. Fill and export times are summed over all workers,
+     * so with several workers they can exceed the elapsed time.
+     */
+    public static final class BulkResult {
+        private final int requested;
+        private final int generated;
+        private final Map<Integer, String> failures;
+        private final int workers;
+        private final long payrollMillis;
+        private final long fillMillis;
+        private final long exportMillis;
+        private final long elapsedMillis;
+
+        BulkResult(int requested, int generated, Map<Integer, String> failures, int workers,
+                   long payrollMillis, long fillMillis, long exportMillis, long elapsedMillis) {
+            this.requested = requested;
+            this.generated = generated;
+            this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+            this.workers = workers;
+            this.payrollMillis = payrollMillis;
+            this.fillMillis = fillMillis;
+            this.exportMillis = exportMillis;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getRequested() { return requested; }
+        public int getGenerated() { return generated; }
+        /** Employee ID to failure reason */
+        public Map<Integer, String> getFailures() { return failures; }
+        public int getWorkers() { return workers; }
+        public long getPayrollMillis() { return payrollMillis; }
+        public long getFillMillis() { return fillMillis; }
+        public long getExportMillis() { return exportMillis; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getPayslipsPerSecond() {
+            return generated * 1000.0 / Math.max(1, elapsedMillis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Generated %d/%d payslips in %d ms (%.1f/s) with %d workers; "
+                            + "payroll %d ms, fill %d ms, export %d ms, %d failed",
+                    generated, requested, elapsedMillis, getPayslipsPerSecond(), workers,
+                    payrollMillis, fillMillis, exportMillis, failures.size());
+        }
+    }
+}
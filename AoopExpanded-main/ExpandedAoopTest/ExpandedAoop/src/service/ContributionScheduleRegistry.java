@@ -0,0 +1,245 @@
+package service;
+
+import model.ContributionSchedule;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Effective-dated contribution and tax schedules, selected by payroll period.
+ * Versions are loaded from a CSV data file, compiled once into immutable
+ * {@link ContributionSchedule}s and swapped atomically when the file changes,
+ * so running clients pick up new rates without a restart.
+ *
+ * <p>File location: -Dmotorph.schedules.file, otherwise the bundled
+ * /schedules/contribution_schedules.csv resource. Each line is
+ * {@code TABLE,effective_date,values...}; a version that omits a table
+ * inherits it from the previous version.</p>
+ */
+public class ContributionScheduleRegistry {
+    private static final Logger LOGGER = Logger.getLogger(ContributionScheduleRegistry.class.getName());
+
+    private static final String BUNDLED_RESOURCE = "/schedules/contribution_schedules.csv";
+    private static final long DEFAULT_POLL_SECONDS = 60;
+
+    private enum Table { SSS, PHILHEALTH, PAGIBIG, PAGIBIG_MAX, TAX }
+
+    private static volatile ContributionScheduleRegistry instance;
+
+    private final Path externalFile;
+    private volatile NavigableMap<LocalDate, ContributionSchedule> schedules;
+    private volatile long loadedModifiedTime = -1;
+    private ScheduledExecutorService watcher;
+
+    /**
+     * Shared registry; polls the external file for changes every -Dmotorph.schedules.pollSeconds (0 disables)
+     */
+    public static ContributionScheduleRegistry getInstance() {
+        ContributionScheduleRegistry current = instance;
+        if (current == null) {
+            synchronized (ContributionScheduleRegistry.class) {
+                current = instance;
+                if (current == null) {
+                    String file = System.getProperty("motorph.schedules.file");
+                    current = new ContributionScheduleRegistry(file != null ? Paths.get(file) : null);
+                    current.reload();
+                    current.startWatching(Long.getLong("motorph.schedules.pollSeconds", DEFAULT_POLL_SECONDS));
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @param externalFile schedule file to load, or null to use the bundled resource
+     */
+    public ContributionScheduleRegistry(Path externalFile) {
+        this.externalFile = externalFile;
+        this.schedules = builtInOnly();
+    }
+
+    /**
+     * Schedule in force on the given date; dates before the first version use the earliest version
+     */
+    public ContributionSchedule forDate(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        NavigableMap<LocalDate, ContributionSchedule> current = schedules;
+        Map.Entry<LocalDate, ContributionSchedule> entry = current.floorEntry(date);
+        return entry != null ? entry.getValue() : current.firstEntry().getValue();
+    }
+
+    /**
+     * All loaded versions in effective date order
+     */
+    public List<ContributionSchedule> getVersions() {
+        return Collections.unmodifiableList(new ArrayList<>(schedules.values()));
+    }
+
+    /**
+     * Re-read the schedule source and swap it in. On any error the current schedules stay active.
+     * @return true if new schedules were installed
+     */
+    public synchronized boolean reload() {
+        try {
+            List<ContributionSchedule> versions;
+            if (externalFile != null) {
+                long modified = Files.getLastModifiedTime(externalFile).toMillis();
+                try (Reader reader = Files.newBufferedReader(externalFile, StandardCharsets.UTF_8)) {
+                    versions = parse(reader);
+                }
+                loadedModifiedTime = modified;
+            } else {
+                InputStream stream = ContributionScheduleRegistry.class.getResourceAsStream(BUNDLED_RESOURCE);
+                if (stream == null) {
+                    LOGGER.info("No contribution schedule file found, using built-in tables");
+                    return false;
+                }
+                try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                    versions = parse(reader);
+                }
+            }
+            install(versions);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.SEVERE, "Failed to load contribution schedules, keeping current version", e);
+            return false;
+        }
+    }
+
+    /**
+     * Install already-compiled versions, replacing the current set atomically
+     */
+    public void install(List<ContributionSchedule> versions) {
+        if (versions == null || versions.isEmpty()) {
+            throw new IllegalArgumentException("At least one schedule version is required");
+        }
+        NavigableMap<LocalDate, ContributionSchedule> next = new TreeMap<>();
+        for (ContributionSchedule schedule : versions) {
+            next.put(schedule.getEffectiveFrom(), schedule);
+        }
+        schedules = Collections.unmodifiableNavigableMap(next);
+
+        // Calculated payroll may be based on the old rates
+        PayrollCache.getInstance().clear();
+        LOGGER.info("Installed " + next.size() + " contribution schedule version(s): " + next.keySet());
+    }
+
+    private void startWatching(long pollSeconds) {
+        if (externalFile == null || pollSeconds <= 0) {
+            return;
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "motorph-schedule-watcher");
+            t.setDaemon(true);
+            return t;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfModified, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    private void reloadIfModified() {
+        try {
+            if (Files.getLastModifiedTime(externalFile).toMillis() != loadedModifiedTime) {
+                LOGGER.info("Contribution schedule file changed, reloading");
+                reload();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot check contribution schedule file " + externalFile, e);
+        }
+    }
+
+    /**
+     * Parse schedule versions from CSV. Lines are {@code TABLE,yyyy-MM-dd,values...} where
+     * TABLE is SSS, PHILHEALTH, PAGIBIG, PAGIBIG_MAX or TAX, and MAX stands for no upper bound.
+     * Blank lines and lines starting with # are ignored.
+     */
+    public static List<ContributionSchedule> parse(Reader source) throws IOException {
+        TreeMap<LocalDate, Map<Table, List<double[]>>> rowsByVersion = new TreeMap<>();
+
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected TABLE,date,values");
+            }
+            try {
+                Table table = Table.valueOf(parts[0].trim().toUpperCase());
+                LocalDate effective = LocalDate.parse(parts[1].trim());
+                double[] values = new double[parts.length - 2];
+                for (int i = 2; i < parts.length; i++) {
+                    String value = parts[i].trim();
+                    values[i - 2] = "MAX".equalsIgnoreCase(value) ? Double.MAX_VALUE : Double.parseDouble(value);
+                }
+                rowsByVersion.computeIfAbsent(effective, d -> new EnumMap<>(Table.class))
+                        .computeIfAbsent(table, t -> new ArrayList<>())
+                        .add(values);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        // Each version starts from the previous one, so it only has to list the tables that changed
+        List<ContributionSchedule> versions = new ArrayList<>();
+        Map<Table, double[][]> inherited = new EnumMap<>(Table.class);
+        for (Map.Entry<LocalDate, Map<Table, List<double[]>>> version : rowsByVersion.entrySet()) {
+            for (Map.Entry<Table, List<double[]>> table : version.getValue().entrySet()) {
+                inherited.put(table.getKey(), table.getValue().toArray(new double[0][]));
+            }
+            for (Table required : Table.values()) {
+                if (!inherited.containsKey(required)) {
+                    throw new IllegalArgumentException("Schedule effective " + version.getKey()
+                            + " is missing the " + required + " table");
+                }
+            }
+            double[][] pagIbigMax = inherited.get(Table.PAGIBIG_MAX);
+            if (pagIbigMax.length != 1 || pagIbigMax[0].length != 1) {
+                throw new IllegalArgumentException("Schedule effective " + version.getKey()
+                        + " must have exactly one PAGIBIG_MAX value");
+            }
+            versions.add(new ContributionSchedule(version.getKey().toString(), version.getKey(),
+                    inherited.get(Table.SSS), inherited.get(Table.PHILHEALTH), inherited.get(Table.PAGIBIG),
+                    pagIbigMax[0][0], inherited.get(Table.TAX)));
+        }
+
+        if (versions.isEmpty()) {
+            throw new IllegalArgumentException("Schedule file contains no versions");
+        }
+        return versions;
+    }
+
+    private static NavigableMap<LocalDate, ContributionSchedule> builtInOnly() {
+        NavigableMap<LocalDate, ContributionSchedule> map = new TreeMap<>();
+        map.put(ContributionSchedule.builtIn().getEffectiveFrom(), ContributionSchedule.builtIn());
+        return Collections.unmodifiableNavigableMap(map);
+    }
+}
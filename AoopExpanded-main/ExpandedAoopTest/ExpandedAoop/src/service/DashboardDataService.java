@@ -0,0 +1,301 @@
+package service;
+
+import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import model.Attendance;
+import model.Employee;
+import service.PayrollCalculator.PayrollData;
+import util.DataChangeNotifier;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background data loading for the dashboards. The employee list is fetched once and
+ * shared by every tab, payroll is calculated once per period, and all database and
+ * calculation work runs on a small worker pool instead of the Event Dispatch Thread.
+ * Results are returned as futures; callers hand them back to Swing themselves.
+ * Shared results are dropped when a DAO reports that the underlying rows changed.
+ */
+public class DashboardDataService {
+    private static final Logger LOGGER = Logger.getLogger(DashboardDataService.class.getName());
+
+    private static final int WORKER_THREADS = 2;
+    private static final int MAX_CACHED_PERIODS = 4;
+
+    private final EmployeeDAO employeeDAO;
+    private final AttendanceDAO attendanceDAO;
+    private final PayrollCalculator payrollCalculator;
+    private final ExecutorService executor;
+    private final DataChangeNotifier.DataChangeListener changeListener;
+
+    // Guarded by this
+    private CompletableFuture<List<Employee>> employees;
+    private CompletableFuture<EmployeeSearchIndex> searchIndex;
+    private final Map<Period, CompletableFuture<Map<Integer, PayrollData>>> payrollByPeriod =
+            new LinkedHashMap<Period, CompletableFuture<Map<Integer, PayrollData>>>(8, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Period, CompletableFuture<Map<Integer, PayrollData>>> eldest) {
+                    return size() > MAX_CACHED_PERIODS;
+                }
+            };
+
+    public DashboardDataService() {
+        this.employeeDAO = new EmployeeDAO();
+        this.attendanceDAO = new AttendanceDAO();
+        this.payrollCalculator = new PayrollCalculator();
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(WORKER_THREADS, r -> {
+            Thread t = new Thread(r, "motorph-dashboard-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.changeListener = new DataChangeNotifier.DataChangeListener() {
+            @Override
+            public void employeeDataChanged(int employeeId, LocalDate from, LocalDate to) {
+                invalidate(from, to, from == null && to == null);
+                if (from == null && to == null) {
+                    updateSearchIndex(employeeId);
+                }
+            }
+
+            @Override
+            public void positionChanged(int positionId) {
+                invalidate(null, null, true);
+                synchronized (DashboardDataService.this) {
+                    // Position titles are indexed, so rebuild on next use
+                    searchIndex = null;
+                }
+            }
+        };
+        DataChangeNotifier.addListener(changeListener);
+    }
+
+    /**
+     * All employees, fetched once and shared until {@link #refreshEmployees()} or a change notification
+     */
+    public synchronized CompletableFuture<List<Employee>> getEmployees() {
+        if (employees == null) {
+            CompletableFuture<List<Employee>> future = CompletableFuture.supplyAsync(() -> {
+                long start = System.currentTimeMillis();
+                List<Employee> list = Collections.unmodifiableList(employeeDAO.getAllEmployees());
+                LOGGER.fine("Loaded " + list.size() + " employees in " + (System.currentTimeMillis() - start) + " ms");
+                return list;
+            }, executor);
+            employees = future;
+            forgetOnFailure(future, () -> {
+                if (employees == future) {
+                    employees = null;
+                }
+            });
+        }
+        return employees;
+    }
+
+    /**
+     * Drop the shared employee list and all payroll results and fetch the employees again
+     */
+    public CompletableFuture<List<Employee>> refreshEmployees() {
+        synchronized (this) {
+            employees = null;
+            searchIndex = null;
+            payrollByPeriod.clear();
+        }
+        return getEmployees();
+    }
+
+    /**
+     * Search index over all employees, built once from the shared employee list and then
+     * updated one employee at a time as employee records are written
+     */
+    public synchronized CompletableFuture<EmployeeSearchIndex> getSearchIndex() {
+        if (searchIndex == null) {
+            CompletableFuture<EmployeeSearchIndex> future = getEmployees().thenApplyAsync(list -> {
+                long start = System.nanoTime();
+                EmployeeSearchIndex index = new EmployeeSearchIndex(list);
+                LOGGER.fine("Indexed " + index.size() + " employees in " + (System.nanoTime() - start) / 1000 + " µs");
+                return index;
+            }, executor);
+            searchIndex = future;
+            forgetOnFailure(future, () -> {
+                if (searchIndex == future) {
+                    searchIndex = null;
+                }
+            });
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Payroll for every employee in the period, calculated once and shared
+     */
+    public synchronized CompletableFuture<Map<Integer, PayrollData>> getPayroll(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period dates cannot be null");
+        }
+        Period period = new Period(periodStart, periodEnd);
+        CompletableFuture<Map<Integer, PayrollData>> future = payrollByPeriod.get(period);
+        if (future == null) {
+            CompletableFuture<Map<Integer, PayrollData>> created = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return Collections.unmodifiableMap(payrollCalculator.calculatePayrollForPeriod(periodStart, periodEnd));
+                } catch (PayrollCalculator.PayrollCalculationException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+            payrollByPeriod.put(period, created);
+            forgetOnFailure(created, () -> payrollByPeriod.remove(period, created));
+            future = created;
+        }
+        return future;
+    }
+
+    /**
+     * Payroll of one employee in the period, calculated in the background.
+     * Results are kept by the shared payroll cache, so asking again is cheap.
+     */
+    public CompletableFuture<PayrollData> getPayroll(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd);
+            } catch (PayrollCalculator.PayrollCalculationException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Keep payroll calculated elsewhere, such as a Calculate All run, as the shared result
+     * for the period so the next table load does not calculate it again
+     */
+    public synchronized void putPayroll(LocalDate periodStart, LocalDate periodEnd, Map<Integer, PayrollData> payroll) {
+        if (periodStart == null || periodEnd == null || payroll == null) {
+            throw new IllegalArgumentException("Period dates and payroll cannot be null");
+        }
+        payrollByPeriod.put(new Period(periodStart, periodEnd),
+                CompletableFuture.completedFuture(Collections.unmodifiableMap(new TreeMap<>(payroll))));
+    }
+
+    /**
+     * Whether payroll for the period is already calculated or being calculated
+     */
+    public synchronized boolean hasPayroll(LocalDate periodStart, LocalDate periodEnd) {
+        return payrollByPeriod.containsKey(new Period(periodStart, periodEnd));
+    }
+
+    /**
+     * One employee with all details, loaded in the background; null if there is no such employee
+     */
+    public CompletableFuture<Employee> getEmployee(int employeeId) {
+        return CompletableFuture.supplyAsync(() -> employeeDAO.getEmployeeById(employeeId), executor);
+    }
+
+    /**
+     * Attendance records of one employee, loaded in the background
+     */
+    public CompletableFuture<List<Attendance>> getAttendance(int employeeId) {
+        return CompletableFuture.supplyAsync(() -> attendanceDAO.getAttendanceByEmployeeId(employeeId), executor);
+    }
+
+    /**
+     * The worker pool, for other dashboard loads that should share it
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Stop listening for changes and release the worker threads
+     */
+    public void shutdown() {
+        DataChangeNotifier.removeListener(changeListener);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Re-read one employee into the search index in the background; the notification
+     * arrives on the writing thread, which must not wait for the query
+     */
+    private synchronized void updateSearchIndex(int employeeId) {
+        CompletableFuture<EmployeeSearchIndex> current = searchIndex;
+        if (current == null) {
+            return;
+        }
+        current.thenAcceptAsync(index -> {
+            // Same joined row as getAllEmployees, so salary and position title are filled in
+            Employee employee = employeeDAO.getEmployeesByIds(Collections.singletonList(employeeId)).get(employeeId);
+            if (employee != null) {
+                index.put(employee);
+            } else {
+                index.remove(employeeId);
+            }
+        }, executor).exceptionally(error -> {
+            LOGGER.log(Level.WARNING, "Could not update search index for employee " + employeeId, error);
+            synchronized (this) {
+                if (searchIndex == current) {
+                    searchIndex = null;
+                }
+            }
+            return null;
+        });
+    }
+
+    private void forgetOnFailure(CompletableFuture<?> future, Runnable forget) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                synchronized (this) {
+                    forget.run();
+                }
+            }
+        });
+    }
+
+    private synchronized void invalidate(LocalDate from, LocalDate to, boolean includeEmployees) {
+        if (includeEmployees) {
+            employees = null;
+        }
+        payrollByPeriod.keySet().removeIf(period -> period.overlaps(from, to));
+    }
+
+    private static final class Period {
+        final LocalDate start;
+        final LocalDate end;
+
+        Period(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return (from == null || !end.isBefore(from)) && (to == null || !start.isAfter(to));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Period)) return false;
+            Period other = (Period) o;
+            return Objects.equals(start, other.start) && Objects.equals(end, other.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package service;
+
+import model.Employee;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory search over employee ID, names, position and government numbers.
+ * Every field value is split into trigrams for substring queries and into words for
+ * short prefix queries, so a keystroke query only touches the employees that can match
+ * instead of scanning the table with LIKE '%x%'. Results are ranked: exact matches
+ * before prefix matches before other substrings, and names and IDs before positions
+ * and government numbers. Kept current with {@link #put} and {@link #remove}.
+ */
+public class EmployeeSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int EXACT_SCORE = 100;
+    private static final int PREFIX_SCORE = 50;
+    private static final int SUBSTRING_SCORE = 10;
+
+    private enum Field {
+        ID(5), LAST_NAME(4), FIRST_NAME(4), FULL_NAME(3), POSITION(2), GOVERNMENT_NUMBER(1);
+
+        final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final class Entry {
+        final Employee employee;
+        final Map<Field, List<String>> values = new HashMap<>();
+
+        Entry(Employee employee) {
+            this.employee = employee;
+        }
+
+        void add(Field field, String raw) {
+            String value = normalize(raw);
+            if (!value.isEmpty()) {
+                values.computeIfAbsent(field, f -> new ArrayList<>()).add(value);
+            }
+        }
+
+        Set<String> allValues() {
+            Set<String> all = new HashSet<>();
+            values.values().forEach(all::addAll);
+            return all;
+        }
+    }
+
+    private static final Comparator<Employee> BY_NAME = Comparator
+            .comparing((Employee e) -> normalize(e.getLastName()))
+            .thenComparing(e -> normalize(e.getFirstName()))
+            .thenComparingInt(Employee::getEmployeeId);
+
+    // Guarded by this
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> grams = new HashMap<>();
+    private final NavigableMap<String, Set<Integer>> words = new TreeMap<>();
+
+    public EmployeeSearchIndex() {
+    }
+
+    public EmployeeSearchIndex(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            put(employee);
+        }
+    }
+
+    /**
+     * Add an employee or replace the indexed copy with the same ID
+     */
+    public synchronized void put(Employee employee) {
+        if (employee == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        remove(employee.getEmployeeId());
+
+        Entry entry = new Entry(employee);
+        entry.add(Field.ID, String.valueOf(employee.getEmployeeId()));
+        entry.add(Field.LAST_NAME, employee.getLastName());
+        entry.add(Field.FIRST_NAME, employee.getFirstName());
+        entry.add(Field.FULL_NAME, employee.getFirstName() + " " + employee.getLastName());
+        entry.add(Field.POSITION, employee.getPosition());
+        for (String number : new String[]{employee.getSssNumber(), employee.getPhilhealthNumber(),
+                employee.getTinNumber(), employee.getPagibigNumber()}) {
+            if (number != null) {
+                entry.add(Field.GOVERNMENT_NUMBER, number);
+                // Also without dashes, so typing only the digits matches
+                entry.add(Field.GOVERNMENT_NUMBER, number.replaceAll("[^0-9A-Za-z]", ""));
+            }
+        }
+
+        int id = employee.getEmployeeId();
+        entries.put(id, entry);
+        for (String value : entry.allValues()) {
+            for (String gram : gramsOf(value)) {
+                grams.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+            for (String word : wordsOf(value)) {
+                words.computeIfAbsent(word, w -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Drop an employee from the index; does nothing if it is not indexed
+     */
+    public synchronized void remove(int employeeId) {
+        Entry entry = entries.remove(employeeId);
+        if (entry == null) {
+            return;
+        }
+        for (String value : entry.allValues()) {
+            for (String gram : gramsOf(value)) {
+                removePosting(grams, gram, employeeId);
+            }
+            for (String word : wordsOf(value)) {
+                removePosting(words, word, employeeId);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Employees matching every word of the query, best match first
+     * @param query words to look for anywhere in ID, names, position or government numbers
+     * @param limit maximum number of results, or 0 for all
+     */
+    public synchronized List<Employee> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : normalize(query).split("\\s+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Integer> candidates = null;
+        for (String term : terms) {
+            Set<Integer> matches = candidatesFor(term);
+            if (candidates == null) {
+                candidates = new HashSet<>(matches);
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<Employee> results = new ArrayList<>();
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Integer id : candidates) {
+            Entry entry = entries.get(id);
+            int total = 0;
+            for (String term : terms) {
+                int score = score(entry, term);
+                if (score == 0) {
+                    // Trigrams matched but not as one substring
+                    total = 0;
+                    break;
+                }
+                total += score;
+            }
+            if (total > 0) {
+                scores.put(id, total);
+                results.add(entry.employee);
+            }
+        }
+
+        results.sort(Comparator.comparingInt((Employee e) -> scores.get(e.getEmployeeId())).reversed()
+                .thenComparing(BY_NAME));
+        return limit > 0 && results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    private Set<Integer> candidatesFor(String term) {
+        if (term.length() < GRAM_LENGTH) {
+            // Too short for trigrams: employees with a word starting with the term
+            Set<Integer> ids = new HashSet<>();
+            for (Set<Integer> posting : words.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+                ids.addAll(posting);
+            }
+            return ids;
+        }
+
+        Set<Integer> result = null;
+        for (String gram : gramsOf(term)) {
+            Set<Integer> posting = grams.get(gram);
+            if (posting == null) {
+                return new HashSet<>();
+            }
+            if (result == null || posting.size() < result.size()) {
+                // Intersect starting from the rarest gram
+                Set<Integer> smaller = new HashSet<>(posting);
+                if (result != null) {
+                    smaller.retainAll(result);
+                }
+                result = smaller;
+            } else {
+                result.retainAll(posting);
+            }
+        }
+        return result;
+    }
+
+    private static int score(Entry entry, String term) {
+        int best = 0;
+        for (Map.Entry<Field, List<String>> field : entry.values.entrySet()) {
+            for (String value : field.getValue()) {
+                int score;
+                if (value.equals(term)) {
+                    score = EXACT_SCORE;
+                } else if (value.startsWith(term) || value.contains(" " + term)) {
+                    score = PREFIX_SCORE;
+                } else if (value.contains(term)) {
+                    score = SUBSTRING_SCORE;
+                } else {
+                    continue;
+                }
+                best = Math.max(best, score * field.getKey().weight);
+            }
+        }
+        return best;
+    }
+
+    private static Set<String> gramsOf(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private static Set<String> wordsOf(String value) {
+        Set<String> result = new HashSet<>();
+        result.add(value);
+        for (String word : value.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    private static void removePosting(Map<String, Set<Integer>> postings, String key, int employeeId) {
+        Set<Integer> posting = postings.get(key);
+        if (posting != null) {
+            posting.remove(employeeId);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,7 +2,7 @@ package service;
 
 import dao.EmployeeDAO;
 import dao.CredentialsDAO;
-import dao.PositionDAO;
+import dao.PositionCache;
 import model.Employee;
 import model.Position;
 import java.util.List;
@@ -17,12 +17,10 @@ public class EmployeeService {
 
     private final EmployeeDAO employeeDAO;
     private final CredentialsDAO credentialsDAO;
-    private final PositionDAO positionDAO;
 
     public EmployeeService() {
         this.employeeDAO = new EmployeeDAO();
         this.credentialsDAO = new CredentialsDAO();
-        this.positionDAO = new PositionDAO();
     }
 
     /**
@@ -155,11 +153,11 @@ public class EmployeeService {
     }
 
     /**
-     * Get all positions
+     * Get all positions, ordered by title, from the shared position cache
      */
     public List<Position> getAllPositions() {
         try {
-            return positionDAO.getAllPositions();
+            return PositionCache.getInstance().getAll();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error retrieving positions", e);
             throw new RuntimeException("Failed to retrieve positions", e);
@@ -2,12 +2,12 @@ package service;
 
 import dao.EmployeeDAO;
 import model.Employee;
+import reports.ReportTemplateCache;
 import service.PayrollCalculator.PayrollData;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import net.sf.jasperreports.engine.export.JRPdfExporter;
 import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
-import net.sf.jasperreports.engine.util.JRLoader;
 import net.sf.jasperreports.export.SimpleExporterInput;
 import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
 import net.sf.jasperreports.export.SimplePdfExporterConfiguration;
@@ -15,6 +15,9 @@ import net.sf.jasperreports.export.SimpleXlsxReportConfiguration;
 
 import java.io.*;
 import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.sql.Date;
@@ -29,13 +32,13 @@ public class JasperPayslipService {
     private static final Logger LOGGER = Logger.getLogger(JasperPayslipService.class.getName());
 
     // Template paths
-    private static final String PAYSLIP_TEMPLATE = "/motorph_payslip.jrxml";
-    private static final String COMPILED_PAYSLIP = "/reports/motorph_payslip.jasper";
-    private static final String COMPANY_LOGO = "/images/motorph_logo.png";
+    static final String PAYSLIP_TEMPLATE = "/motorph_payslip.jrxml";
+    static final String COMPANY_LOGO = "/images/motorph_logo.png";
 
     // Services
     private final EmployeeDAO employeeDAO;
     private final PayrollCalculator payrollCalculator;
+    private final ReportTemplateCache templateCache;
 
     // Export formats
     public enum ExportFormat {
@@ -60,6 +63,7 @@ public class JasperPayslipService {
     public JasperPayslipService() throws JasperReportException {
         this.employeeDAO = new EmployeeDAO();
         this.payrollCalculator = new PayrollCalculator();
+        this.templateCache = ReportTemplateCache.getInstance();
         validateEnvironment();
         LOGGER.info("JasperPayslipService initialized successfully");
     }
@@ -70,16 +74,104 @@ public class JasperPayslipService {
     public byte[] generatePayslipReport(int employeeId, java.time.LocalDate periodStart,
                                         java.time.LocalDate periodEnd, ExportFormat format)
             throws JasperReportException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generatePayslipReport(employeeId, periodStart, periodEnd, format, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Generate payslip report straight into a stream, e.g. a file or socket.
+     * The document is not buffered in memory and the stream is left open.
+     */
+    public void generatePayslipReport(int employeeId, java.time.LocalDate periodStart,
+                                      java.time.LocalDate periodEnd, ExportFormat format, OutputStream out)
+            throws JasperReportException {
+        writePayslip(loadEmployee(employeeId), periodStart, periodEnd, format, out);
+    }
 
+    /**
+     * Generate payslip report into a channel; the channel is left open.
+     * The channel must be in blocking mode: writes to a non-blocking channel, such as a
+     * SocketChannel registered with a selector, fail with IllegalBlockingModeException.
+     */
+    public void generatePayslipReport(int employeeId, java.time.LocalDate periodStart,
+                                      java.time.LocalDate periodEnd, ExportFormat format,
+                                      WritableByteChannel channel)
+            throws JasperReportException {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("Channel must be in blocking mode");
+        }
+        // The exporters write in small pieces; buffer them so each channel write is a large one.
+        // Flushed but not closed, since closing the stream would close the channel.
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+        generatePayslipReport(employeeId, periodStart, periodEnd, format, out);
         try {
-            LOGGER.info(String.format("Generating %s payslip for employee %d from %s to %s",
-                    format.name(), employeeId, periodStart, periodEnd));
+            out.flush();
+        } catch (IOException e) {
+            throw new JasperReportException("Failed to write payslip to channel: " + e.getMessage(), e);
+        }
+    }
 
-            // Get employee information
-            Employee employee = employeeDAO.getEmployeeWithPositionDetails(employeeId);
-            if (employee == null) {
-                throw new JasperReportException("Employee not found with ID: " + employeeId);
+    /**
+     * Generate payslip and save to file
+     */
+    public File generatePayslipToFile(int employeeId, java.time.LocalDate periodStart,
+                                      java.time.LocalDate periodEnd, ExportFormat format, String outputDir)
+            throws JasperReportException {
+
+        Employee employee = loadEmployee(employeeId);
+        String employeeName = employee.getLastName() != null ? employee.getLastName() : "Unknown";
+
+        // Create filename
+        String filename = payslipFileName(employeeName, employeeId, periodStart, format);
+
+        // Ensure output directory exists
+        File outputDirectory = new File(outputDir);
+        if (!outputDirectory.exists()) {
+            boolean created = outputDirectory.mkdirs();
+            if (!created) {
+                throw new JasperReportException("Failed to create output directory: " + outputDir);
+            }
+        }
+
+        // Export straight to the file
+        File outputFile = new File(outputDirectory, filename);
+        boolean written = false;
+        try (OutputStream fos = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+            writePayslip(employee, periodStart, periodEnd, format, fos);
+            written = true;
+        } catch (IOException e) {
+            throw new JasperReportException("Failed to save payslip to file: " + e.getMessage(), e);
+        } finally {
+            if (!written && outputFile.exists() && !outputFile.delete()) {
+                LOGGER.warning("Failed to delete incomplete payslip " + outputFile.getAbsolutePath());
             }
+        }
+
+        LOGGER.info(String.format("MotorPH Payslip saved to: %s", outputFile.getAbsolutePath()));
+        return outputFile;
+    }
+
+    private Employee loadEmployee(int employeeId) throws JasperReportException {
+        Employee employee = employeeDAO.getEmployeeWithPositionDetails(employeeId);
+        if (employee == null) {
+            throw new JasperReportException("Employee not found with ID: " + employeeId);
+        }
+        return employee;
+    }
+
+    private void writePayslip(Employee employee, java.time.LocalDate periodStart, java.time.LocalDate periodEnd,
+                              ExportFormat format, OutputStream out) throws JasperReportException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        int employeeId = employee.getId();
+        try {
+            LOGGER.info(String.format("Generating %s payslip for employee %d from %s to %s",
+                    format.name(), employeeId, periodStart, periodEnd));
 
             // Calculate payroll data
             PayrollData payrollData = payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd);
@@ -92,12 +184,12 @@ public class JasperPayslipService {
             // Prepare parameters
             Map<String, Object> parameters = createReportParameters(employee, payrollData);
 
-            // Compile and fill report
+            // Fill the cached compiled report
             JasperReport jasperReport = getCompiledReport();
             JasperPrint jasperPrint = JasperFillManager.fillReport(jasperReport, parameters, dataSource);
 
             // Export based on format
-            return exportReport(jasperPrint, format);
+            exportReport(jasperPrint, format, out);
 
         } catch (PayrollCalculator.PayrollCalculationException e) {
             LOGGER.log(Level.SEVERE, "Payroll calculation failed", e);
@@ -109,53 +201,21 @@ public class JasperPayslipService {
     }
 
     /**
-     * Generate payslip and save to file
+     * File name used for saved payslips, e.g. MotorPH_Payslip_Garcia_10001_2024_06.pdf
      */
-    public File generatePayslipToFile(int employeeId, java.time.LocalDate periodStart,
-                                      java.time.LocalDate periodEnd, ExportFormat format, String outputDir)
-            throws JasperReportException {
-
-        try {
-            byte[] reportData = generatePayslipReport(employeeId, periodStart, periodEnd, format);
-
-            // Get employee for filename
-            Employee employee = employeeDAO.getEmployeeById(employeeId);
-            String employeeName = employee != null ? employee.getLastName() : "Unknown";
-
-            // Create filename
-            String filename = String.format("MotorPH_Payslip_%s_%d_%s.%s",
-                    employeeName.replaceAll("\\s+", ""),
-                    employeeId,
-                    periodStart.format(DateTimeFormatter.ofPattern("yyyy_MM")),
-                    format.getExtension());
-
-            // Ensure output directory exists
-            File outputDirectory = new File(outputDir);
-            if (!outputDirectory.exists()) {
-                boolean created = outputDirectory.mkdirs();
-                if (!created) {
-                    throw new JasperReportException("Failed to create output directory: " + outputDir);
-                }
-            }
-
-            // Write file
-            File outputFile = new File(outputDirectory, filename);
-            try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-                fos.write(reportData);
-            }
-
-            LOGGER.info(String.format("MotorPH Payslip saved to: %s", outputFile.getAbsolutePath()));
-            return outputFile;
-
-        } catch (IOException e) {
-            throw new JasperReportException("Failed to save payslip to file: " + e.getMessage(), e);
-        }
+    static String payslipFileName(String lastName, int employeeId, java.time.LocalDate periodStart,
+                                  ExportFormat format) {
+        return String.format("MotorPH_Payslip_%s_%d_%s.%s",
+                lastName.replaceAll("\\s+", ""),
+                employeeId,
+                periodStart.format(DateTimeFormatter.ofPattern("yyyy_MM")),
+                format.getExtension());
     }
 
     /**
      * Create payslip data object matching the JRXML template
      */
-    private PayslipData createPayslipData(Employee employee, PayrollData payrollData) {
+    PayslipData createPayslipData(Employee employee, PayrollData payrollData) {
         PayslipData data = new PayslipData();
 
         // Employee information
@@ -218,7 +278,7 @@ public class JasperPayslipService {
     /**
      * Create report parameters
      */
-    private Map<String, Object> createReportParameters(Employee employee, PayrollData payrollData) {
+    Map<String, Object> createReportParameters(Employee employee, PayrollData payrollData) {
         Map<String, Object> parameters = new HashMap<>();
 
         // MotorPH Company Information
@@ -227,14 +287,8 @@ public class JasperPayslipService {
         parameters.put("COMPANY_PHONE", "Phone: (028) 911-5071 / (028) 911-5072 / (028) 911-5073");
         parameters.put("COMPANY_EMAIL", "Email: corporate@motorph.com");
 
-        // Handle logo loading
-        InputStream logoStream = getClass().getResourceAsStream(COMPANY_LOGO);
-        if (logoStream != null) {
-            parameters.put("COMPANY_LOGO", logoStream);
-        } else {
-            LOGGER.warning("MotorPH logo not found, report will generate without logo");
-            parameters.put("COMPANY_LOGO", null);
-        }
+        // Logo is decoded once and shared; the template shows an icon when it is missing
+        parameters.put("COMPANY_LOGO", templateCache.getImage(COMPANY_LOGO));
 
         parameters.put("REPORT_TITLE", "EMPLOYEE PAYSLIP");
         parameters.put("GENERATED_BY", "MotorPH Payroll System");
@@ -266,51 +320,16 @@ public class JasperPayslipService {
     }
 
     /**
-     * Get compiled JasperReport
+     * Get compiled JasperReport, loaded once per template change
      */
-    private JasperReport getCompiledReport() throws JRException {
-        // Try to load pre-compiled report first
-        InputStream compiledStream = getClass().getResourceAsStream(COMPILED_PAYSLIP);
-
-        if (compiledStream != null) {
-            try {
-                LOGGER.info("Loading pre-compiled MotorPH report: " + COMPILED_PAYSLIP);
-                return (JasperReport) JRLoader.loadObject(compiledStream);
-            } catch (JRException e) {
-                LOGGER.warning("Failed to load pre-compiled report, will compile from JRXML: " + e.getMessage());
-            } finally {
-                try {
-                    compiledStream.close();
-                } catch (IOException e) {
-                    LOGGER.warning("Failed to close compiled report stream: " + e.getMessage());
-                }
-            }
-        }
-
-        // Compile from JRXML
-        InputStream jrxmlStream = getClass().getResourceAsStream(PAYSLIP_TEMPLATE);
-        if (jrxmlStream == null) {
-            throw new JRException("MotorPH template not found: " + PAYSLIP_TEMPLATE);
-        }
-
-        try {
-            LOGGER.info("Compiling MotorPH JRXML template: " + PAYSLIP_TEMPLATE);
-            return JasperCompileManager.compileReport(jrxmlStream);
-        } finally {
-            try {
-                jrxmlStream.close();
-            } catch (IOException e) {
-                LOGGER.warning("Failed to close JRXML stream: " + e.getMessage());
-            }
-        }
+    JasperReport getCompiledReport() throws JRException {
+        return templateCache.getReport(PAYSLIP_TEMPLATE);
     }
 
     /**
-     * Export report based on format
+     * Export a filled report into the given stream as it is rendered; the stream is flushed but left open
      */
-    private byte[] exportReport(JasperPrint jasperPrint, ExportFormat format) throws JRException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
+    public void exportReport(JasperPrint jasperPrint, ExportFormat format, OutputStream outputStream) throws JRException {
         switch (format) {
             case PDF:
                 JRPdfExporter pdfExporter = new JRPdfExporter();
@@ -344,7 +363,11 @@ public class JasperPayslipService {
                 throw new JRException("Unsupported export format: " + format);
         }
 
-        return outputStream.toByteArray();
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new JRException("Failed to write report: " + e.getMessage(), e);
+        }
     }
 
     /**
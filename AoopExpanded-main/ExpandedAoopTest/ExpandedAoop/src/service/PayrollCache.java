@@ -0,0 +1,187 @@
+package service;
+
+import service.PayrollCalculator.PayrollData;
+import util.DataChangeNotifier;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Bounded LRU cache of calculated payroll keyed by employee and period.
+ * Entries are dropped when a DAO reports a write to that employee's attendance, leaves
+ * or employee record within the period, or to the position the payroll was based on.
+ * Cached PayrollData instances are shared and should be treated as read-only.
+ */
+public class PayrollCache implements DataChangeNotifier.DataChangeListener {
+    private static final Logger LOGGER = Logger.getLogger(PayrollCache.class.getName());
+
+    private static final int DEFAULT_MAX_ENTRIES = 5000;
+
+    private static volatile PayrollCache instance;
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    // Bumped on every invalidation so calculations that raced a write do not cache stale results
+    private long generation = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /**
+     * Shared cache used by every PayrollCalculator; size from -Dmotorph.payroll.cache.maxEntries (0 disables)
+     */
+    public static PayrollCache getInstance() {
+        PayrollCache current = instance;
+        if (current == null) {
+            synchronized (PayrollCache.class) {
+                current = instance;
+                if (current == null) {
+                    current = new PayrollCache(Integer.getInteger("motorph.payroll.cache.maxEntries", DEFAULT_MAX_ENTRIES));
+                    DataChangeNotifier.addListener(current);
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public PayrollCache(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Max entries cannot be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > PayrollCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached payroll for the employee and period, or null on a miss
+     */
+    public synchronized PayrollData get(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        Entry entry = entries.get(new Key(employeeId, periodStart, periodEnd));
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.data;
+    }
+
+    /**
+     * Generation to capture before loading data for a later {@link #put}
+     */
+    public synchronized long currentGeneration() {
+        return generation;
+    }
+
+    /**
+     * Cache a result unless an invalidation happened after {@code loadGeneration} was captured
+     */
+    public synchronized void put(PayrollData data, int positionId, long loadGeneration) {
+        if (maxEntries == 0 || data == null || loadGeneration != generation) {
+            return;
+        }
+        entries.put(new Key(data.getEmployeeId(), data.getPeriodStart(), data.getPeriodEnd()),
+                new Entry(data, positionId));
+    }
+
+    @Override
+    public synchronized void employeeDataChanged(int employeeId, LocalDate from, LocalDate to) {
+        generation++;
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Key key = it.next().getKey();
+            if (key.employeeId == employeeId && key.overlaps(from, to)) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void positionChanged(int positionId) {
+        generation++;
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().positionId == positionId) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+        LOGGER.fine("Payroll cache cleared");
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getInvalidations() { return invalidations; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("PayrollCache{size=%d/%d, hits=%d, misses=%d, evictions=%d, invalidations=%d}",
+                entries.size(), maxEntries, hits, misses, evictions, invalidations);
+    }
+
+    private static final class Key {
+        private final int employeeId;
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+
+        Key(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+            this.employeeId = employeeId;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+        }
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return (from == null || !periodEnd.isBefore(from)) && (to == null || !periodStart.isAfter(to));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return employeeId == other.employeeId
+                    && periodStart.equals(other.periodStart)
+                    && periodEnd.equals(other.periodEnd);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, periodStart, periodEnd);
+        }
+    }
+
+    private static final class Entry {
+        private final PayrollData data;
+        private final int positionId;
+
+        Entry(PayrollData data, int positionId) {
+            this.data = data;
+            this.positionId = positionId;
+        }
+    }
+}
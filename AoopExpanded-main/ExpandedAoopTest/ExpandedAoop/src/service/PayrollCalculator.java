@@ -3,17 +3,24 @@ package service;
 import dao.AttendanceDAO;
 import dao.EmployeeDAO;
 import dao.LeaveRequestDAO;
+import dao.PositionCache;
 import dao.PositionDAO;
 import model.Attendance;
 import model.Employee;
 import model.LeaveRequest;
 import model.Position;
+import model.ContributionSchedule;
 import model.GovernmentContribution;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,12 +43,18 @@ public class PayrollCalculator {
     private final AttendanceDAO attendanceDAO;
     private final LeaveRequestDAO leaveDAO;
     private final PositionDAO positionDAO;
+    private final PositionCache positions;
+    private final PayrollCache cache;
+    private final ContributionScheduleRegistry schedules;
 
     public PayrollCalculator() {
         this.employeeDAO = new EmployeeDAO();
         this.attendanceDAO = new AttendanceDAO();
         this.leaveDAO = new LeaveRequestDAO();
         this.positionDAO = new PositionDAO();
+        this.positions = PositionCache.getInstance();
+        this.cache = PayrollCache.getInstance();
+        this.schedules = ContributionScheduleRegistry.getInstance();
     }
 
     /**
@@ -54,46 +67,38 @@ public class PayrollCalculator {
         try {
             validateInputs(employeeId, periodStart, periodEnd);
 
+            PayrollData cached = cache.get(employeeId, periodStart, periodEnd);
+            if (cached != null) {
+                return cached;
+            }
+            long cacheGeneration = cache.currentGeneration();
+
             // Get employee with position details
             Employee employee = employeeDAO.getEmployeeWithPositionDetails(employeeId);
             if (employee == null) {
                 throw new PayrollCalculationException("Employee not found with ID: " + employeeId);
             }
 
-            // Get position details
-            Position position = positionDAO.getPositionById(employee.getPositionId());
+            // Position details come from the shared reference cache
+            Position position = positions.getById(employee.getPositionId());
             if (position == null) {
                 throw new PayrollCalculationException("Position not found for employee: " + employeeId);
             }
 
-            // Create payroll data object
-            PayrollData payrollData = new PayrollData();
-            payrollData.setEmployeeId(employeeId);
-            payrollData.setPeriodStart(periodStart);
-            payrollData.setPeriodEnd(periodEnd);
-            payrollData.setMonthlyRate(position.getMonthlySalary());
-            payrollData.setDailyRate(position.getDailyRate());
-
-            // Calculate attendance-based earnings
-            calculateAttendanceBasedEarnings(payrollData, employeeId, periodStart, periodEnd);
-
-            // Set allowances from position
-            payrollData.setRiceSubsidy(position.getRiceSubsidy());
-            payrollData.setPhoneAllowance(position.getPhoneAllowance());
-            payrollData.setClothingAllowance(position.getClothingAllowance());
-
-            // Calculate time-based deductions
-            calculateTimeBasedDeductions(payrollData, employeeId, periodStart, periodEnd);
-
-            // Calculate government contributions
-            calculateGovernmentContributions(payrollData, position.getMonthlySalary());
+            // Attendance is fetched once and shared by the earnings and deduction rules
+            List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
+                    employeeId, periodStart, periodEnd);
+            List<LeaveRequest> approvedLeaves = loadApprovedLeaves(employeeId, periodStart, periodEnd);
 
-            // Calculate totals
-            calculateTotals(payrollData);
+            PayrollData payrollData = computePayroll(employeeId, position, attendanceList, approvedLeaves,
+                    periodStart, periodEnd);
 
+            LOGGER.info(String.format("Employee %d worked %d days, %.2f hours",
+                    employeeId, payrollData.getDaysWorked(), payrollData.getTotalHours()));
             LOGGER.info(String.format("Payroll calculated for employee %d: Net Pay = %.2f",
                     employeeId, payrollData.getNetPay()));
 
+            cache.put(payrollData, position.getPositionId(), cacheGeneration);
             return payrollData;
 
         } catch (Exception e) {
@@ -103,14 +108,103 @@ public class PayrollCalculator {
     }
 
     /**
-     * Calculate attendance-based earnings
+     * Calculate payroll for every employee in one period using a fixed number of queries.
+     * Employees, positions, attendance and approved leaves are each loaded with a single
+     * range query, grouped in memory and run through the same rules as calculatePayroll.
+     * @return payroll data keyed by employee ID, in employee ID order
      */
-    private void calculateAttendanceBasedEarnings(PayrollData payrollData, int employeeId,
-                                                  LocalDate periodStart, LocalDate periodEnd) {
+    public Map<Integer, PayrollData> calculatePayrollForPeriod(LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+
+        try {
+            validatePeriod(periodStart, periodEnd);
+            long started = System.currentTimeMillis();
+            long cacheGeneration = cache.currentGeneration();
+
+            Map<Integer, Position> positionsByEmployee = positionDAO.getPositionsByEmployee();
+            Map<Integer, List<Attendance>> attendanceByEmployee =
+                    groupByEmployee(attendanceDAO.getAttendanceBetweenDates(periodStart, periodEnd));
+            Map<Integer, List<LeaveRequest>> leavesByEmployee = loadApprovedLeavesByEmployee(periodStart, periodEnd);
+
+            Map<Integer, PayrollData> results = new TreeMap<>();
+            for (Map.Entry<Integer, Position> entry : positionsByEmployee.entrySet()) {
+                int employeeId = entry.getKey();
+                PayrollData payrollData = computePayroll(employeeId, entry.getValue(),
+                        attendanceByEmployee.getOrDefault(employeeId, Collections.emptyList()),
+                        leavesByEmployee != null
+                                ? leavesByEmployee.getOrDefault(employeeId, Collections.emptyList())
+                                : loadApprovedLeaves(employeeId, periodStart, periodEnd),
+                        periodStart, periodEnd);
+                results.put(employeeId, payrollData);
+                // Warm the cache so opening a payslip afterwards does not recalculate
+                cache.put(payrollData, entry.getValue().getPositionId(), cacheGeneration);
+            }
+
+            LOGGER.info(String.format("Payroll calculated for %d employees (%s to %s) in %d ms",
+                    results.size(), periodStart, periodEnd, System.currentTimeMillis() - started));
+
+            return results;
+
+        } catch (PayrollCalculationException e) {
+            throw e;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Failed to calculate payroll for period " + periodStart + " to " + periodEnd, e);
+            throw new PayrollCalculationException("Failed to calculate payroll for period: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apply the payroll rules to already-loaded employee data
+     */
+    private PayrollData computePayroll(int employeeId, Position position, List<Attendance> attendanceList,
+                                       List<LeaveRequest> approvedLeaves, LocalDate periodStart, LocalDate periodEnd) {
+        PayrollData payrollData = new PayrollData();
+        payrollData.setEmployeeId(employeeId);
+        payrollData.setPeriodStart(periodStart);
+        payrollData.setPeriodEnd(periodEnd);
+        payrollData.setMonthlyRate(position.getMonthlySalary());
+        payrollData.setDailyRate(position.getDailyRate());
+
+        // Calculate attendance-based earnings
+        calculateAttendanceBasedEarnings(payrollData, attendanceList);
+
+        // Set allowances from position
+        payrollData.setRiceSubsidy(position.getRiceSubsidy());
+        payrollData.setPhoneAllowance(position.getPhoneAllowance());
+        payrollData.setClothingAllowance(position.getClothingAllowance());
+
+        // Calculate time-based deductions
+        calculateTimeBasedDeductions(payrollData, attendanceList, approvedLeaves);
+
+        // Calculate government contributions
+        calculateGovernmentContributions(payrollData, position.getMonthlySalary());
+
+        // Calculate totals
+        calculateTotals(payrollData);
+
+        return payrollData;
+    }
 
-        List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                employeeId, periodStart, periodEnd);
+    private static Map<Integer, List<Attendance>> groupByEmployee(List<Attendance> attendanceList) {
+        Map<Integer, List<Attendance>> grouped = new HashMap<>();
+        for (Attendance attendance : attendanceList) {
+            grouped.computeIfAbsent(attendance.getEmployeeId(), k -> new ArrayList<>()).add(attendance);
+        }
+        return grouped;
+    }
+
+    private static Map<Integer, List<LeaveRequest>> groupLeavesByEmployee(List<LeaveRequest> leaves) {
+        Map<Integer, List<LeaveRequest>> grouped = new HashMap<>();
+        for (LeaveRequest leave : leaves) {
+            grouped.computeIfAbsent(leave.getEmployeeId(), k -> new ArrayList<>()).add(leave);
+        }
+        return grouped;
+    }
 
+    /**
+     * Calculate attendance-based earnings
+     */
+    private void calculateAttendanceBasedEarnings(PayrollData payrollData, List<Attendance> attendanceList) {
         int validDays = 0;
         double totalHours = 0.0;
 
@@ -124,23 +218,17 @@ public class PayrollCalculator {
         payrollData.setDaysWorked(validDays);
         payrollData.setBasicPay(validDays * payrollData.getDailyRate());
         payrollData.setTotalHours(totalHours);
-
-        LOGGER.info(String.format("Employee %d worked %d days, %.2f hours",
-                employeeId, validDays, totalHours));
     }
 
     /**
      * Calculate time-based deductions (late, undertime, unpaid leave)
      */
-    private void calculateTimeBasedDeductions(PayrollData payrollData, int employeeId,
-                                              LocalDate periodStart, LocalDate periodEnd) {
-
-        List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                employeeId, periodStart, periodEnd);
+    private void calculateTimeBasedDeductions(PayrollData payrollData, List<Attendance> attendanceList,
+                                              List<LeaveRequest> approvedLeaves) {
 
         double lateDeduction = calculateLateDeduction(attendanceList, payrollData.getDailyRate());
         double undertimeDeduction = calculateUndertimeDeduction(attendanceList, payrollData.getDailyRate());
-        double unpaidLeaveDeduction = calculateUnpaidLeaveDeduction(employeeId, periodStart, periodEnd, payrollData.getDailyRate());
+        double unpaidLeaveDeduction = calculateUnpaidLeaveDeduction(approvedLeaves, payrollData.getDailyRate());
 
         payrollData.setLateDeduction(lateDeduction);
         payrollData.setUndertimeDeduction(undertimeDeduction);
@@ -148,20 +236,18 @@ public class PayrollCalculator {
     }
 
     /**
-     * Calculate government contributions using the model classes
+     * Calculate government contributions and tax with the schedule in force at the period start
      */
     private void calculateGovernmentContributions(PayrollData payrollData, double monthlySalary) {
-        GovernmentContribution sss = GovernmentContribution.createSSS(payrollData.getEmployeeId(), monthlySalary);
-        GovernmentContribution philhealth = GovernmentContribution.createPhilHealth(payrollData.getEmployeeId(), monthlySalary);
-        GovernmentContribution pagibig = GovernmentContribution.createPagIBIG(payrollData.getEmployeeId(), monthlySalary);
+        ContributionSchedule schedule = schedules.forDate(payrollData.getPeriodStart());
 
-        payrollData.setSss(sss.getAmount());
-        payrollData.setPhilhealth(philhealth.getAmount());
-        payrollData.setPagibig(pagibig.getAmount());
+        // Bracket lookups only; no GovernmentContribution entities are needed for the amounts
+        GovernmentContribution.Shares shares = new GovernmentContribution.Shares();
+        payrollData.setSss(schedule.lookupSSS(monthlySalary, shares).getEmployeeShare());
+        payrollData.setPhilhealth(schedule.lookupPhilHealth(monthlySalary, shares).getEmployeeShare());
+        payrollData.setPagibig(schedule.lookupPagIBIG(monthlySalary, shares).getEmployeeShare());
 
-        // Simple tax calculation (should be more complex in real implementation)
-        double tax = calculateIncomeTax(monthlySalary);
-        payrollData.setTax(tax);
+        payrollData.setTax(schedule.monthlyIncomeTax(monthlySalary));
     }
 
     /**
@@ -209,47 +295,43 @@ public class PayrollCalculator {
     /**
      * Calculate unpaid leave deduction
      */
-    private double calculateUnpaidLeaveDeduction(int employeeId, LocalDate periodStart, LocalDate periodEnd, double dailyRate) {
-        try {
-            List<LeaveRequest> approvedLeaves = leaveDAO.getApprovedLeavesByEmployeeIdAndDateRange(
-                    employeeId, periodStart, periodEnd);
-
-            int unpaidLeaveDays = 0;
-            for (LeaveRequest leave : approvedLeaves) {
-                if ("Unpaid".equalsIgnoreCase(leave.getLeaveType())) {
-                    unpaidLeaveDays += leave.getLeaveDays();
-                }
+    private double calculateUnpaidLeaveDeduction(List<LeaveRequest> approvedLeaves, double dailyRate) {
+        int unpaidLeaveDays = 0;
+        for (LeaveRequest leave : approvedLeaves) {
+            if ("Unpaid".equalsIgnoreCase(leave.getLeaveType())) {
+                unpaidLeaveDays += leave.getLeaveDays();
             }
+        }
 
-            return unpaidLeaveDays * dailyRate;
+        return unpaidLeaveDays * dailyRate;
+    }
+
+    /**
+     * Load approved leaves for one employee; a leave lookup failure does not block payroll
+     */
+    private List<LeaveRequest> loadApprovedLeaves(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            return leaveDAO.getApprovedLeavesByEmployeeIdAndDateRange(employeeId, periodStart, periodEnd);
         } catch (Exception e) {
-            LOGGER.warning("Error calculating unpaid leave deduction: " + e.getMessage());
-            return 0.0;
+            LOGGER.warning("Error calculating unpaid leave deduction for employee " + employeeId + ": "
+                    + e.getMessage());
+            return Collections.emptyList();
         }
     }
 
     /**
-     * Simple income tax calculation
+     * Load the period's approved leaves in one query, grouped by employee
+     * @return null if the query failed; each employee's leaves are then loaded on their own,
+     *         so one bad lookup affects only that employee, as in calculatePayroll
      */
-    private double calculateIncomeTax(double monthlySalary) {
-        double annualSalary = monthlySalary * 12;
-        double annualTax = 0.0;
-
-        if (annualSalary <= 250000) {
-            annualTax = 0.0;
-        } else if (annualSalary <= 400000) {
-            annualTax = (annualSalary - 250000) * 0.15;
-        } else if (annualSalary <= 800000) {
-            annualTax = 22500 + (annualSalary - 400000) * 0.20;
-        } else if (annualSalary <= 2000000) {
-            annualTax = 102500 + (annualSalary - 800000) * 0.25;
-        } else if (annualSalary <= 8000000) {
-            annualTax = 402500 + (annualSalary - 2000000) * 0.30;
-        } else {
-            annualTax = 2202500 + (annualSalary - 8000000) * 0.35;
+    private Map<Integer, List<LeaveRequest>> loadApprovedLeavesByEmployee(LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            return groupLeavesByEmployee(leaveDAO.getApprovedLeavesByDateRange(periodStart, periodEnd));
+        } catch (Exception e) {
+            LOGGER.warning("Error loading approved leaves for " + periodStart + " to " + periodEnd
+                    + ", loading them per employee: " + e.getMessage());
+            return null;
         }
-
-        return annualTax / 12;
     }
 
     /**
@@ -289,6 +371,10 @@ public class PayrollCalculator {
         if (employeeId <= 0) {
             throw new PayrollCalculationException("Invalid employee ID: " + employeeId);
         }
+        validatePeriod(periodStart, periodEnd);
+    }
+
+    private void validatePeriod(LocalDate periodStart, LocalDate periodEnd) throws PayrollCalculationException {
         if (periodStart == null || periodEnd == null) {
             throw new PayrollCalculationException("Period dates cannot be null");
         }
@@ -0,0 +1,297 @@
+package service;
+
+import service.PayrollCalculator.PayrollCalculationException;
+import service.PayrollCalculator.PayrollData;
+import util.DBConnection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs payroll calculations for many employees in parallel.
+ * Work is spread across a fixed worker pool while a semaphore keeps the number of
+ * calculations touching the database at once within the connection pool size.
+ */
+public class PayrollRunService {
+    private static final Logger LOGGER = Logger.getLogger(PayrollRunService.class.getName());
+
+    /**
+     * Calculates payroll for a single employee
+     */
+    @FunctionalInterface
+    public interface EmployeePayrollCalculation {
+        PayrollData calculate(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+                throws PayrollCalculationException;
+    }
+
+    /**
+     * Receives progress as each employee finishes; called from worker threads
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int completed, int total, int employeeId, boolean success);
+
+        /**
+         * Receives each calculated payroll as soon as it is ready, before its progress update
+         */
+        default void onCalculated(PayrollData data) {
+        }
+    }
+
+    private final EmployeePayrollCalculation calculation;
+    private final ExecutorService executor;
+    private final Semaphore dbPermits;
+    private final int maxConcurrentCalculations;
+    private final Set<PayrollRun> activeRuns = ConcurrentHashMap.newKeySet();
+
+    public PayrollRunService() {
+        this(new PayrollCalculator()::calculatePayroll,
+                Runtime.getRuntime().availableProcessors(),
+                // Leave one connection free for the UI while a run is in progress
+                Math.max(1, DBConnection.getMaxPoolSize() - 1));
+    }
+
+    public PayrollRunService(EmployeePayrollCalculation calculation, int threads, int maxConcurrentCalculations) {
+        if (calculation == null) {
+            throw new IllegalArgumentException("Payroll calculation cannot be null");
+        }
+        if (threads <= 0 || maxConcurrentCalculations <= 0) {
+            throw new IllegalArgumentException("Thread count and concurrency limit must be positive");
+        }
+        this.calculation = calculation;
+        this.maxConcurrentCalculations = maxConcurrentCalculations;
+        this.dbPermits = new Semaphore(maxConcurrentCalculations, true);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.min(threads, maxConcurrentCalculations), r -> {
+            Thread t = new Thread(r, "motorph-payroll-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start a payroll run in the background and return a handle for progress, cancellation and results
+     */
+    public PayrollRun start(Collection<Integer> employeeIds, LocalDate periodStart, LocalDate periodEnd,
+                            ProgressListener listener) {
+        if (employeeIds == null) {
+            throw new IllegalArgumentException("Employee IDs cannot be null");
+        }
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period dates cannot be null");
+        }
+        if (periodEnd.isBefore(periodStart)) {
+            throw new IllegalArgumentException("Period end cannot be before period start");
+        }
+
+        PayrollRun run = new PayrollRun(employeeIds.size(), activeRuns);
+        List<Runnable> work = new ArrayList<>(employeeIds.size());
+        for (Integer employeeId : employeeIds) {
+            EmployeeTask task = new EmployeeTask();
+            run.tasks.add(task);
+            work.add(() -> {
+                if (task.state.compareAndSet(EmployeeTask.PENDING, EmployeeTask.RUNNING)) {
+                    calculateOne(run, employeeId, periodStart, periodEnd, listener);
+                }
+            });
+        }
+        if (!work.isEmpty()) {
+            activeRuns.add(run);
+            work.forEach(executor::execute);
+        }
+
+        LOGGER.info(String.format("Payroll run started for %d employees (%s to %s), max %d concurrent",
+                employeeIds.size(), periodStart, periodEnd, maxConcurrentCalculations));
+        return run;
+    }
+
+    /**
+     * Run payroll for all given employees and wait for the outcome
+     */
+    public RunResult run(Collection<Integer> employeeIds, LocalDate periodStart, LocalDate periodEnd,
+                         ProgressListener listener) throws InterruptedException {
+        return start(employeeIds, periodStart, periodEnd, listener).await();
+    }
+
+    private void calculateOne(PayrollRun run, int employeeId, LocalDate periodStart, LocalDate periodEnd,
+                              ProgressListener listener) {
+        boolean success = false;
+        PayrollData data = null;
+        try {
+            dbPermits.acquire();
+            try {
+                if (run.cancelled.get()) {
+                    return;
+                }
+                data = calculation.calculate(employeeId, periodStart, periodEnd);
+                run.recordSuccess(employeeId, data);
+                success = true;
+            } finally {
+                dbPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Payroll calculation failed for employee " + employeeId, e);
+            run.recordFailure(employeeId, e);
+        } finally {
+            run.finishTask();
+        }
+
+        int completed = run.completed.incrementAndGet();
+        if (listener != null) {
+            try {
+                if (success) {
+                    listener.onCalculated(data);
+                }
+                listener.onProgress(completed, run.total, employeeId, success);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Payroll progress listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Stop the worker threads; runs still in progress are cancelled
+     */
+    public void shutdown() {
+        for (PayrollRun run : activeRuns) {
+            run.cancel();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Per-employee state so a queued calculation is either run or cancelled, never both
+     */
+    private static final class EmployeeTask {
+        static final int PENDING = 0;
+        static final int RUNNING = 1;
+        static final int CANCELLED = 2;
+
+        final AtomicInteger state = new AtomicInteger(PENDING);
+    }
+
+    /**
+     * Handle to a payroll run in progress
+     */
+    public static class PayrollRun {
+        private final int total;
+        private final Map<Integer, PayrollData> results = new TreeMap<>();
+        private final Map<Integer, Exception> failures = new TreeMap<>();
+        private final List<EmployeeTask> tasks = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+        private final AtomicInteger completed = new AtomicInteger();
+        private final CountDownLatch latch;
+        private final Set<PayrollRun> activeRuns;
+
+        private PayrollRun(int total, Set<PayrollRun> activeRuns) {
+            this.total = total;
+            this.latch = new CountDownLatch(total);
+            this.activeRuns = activeRuns;
+        }
+
+        private void finishTask() {
+            latch.countDown();
+            if (latch.getCount() == 0) {
+                activeRuns.remove(this);
+            }
+        }
+
+        private synchronized void recordSuccess(int employeeId, PayrollData data) {
+            results.put(employeeId, data);
+        }
+
+        private synchronized void recordFailure(int employeeId, Exception error) {
+            failures.put(employeeId, error);
+        }
+
+        /**
+         * Stop scheduling further employees; calculations already running are allowed to finish
+         */
+        public void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                synchronized (tasks) {
+                    for (EmployeeTask task : tasks) {
+                        if (task.state.compareAndSet(EmployeeTask.PENDING, EmployeeTask.CANCELLED)) {
+                            finishTask();
+                        }
+                    }
+                }
+                LOGGER.info("Payroll run cancelled");
+            }
+        }
+
+        public boolean isCancelled() { return cancelled.get(); }
+        public boolean isDone() { return latch.getCount() == 0; }
+        public int getCompleted() { return completed.get(); }
+        public int getTotal() { return total; }
+
+        /**
+         * Wait for every employee to finish or be cancelled
+         */
+        public RunResult await() throws InterruptedException {
+            latch.await();
+            return snapshot();
+        }
+
+        /**
+         * Wait up to the timeout; returns null if the run is still going
+         */
+        public RunResult await(long timeout, TimeUnit unit) throws InterruptedException {
+            return latch.await(timeout, unit) ? snapshot() : null;
+        }
+
+        private synchronized RunResult snapshot() {
+            return new RunResult(new TreeMap<>(results), new TreeMap<>(failures), total, cancelled.get());
+        }
+    }
+
+    /**
+     * Outcome of a payroll run: calculated payrolls and per-employee failures, keyed by employee ID
+     */
+    public static class RunResult {
+        private final Map<Integer, PayrollData> results;
+        private final Map<Integer, Exception> failures;
+        private final int total;
+        private final boolean cancelled;
+
+        private RunResult(Map<Integer, PayrollData> results, Map<Integer, Exception> failures,
+                          int total, boolean cancelled) {
+            this.results = Collections.unmodifiableMap(results);
+            this.failures = Collections.unmodifiableMap(failures);
+            this.total = total;
+            this.cancelled = cancelled;
+        }
+
+        public Map<Integer, PayrollData> getResults() { return results; }
+        public Map<Integer, Exception> getFailures() { return failures; }
+        public int getTotal() { return total; }
+        public boolean isCancelled() { return cancelled; }
+
+        /**
+         * Employees that were neither calculated nor failed because the run was cancelled
+         */
+        public int getSkippedCount() {
+            return total - results.size() - failures.size();
+        }
+    }
+}
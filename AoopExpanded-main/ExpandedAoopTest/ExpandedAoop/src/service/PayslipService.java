@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import java.io.InputStream;
 import java.util.*;
 import model.PayslipData;
+import reports.ReportTemplateCache;
 
 @Service
 public class PayslipService {
@@ -24,14 +25,8 @@ public class PayslipService {
      */
     public byte[] generatePayslipPDF(PayslipData payslipData) throws JRException {
         try {
-            // Load the template
-            InputStream templateStream = getClass().getResourceAsStream(TEMPLATE_PATH);
-            if (templateStream == null) {
-                throw new JRException("Template not found: " + TEMPLATE_PATH);
-            }
-            
-            // Compile the template
-            JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
+            // Load the compiled template
+            JasperReport jasperReport = ReportTemplateCache.getInstance().getReport(TEMPLATE_PATH);
             
             // Create data source
             List<PayslipData> dataList = Arrays.asList(payslipData);
@@ -57,8 +52,7 @@ public class PayslipService {
      */
     public byte[] generateBatchPayslipPDF(List<PayslipData> payslipDataList) throws JRException {
         try {
-            InputStream templateStream = getClass().getResourceAsStream(TEMPLATE_PATH);
-            JasperReport jasperReport = JasperCompileManager.compileReport(templateStream);
+            JasperReport jasperReport = ReportTemplateCache.getInstance().getReport(TEMPLATE_PATH);
             
             JRDataSource dataSource = new JRBeanCollectionDataSource(payslipDataList);
             
@@ -0,0 +1,82 @@
+package service;
+
+import dao.CredentialsDAO;
+import reports.ReportTemplateCache;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads payroll classes, contribution schedules and the compiled payslip template
+ * on a low-priority background thread while the user is looking at the login screen,
+ * so the first dashboard and payslip do not pay for it.
+ */
+public final class StartupWarmup {
+    private static final Logger LOGGER = Logger.getLogger(StartupWarmup.class.getName());
+
+    private static final AtomicBoolean started = new AtomicBoolean();
+
+    private StartupWarmup() {
+    }
+
+    /**
+     * Start the warm-up once; later calls do nothing
+     */
+    public static void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(StartupWarmup::run, "motorph-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private static void run() {
+        long start = System.currentTimeMillis();
+
+        // DAOs, payroll cache and the contribution schedule file
+        step("payroll services", () -> {
+            new CredentialsDAO();
+            new PayrollCalculator();
+        });
+
+        if (isJasperAvailable()) {
+            step("payslip template", StartupWarmup::loadPayslipTemplate);
+        }
+
+        LOGGER.info("Startup warm-up finished in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private static void loadPayslipTemplate() throws Exception {
+        ReportTemplateCache cache = ReportTemplateCache.getInstance();
+        cache.getReport(JasperPayslipService.PAYSLIP_TEMPLATE);
+        cache.getImage(JasperPayslipService.COMPANY_LOGO);
+    }
+
+    private static boolean isJasperAvailable() {
+        try {
+            Class.forName("net.sf.jasperreports.engine.JasperReport");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private static void step(String name, Step step) {
+        long start = System.currentTimeMillis();
+        try {
+            step.run();
+            LOGGER.fine("Warm-up of " + name + " took " + (System.currentTimeMillis() - start) + " ms");
+        } catch (Exception | LinkageError e) {
+            // Warm-up is best effort; the real call will report the problem
+            LOGGER.log(Level.FINE, "Warm-up of " + name + " failed", e);
+        }
+    }
+}
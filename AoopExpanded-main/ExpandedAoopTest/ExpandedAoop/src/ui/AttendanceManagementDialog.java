@@ -4,10 +4,11 @@ package ui;
 import dao.AttendanceDAO;
 import dao.EmployeeDAO;
 import model.Employee;
+import model.EmployeeName;
 import model.Attendance;
+import model.EmployeeAttendance;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -17,20 +18,37 @@ import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dialog for managing employee attendance records
  * Allows HR personnel to add, edit, and delete attendance entries
  */
 public class AttendanceManagementDialog extends JDialog {
+    private static final int PAGE_SIZE = 50;
+    private static final int CACHED_PAGES = 6;
+    private static final String[] STATUS_FILTERS = {"All Records", "Late", "Undertime", "Late or Undertime"};
+
     private Employee currentUser;
     private AttendanceDAO attendanceDAO;
     private EmployeeDAO employeeDAO;
+    // Runs the attendance queries so the dialog opens without waiting for them
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "motorph-attendance-1");
+        t.setDaemon(true);
+        return t;
+    });
 
     // UI Components
     private JTable attendanceTable;
-    private DefaultTableModel tableModel;
-    private JComboBox<Employee> employeeComboBox;
+    private PagedTableModel<EmployeeAttendance> tableModel;
+    private JComboBox<EmployeeName> employeeComboBox;
+    private JSpinner fromDateSpinner;
+    private JSpinner toDateSpinner;
+    private JComboBox<String> statusFilterComboBox;
+    private JButton applyFilterButton;
     private JSpinner dateSpinner;
     private JSpinner logInSpinner;
     private JSpinner logOutSpinner;
@@ -66,12 +84,8 @@ public class AttendanceManagementDialog extends JDialog {
     private void initializeComponents() {
         // Table setup
         String[] columns = {"ID", "Employee", "Date", "Log In", "Log Out", "Hours", "Status"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new PagedTableModel<>(columns, AttendanceManagementDialog::attendanceRow,
+                PAGE_SIZE, CACHED_PAGES, executor);
 
         attendanceTable = new JTable(tableModel);
         attendanceTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -100,6 +114,7 @@ public class AttendanceManagementDialog extends JDialog {
 
         // Date and time spinners
         setupDateAndTimeSpinners();
+        setupFilterControls();
 
         // Buttons
         setupButtons();
@@ -137,6 +152,26 @@ public class AttendanceManagementDialog extends JDialog {
         logOutSpinner.addChangeListener(e -> validateTimes());
     }
 
+    private void setupFilterControls() {
+        // Last 30 days by default
+        fromDateSpinner = createDateSpinner(LocalDate.now().minusDays(30));
+        toDateSpinner = createDateSpinner(LocalDate.now());
+
+        statusFilterComboBox = new JComboBox<>(STATUS_FILTERS);
+        statusFilterComboBox.setPreferredSize(new Dimension(150, 25));
+
+        applyFilterButton = createStyledButton("Apply", new Color(70, 130, 180), Color.WHITE);
+        applyFilterButton.setPreferredSize(new Dimension(80, 25));
+    }
+
+    private JSpinner createDateSpinner(LocalDate value) {
+        JSpinner spinner = new JSpinner(new SpinnerDateModel());
+        spinner.setEditor(new JSpinner.DateEditor(spinner, "yyyy-MM-dd"));
+        spinner.setValue(Date.valueOf(value));
+        spinner.setPreferredSize(new Dimension(120, 25));
+        return spinner;
+    }
+
     private void setupButtons() {
         addButton = createStyledButton("Add Record", new Color(34, 139, 34), Color.WHITE);
         updateButton = createStyledButton("Update", new Color(70, 130, 180), Color.WHITE);
@@ -255,12 +290,22 @@ public class AttendanceManagementDialog extends JDialog {
         JPanel tablePanel = new JPanel(new BorderLayout());
         tablePanel.setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(Color.GRAY),
-                "Attendance Records (Last 30 Days)",
+                "Attendance Records",
                 0, 0, new Font("Arial", Font.BOLD, 12)));
 
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 5));
+        filterPanel.add(new JLabel("From:"));
+        filterPanel.add(fromDateSpinner);
+        filterPanel.add(new JLabel("To:"));
+        filterPanel.add(toDateSpinner);
+        filterPanel.add(new JLabel("Show:"));
+        filterPanel.add(statusFilterComboBox);
+        filterPanel.add(applyFilterButton);
+
         JScrollPane scrollPane = new JScrollPane(attendanceTable);
         scrollPane.setPreferredSize(new Dimension(0, 300));
 
+        tablePanel.add(filterPanel, BorderLayout.NORTH);
         tablePanel.add(scrollPane, BorderLayout.CENTER);
 
         return tablePanel;
@@ -298,6 +343,8 @@ public class AttendanceManagementDialog extends JDialog {
             setStatus("Records refreshed");
         });
         clearButton.addActionListener(e -> clearForm());
+        applyFilterButton.addActionListener(e -> loadAttendanceRecords());
+        statusFilterComboBox.addActionListener(e -> loadAttendanceRecords());
 
         // Table selection listener
         attendanceTable.getSelectionModel().addListSelectionListener(e -> {
@@ -313,57 +360,81 @@ public class AttendanceManagementDialog extends JDialog {
 
     private void loadEmployees() {
         employeeComboBox.removeAllItems();
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            for (Employee emp : employees) {
-                employeeComboBox.addItem(emp);
-            }
-            setStatus("Loaded " + employees.size() + " employees");
-        } catch (Exception e) {
-            showError("Error loading employees: " + e.getMessage());
-        }
+        CompletableFuture.supplyAsync(employeeDAO::getEmployeeNames, executor)
+                .whenComplete((employees, error) -> SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        showError("Error loading employees: " + cause.getMessage());
+                        return;
+                    }
+                    for (EmployeeName emp : employees) {
+                        employeeComboBox.addItem(emp);
+                    }
+                    // Keep the form in step with a row selected while the list was loading
+                    populateFormFromSelection();
+                }));
     }
 
+    /**
+     * Show the attendance of all employees in the chosen range. Names, late and undertime
+     * flags come from one joined query per page instead of a query per employee.
+     */
     private void loadAttendanceRecords() {
-        tableModel.setRowCount(0);
+        LocalDate startDate = toLocalDate(fromDateSpinner);
+        LocalDate endDate = toLocalDate(toDateSpinner);
+        if (startDate.isAfter(endDate)) {
+            showWarning("From date cannot be after To date");
+            return;
+        }
+        AttendanceDAO.StatusFilter filter = selectedStatusFilter();
 
-        try {
-            // Load recent attendance records (last 30 days)
-            LocalDate endDate = LocalDate.now();
-            LocalDate startDate = endDate.minusDays(30);
-
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            int totalRecords = 0;
-
-            for (Employee emp : employees) {
-                List<Attendance> records = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                        emp.getEmployeeId(), startDate, endDate);
-
-                for (Attendance attendance : records) {
-                    String status = determineAttendanceStatus(attendance);
-
-                    Object[] row = {
-                            attendance.getId(),
-                            emp.getFullName(),
-                            attendance.getDate(),
-                            attendance.getLogIn(),
-                            attendance.getLogOut(),
-                            String.format("%.2f", attendance.getWorkHours()),
-                            status
-                    };
-                    tableModel.addRow(row);
-                    totalRecords++;
-                }
+        setStatus("Loading attendance records...");
+        tableModel.setSource(new PagedTableModel.PageSource<EmployeeAttendance>() {
+            @Override
+            public int count() {
+                return attendanceDAO.countCompanyAttendance(startDate, endDate, filter);
             }
 
-            setStatus("Loaded " + totalRecords + " attendance records");
+            @Override
+            public List<EmployeeAttendance> fetch(EmployeeAttendance after, int offset, int limit) {
+                return attendanceDAO.getCompanyAttendancePage(startDate, endDate, filter, after, limit);
+            }
+        }, count -> setStatus("Loaded " + count + " attendance records"),
+                error -> showError("Error loading attendance records: " + error.getMessage()));
+    }
 
-        } catch (Exception e) {
-            showError("Error loading attendance records: " + e.getMessage());
+    private AttendanceDAO.StatusFilter selectedStatusFilter() {
+        switch (statusFilterComboBox.getSelectedIndex()) {
+            case 1:
+                return AttendanceDAO.StatusFilter.LATE;
+            case 2:
+                return AttendanceDAO.StatusFilter.UNDERTIME;
+            case 3:
+                return AttendanceDAO.StatusFilter.LATE_OR_UNDERTIME;
+            default:
+                return AttendanceDAO.StatusFilter.ALL;
         }
     }
 
-    private String determineAttendanceStatus(Attendance attendance) {
+    private static LocalDate toLocalDate(JSpinner spinner) {
+        return new Date(((java.util.Date) spinner.getValue()).getTime()).toLocalDate();
+    }
+
+    private static Object[] attendanceRow(EmployeeAttendance record) {
+        Attendance attendance = record.getAttendance();
+        return new Object[]{
+                attendance.getId(),
+                record.getEmployeeName(),
+                attendance.getDate(),
+                attendance.getLogIn(),
+                attendance.getLogOut(),
+                String.format("%.2f", attendance.getWorkHours()),
+                determineAttendanceStatus(record)
+        };
+    }
+
+    private static String determineAttendanceStatus(EmployeeAttendance record) {
+        Attendance attendance = record.getAttendance();
         if (attendance.getLogIn() == null) {
             return "No Log In";
         }
@@ -371,8 +442,9 @@ public class AttendanceManagementDialog extends JDialog {
             return "No Log Out";
         }
 
-        boolean isLate = attendance.isLate();
-        boolean hasUndertime = attendance.hasUndertime();
+        // Flags computed by the attendance query
+        boolean isLate = record.isLate();
+        boolean hasUndertime = record.hasUndertime();
 
         if (isLate && hasUndertime) {
             return "Late & Undertime";
@@ -391,7 +463,7 @@ public class AttendanceManagementDialog extends JDialog {
         if (!validateForm()) return;
 
         try {
-            Employee selectedEmployee = (Employee) employeeComboBox.getSelectedItem();
+            EmployeeName selectedEmployee = (EmployeeName) employeeComboBox.getSelectedItem();
             Date date = new Date(((java.util.Date) dateSpinner.getValue()).getTime());
             Time logIn = new Time(((java.util.Date) logInSpinner.getValue()).getTime());
             Time logOut = new Time(((java.util.Date) logOutSpinner.getValue()).getTime());
@@ -427,7 +499,7 @@ public class AttendanceManagementDialog extends JDialog {
         if (!validateForm()) return;
 
         try {
-            Employee selectedEmployee = (Employee) employeeComboBox.getSelectedItem();
+            EmployeeName selectedEmployee = (EmployeeName) employeeComboBox.getSelectedItem();
             Date date = new Date(((java.util.Date) dateSpinner.getValue()).getTime());
             Time logIn = new Time(((java.util.Date) logInSpinner.getValue()).getTime());
             Time logOut = new Time(((java.util.Date) logOutSpinner.getValue()).getTime());
@@ -457,8 +529,13 @@ public class AttendanceManagementDialog extends JDialog {
             return;
         }
 
-        String employeeName = (String) tableModel.getValueAt(selectedRow, 1);
-        Date date = (Date) tableModel.getValueAt(selectedRow, 2);
+        EmployeeAttendance record = tableModel.getRow(selectedRow);
+        if (record == null) {
+            showWarning("Please wait for the record to load");
+            return;
+        }
+        String employeeName = record.getEmployeeName();
+        Date date = record.getAttendance().getDate();
 
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete the attendance record for " + employeeName + " on " + date + "?",
@@ -468,7 +545,7 @@ public class AttendanceManagementDialog extends JDialog {
 
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                int attendanceId = (Integer) tableModel.getValueAt(selectedRow, 0);
+                int attendanceId = record.getAttendance().getId();
                 boolean deleted = attendanceDAO.deleteAttendance(attendanceId);
 
                 if (deleted) {
@@ -493,19 +570,28 @@ public class AttendanceManagementDialog extends JDialog {
             return;
         }
 
+        EmployeeAttendance record = tableModel.getRow(selectedRow);
+        if (record == null) {
+            // Page not loaded yet
+            isEditMode = false;
+            editingAttendanceId = -1;
+            return;
+        }
+
         try {
+            Attendance attendance = record.getAttendance();
             isEditMode = true;
-            editingAttendanceId = (Integer) tableModel.getValueAt(selectedRow, 0);
+            editingAttendanceId = attendance.getId();
 
-            String employeeName = (String) tableModel.getValueAt(selectedRow, 1);
-            Date date = (Date) tableModel.getValueAt(selectedRow, 2);
-            Time logIn = (Time) tableModel.getValueAt(selectedRow, 3);
-            Time logOut = (Time) tableModel.getValueAt(selectedRow, 4);
+            String employeeName = record.getEmployeeName();
+            Date date = attendance.getDate();
+            Time logIn = attendance.getLogIn();
+            Time logOut = attendance.getLogOut();
 
             // Find and select the employee
             for (int i = 0; i < employeeComboBox.getItemCount(); i++) {
-                Employee emp = employeeComboBox.getItemAt(i);
-                if (emp.getFullName().equals(employeeName)) {
+                EmployeeName emp = employeeComboBox.getItemAt(i);
+                if (emp.getEmployeeId() == attendance.getEmployeeId()) {
                     employeeComboBox.setSelectedIndex(i);
                     break;
                 }
@@ -572,6 +658,12 @@ public class AttendanceManagementDialog extends JDialog {
         addButton.setText(isEditMode ? "Save Changes" : "Add Record");
     }
 
+    @Override
+    public void dispose() {
+        executor.shutdownNow();
+        super.dispose();
+    }
+
     // Status and message methods
     private void setStatus(String message) {
         statusLabel.setText(message);
@@ -599,8 +691,8 @@ public class AttendanceManagementDialog extends JDialog {
                                                       boolean isSelected, boolean cellHasFocus) {
             super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
 
-            if (value instanceof Employee) {
-                Employee emp = (Employee) value;
+            if (value instanceof EmployeeName) {
+                EmployeeName emp = (EmployeeName) value;
                 setText(emp.getEmployeeId() + " - " + emp.getFullName());
             }
 
@@ -0,0 +1,59 @@
+package ui;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Delivers results of background loads to the Event Dispatch Thread, shared by the dashboards.
+ * A view that reloads keeps a {@link Generation} per kind of load, so the result of a load
+ * that was superseded by a newer one is dropped instead of overwriting it.
+ */
+final class BackgroundResults {
+
+    /**
+     * Counts the reloads of one view. All methods must be called on the Event Dispatch Thread.
+     */
+    static final class Generation {
+        private int current;
+
+        /**
+         * Start a load, superseding every load started before it
+         * @return whether the load is still the latest one
+         */
+        BooleanSupplier next() {
+            int generation = ++current;
+            return () -> generation == current;
+        }
+
+        /**
+         * Drop every load in flight without starting a new one
+         */
+        void supersede() {
+            current++;
+        }
+    }
+
+    private BackgroundResults() {
+    }
+
+    /**
+     * Hand a background result to the EDT, dropping it if the view was reloaded in the meantime
+     */
+    static <T> void onEdt(CompletableFuture<T> future, BooleanSupplier stillCurrent,
+                          Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (!stillCurrent.getAsBoolean()) {
+                return;
+            }
+            if (error != null) {
+                onError.accept(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+}
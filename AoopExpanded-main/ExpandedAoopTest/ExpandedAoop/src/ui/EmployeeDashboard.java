@@ -1,9 +1,9 @@
 package ui;
 
-import dao.AttendanceDAO;
 import model.Employee;
 import model.Attendance;
 import model.Payroll;
+import service.DashboardDataService;
 import service.PayrollCalculator;
 import ui.PayrollDetailsDialog;
 import ui.LoginForm;
@@ -15,6 +15,7 @@ import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 public class EmployeeDashboard extends JFrame {
     private Employee currentUser;
@@ -36,15 +37,26 @@ public class EmployeeDashboard extends JFrame {
     private JComboBox<String> yearComboBox;
 
     // Services
-    private AttendanceDAO attendanceDAO;
+    private DashboardDataService dataService;
     private PayrollCalculator payrollCalculator;
 
+    // Background loads of each tab; a reload drops the results of the one before (EDT only)
+    private final BackgroundResults.Generation attendanceLoads = new BackgroundResults.Generation();
+    private final BackgroundResults.Generation payrollLoads = new BackgroundResults.Generation();
+
+    // Tabs are populated on first selection; a stale tab is reloaded the next time it is shown (EDT only)
+    private boolean attendanceTabStale = true;
+    private boolean payrollTabStale = true;
+
+    private static final int ATTENDANCE_TAB = 1;
+    private static final int PAYROLL_TAB = 2;
+
     public EmployeeDashboard(Employee user) {
         this.currentUser = user;
 
         try {
             // Initialize DAOs and services
-            this.attendanceDAO = new AttendanceDAO();
+            this.dataService = new DashboardDataService();
             this.payrollCalculator = new PayrollCalculator();
 
             // Initialize UI components
@@ -52,7 +64,7 @@ public class EmployeeDashboard extends JFrame {
             setupLayout();
             setupEventHandlers();
 
-            // Load initial data
+            // Show personal info now; the other tabs load when first selected
             loadData();
 
             // Log successful initialization
@@ -405,7 +417,7 @@ public class EmployeeDashboard extends JFrame {
         try {
             LeaveRequestDialog dialog = new LeaveRequestDialog(this, currentUser);
             dialog.setVisible(true);
-            loadAttendanceData(); // Refresh attendance data after potential leave submission
+            refreshAttendance(); // Refresh attendance data after potential leave submission
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Error opening leave request dialog: " + e.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -512,14 +524,52 @@ public class EmployeeDashboard extends JFrame {
     }
 
     private void setupEventHandlers() {
-        monthComboBox.addActionListener(e -> loadPayrollData());
-        yearComboBox.addActionListener(e -> loadPayrollData());
+        monthComboBox.addActionListener(e -> payrollPeriodChanged());
+        yearComboBox.addActionListener(e -> payrollPeriodChanged());
+        tabbedPane.addChangeListener(e -> loadSelectedTab());
     }
 
     private void loadData() {
         loadPersonalInfo();
-        loadAttendanceData();
-        loadPayrollData();
+        loadSelectedTab();
+    }
+
+    /**
+     * Populate the selected tab if it has not been loaded yet or its data went stale
+     */
+    private void loadSelectedTab() {
+        int selected = tabbedPane.getSelectedIndex();
+        if (selected == ATTENDANCE_TAB && attendanceTabStale) {
+            attendanceTabStale = false;
+            loadAttendanceData();
+        } else if (selected == PAYROLL_TAB && payrollTabStale) {
+            payrollTabStale = false;
+            loadPayrollData();
+        }
+    }
+
+    /**
+     * Reload attendance now if it is showing, otherwise the next time the tab is selected
+     */
+    private void refreshAttendance() {
+        if (tabbedPane.getSelectedIndex() == ATTENDANCE_TAB) {
+            attendanceTabStale = false;
+            loadAttendanceData();
+        } else {
+            attendanceTabStale = true;
+        }
+    }
+
+    /**
+     * Calculate payroll for the new period only if the payroll tab is showing
+     */
+    private void payrollPeriodChanged() {
+        if (tabbedPane.getSelectedIndex() == PAYROLL_TAB) {
+            payrollTabStale = false;
+            loadPayrollData();
+        } else {
+            payrollTabStale = true;
+        }
     }
 
     private void loadPersonalInfo() {
@@ -536,9 +586,8 @@ public class EmployeeDashboard extends JFrame {
     private void loadAttendanceData() {
         attendanceTableModel.setRowCount(0);
 
-        try {
-            List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeId(currentUser.getEmployeeId());
-
+        BackgroundResults.onEdt(dataService.getAttendance(currentUser.getEmployeeId()), attendanceLoads.next(),
+                attendanceList -> {
             double totalHours = 0;
             int totalDays = attendanceList.size();
 
@@ -575,27 +624,26 @@ public class EmployeeDashboard extends JFrame {
             } else {
                 averageHoursLabel.setText("Average Hours: 0.00");
             }
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading attendance data: " + e.getMessage(),
+        }, error -> {
+            JOptionPane.showMessageDialog(this, "Error loading attendance data: " + error.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+            error.printStackTrace();
+        });
     }
 
     private void loadPayrollData() {
+        BooleanSupplier current = payrollLoads.next();
         payrollTableModel.setRowCount(0);
 
-        try {
-            // Get selected period
-            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
-            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+        // Get selected period
+        int selectedMonth = monthComboBox.getSelectedIndex() + 1;
+        int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
 
-            LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
-            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
-
-            PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(currentUser.getEmployeeId(), periodStart, periodEnd);
+        LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
+        LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
 
+        BackgroundResults.onEdt(dataService.getPayroll(currentUser.getEmployeeId(), periodStart, periodEnd),
+                current, payrollData -> {
             Object[] row = {
                     periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy")),
                     payrollData.getDaysWorked(),
@@ -606,7 +654,11 @@ public class EmployeeDashboard extends JFrame {
             };
             payrollTableModel.addRow(row);
 
-        } catch (Exception e) {
+            // Calculate the previous month in the background so stepping back is instant
+            LocalDate previousStart = periodStart.minusMonths(1);
+            dataService.getPayroll(currentUser.getEmployeeId(), previousStart,
+                    previousStart.withDayOfMonth(previousStart.lengthOfMonth()));
+        }, error -> {
             Object[] row = {
                     "Error calculating payroll",
                     "Error",
@@ -617,10 +669,10 @@ public class EmployeeDashboard extends JFrame {
             };
             payrollTableModel.addRow(row);
 
-            JOptionPane.showMessageDialog(this, "Error loading payroll data: " + e.getMessage(),
+            JOptionPane.showMessageDialog(this, "Error loading payroll data: " + error.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+            error.printStackTrace();
+        });
     }
 
     private void calculatePayroll() {
@@ -673,6 +725,14 @@ public class EmployeeDashboard extends JFrame {
         }
     }
 
+    @Override
+    public void dispose() {
+        if (dataService != null) {
+            dataService.shutdown();
+        }
+        super.dispose();
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             // Create a dummy user for testing
@@ -2,7 +2,9 @@ package ui;
 
 import dao.EmployeeDAO;
 import dao.CredentialsDAO;
+import dao.PositionCache;
 import model.Employee;
+import model.Position;
 import ui.PasswordChangeDialog;
 
 import javax.swing.*;
@@ -32,7 +34,7 @@ public class EmployeeDetailsDialog extends JDialog {
     private JTextField tinField;
     private JTextField pagibigField;
     private JComboBox<String> statusComboBox;
-    private JTextField positionField;
+    private JComboBox<String> positionComboBox;
     private JTextField supervisorField;
     private JTextField basicSalaryField;
     private JTextField riceSubsidyField;
@@ -57,6 +59,7 @@ public class EmployeeDetailsDialog extends JDialog {
         setupLayout();
         setupEventHandlers();
         populateFields();
+        loadPositionTitles();
 
         setSize(600, 700);
         setLocationRelativeTo(parent);
@@ -84,7 +87,8 @@ public class EmployeeDetailsDialog extends JDialog {
         String[] statuses = {"Regular", "Probationary", "Contractual", "Part-time"};
         statusComboBox = new JComboBox<>(statuses);
 
-        positionField = new JTextField(20);
+        // Only titles that exist in the positions table can be picked; see loadPositionTitles
+        positionComboBox = new JComboBox<>();
         supervisorField = new JTextField(20);
         basicSalaryField = new JTextField(15);
         riceSubsidyField = new JTextField(15);
@@ -217,7 +221,7 @@ public class EmployeeDetailsDialog extends JDialog {
         gbc.gridx = 0; gbc.gridy = 0;
         panel.add(new JLabel("Position:"), gbc);
         gbc.gridx = 1;
-        panel.add(positionField, gbc);
+        panel.add(positionComboBox, gbc);
 
         // Status
         gbc.gridx = 0; gbc.gridy = 1;
@@ -355,7 +359,7 @@ public class EmployeeDetailsDialog extends JDialog {
         pagibigField.setText(employee.getPagibigNumber() != null ? employee.getPagibigNumber() : "");
 
         statusComboBox.setSelectedItem(employee.getStatus() != null ? employee.getStatus() : "Regular");
-        positionField.setText(employee.getPosition() != null ? employee.getPosition() : "");
+        selectPosition(employee.getPosition());
         supervisorField.setText(employee.getImmediateSupervisor() != null ? employee.getImmediateSupervisor() : "");
 
         basicSalaryField.setText(String.valueOf(employee.getBasicSalary()));
@@ -364,6 +368,44 @@ public class EmployeeDetailsDialog extends JDialog {
         clothingAllowanceField.setText(String.valueOf(employee.getClothingAllowance()));
     }
 
+    /**
+     * Fill the position combo box from the shared position cache. Runs in the background
+     * because the first use of the cache loads the positions from the database.
+     */
+    private void loadPositionTitles() {
+        new SwingWorker<String[], Void>() {
+            @Override
+            protected String[] doInBackground() {
+                return PositionCache.getInstance().getAll().stream()
+                        .map(Position::getPositionName)
+                        .toArray(String[]::new);
+            }
+
+            @Override
+            protected void done() {
+                String selected = (String) positionComboBox.getSelectedItem();
+                try {
+                    positionComboBox.setModel(new DefaultComboBoxModel<>(get()));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                selectPosition(selected);
+            }
+        }.execute();
+    }
+
+    private void selectPosition(String title) {
+        if (title == null || title.isEmpty()) {
+            positionComboBox.setSelectedIndex(positionComboBox.getItemCount() > 0 ? 0 : -1);
+            return;
+        }
+        // Keep a title the cache does not know yet, e.g. one added since it was loaded
+        if (((DefaultComboBoxModel<String>) positionComboBox.getModel()).getIndexOf(title) < 0) {
+            positionComboBox.addItem(title);
+        }
+        positionComboBox.setSelectedItem(title);
+    }
+
     private void setEditMode(boolean editMode) {
         this.isEditMode = editMode;
         setFieldsEditable(editMode);
@@ -386,7 +428,7 @@ public class EmployeeDetailsDialog extends JDialog {
         tinField.setEditable(editable);
         pagibigField.setEditable(editable);
         statusComboBox.setEnabled(editable);
-        positionField.setEditable(editable);
+        positionComboBox.setEnabled(editable);
         supervisorField.setEditable(editable);
         basicSalaryField.setEditable(editable);
         riceSubsidyField.setEditable(editable);
@@ -437,7 +479,7 @@ public class EmployeeDetailsDialog extends JDialog {
             employee.setTinNumber(tinField.getText().trim());
             employee.setPagibigNumber(pagibigField.getText().trim());
             employee.setStatus((String) statusComboBox.getSelectedItem());
-            employee.setPosition(positionField.getText().trim());
+            employee.setPosition((String) positionComboBox.getSelectedItem());
             employee.setImmediateSupervisor(supervisorField.getText().trim());
 
             // Parse salary fields
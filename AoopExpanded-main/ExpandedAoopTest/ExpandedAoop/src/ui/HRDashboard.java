@@ -1,11 +1,15 @@
 package ui;
 
-import dao.EmployeeDAO;
 import dao.AttendanceDAO;
+import dao.EmployeeDAO;
+import dao.EmployeeSort;
 import model.Employee;
+import model.EmployeeSummary;
 import model.Attendance;
 import model.Payroll;
+import service.DashboardDataService;
 import service.PayrollCalculator;
+import service.PayrollRunService;
 import ui.LoginForm;
 import ui.EmployeeDetailsDialog;
 import ui.PasswordChangeDialog;
@@ -15,16 +19,28 @@ import ui.ReportsDialog;
 import ui.PayrollDetailsDialog;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 public class HRDashboard extends JFrame {
     private Employee currentUser;
@@ -32,8 +48,9 @@ public class HRDashboard extends JFrame {
 
     // Employee Management Tab
     private JTable employeeTable;
-    private DefaultTableModel employeeTableModel;
-    private TableRowSorter<DefaultTableModel> tableSorter;
+    private PagedTableModel<EmployeeSummary> employeeTableModel;
+    private List<EmployeeSummary> searchResults; // null while all employees are shown
+    private Timer searchDebounce;
     private JTextField searchField;
     private JComboBox<String> sortOrderComboBox;
     private JButton sortButton;
@@ -47,13 +64,37 @@ public class HRDashboard extends JFrame {
 
     // Attendance Tab
     private JTable attendanceTable;
-    private DefaultTableModel attendanceTableModel;
+    private PagedTableModel<Attendance> attendanceTableModel;
     private JComboBox<Employee> employeeComboBox;
 
     // Services
     private EmployeeDAO employeeDAO;
     private AttendanceDAO attendanceDAO;
-    private PayrollCalculator payrollCalculator;
+    private DashboardDataService dataService;
+    private PayrollRunService payrollRunService; // Created on first Calculate All, guarded by this
+
+    // Background loads of each view; a reload drops the results of the one before (EDT only)
+    private final BackgroundResults.Generation comboLoads = new BackgroundResults.Generation();
+    private final BackgroundResults.Generation payrollLoads = new BackgroundResults.Generation();
+    private final BackgroundResults.Generation searches = new BackgroundResults.Generation();
+
+    // Tabs are populated on first selection; a stale tab is reloaded the next time it is shown (EDT only)
+    private boolean employeeTabStale = true;
+    private boolean payrollTabStale = true;
+    private boolean attendanceTabStale = true;
+
+    private static final int ROW_BATCH_SIZE = 100;
+
+    // Employee and attendance tables load this many rows per query and keep a few pages around the viewport
+    private static final int PAGE_SIZE = 50;
+    private static final int CACHED_PAGES = 6;
+
+    // Search runs once typing pauses for this long
+    private static final int SEARCH_DELAY_MS = 150;
+
+    private static final int EMPLOYEE_TAB = 0;
+    private static final int PAYROLL_TAB = 1;
+    private static final int ATTENDANCE_TAB = 2;
 
     public HRDashboard(Employee user) {
         this.currentUser = user;
@@ -62,14 +103,14 @@ public class HRDashboard extends JFrame {
             // Initialize DAOs and services
             this.employeeDAO = new EmployeeDAO();
             this.attendanceDAO = new AttendanceDAO();
-            this.payrollCalculator = new PayrollCalculator();
+            this.dataService = new DashboardDataService();
 
             // Initialize UI components
             initializeComponents();
             setupLayout();
             setupEventHandlers();
 
-            // Load initial data
+            // Load the visible tab in the background; the others load when first selected
             loadData();
 
             System.out.println("✅ HR Dashboard initialized successfully for: " + user.getFullName());
@@ -163,36 +204,12 @@ public class HRDashboard extends JFrame {
 
         // Initialize Employee Management components with Actions column
         String[] employeeColumns = {"ID", "Name", "Position", "Status", "Basic Salary", "Phone", "Actions"};
-        employeeTableModel = new DefaultTableModel(employeeColumns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make all cells non-editable
-            }
-
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                // Return Integer for ID column to enable proper numeric sorting
-                if (columnIndex == 0) {
-                    return Integer.class;
-                }
-                return String.class;
-            }
-        };
+        // Rows are paged in from the database already sorted, so the table has no row sorter
+        employeeTableModel = new PagedTableModel<>(employeeColumns, HRDashboard::employeeRow,
+                PAGE_SIZE, CACHED_PAGES, dataService.getExecutor());
 
         employeeTable = new JTable(employeeTableModel);
 
-        // Initialize table sorter with custom comparator for ID column
-        tableSorter = new TableRowSorter<>(employeeTableModel);
-        employeeTable.setRowSorter(tableSorter);
-
-        // Set custom comparator for ID column (column 0) to ensure proper numeric sorting
-        tableSorter.setComparator(0, new Comparator<Integer>() {
-            @Override
-            public int compare(Integer o1, Integer o2) {
-                return Integer.compare(o1, o2);
-            }
-        });
-
         searchField = new JTextField(20);
 
         // Enhanced: Add sort order combo box
@@ -242,12 +259,8 @@ public class HRDashboard extends JFrame {
 
         // Attendance components
         String[] attendanceColumns = {"Date", "Log In", "Log Out", "Work Hours", "Late", "Undertime", "Status"};
-        attendanceTableModel = new DefaultTableModel(attendanceColumns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        attendanceTableModel = new PagedTableModel<>(attendanceColumns, HRDashboard::attendanceRow,
+                PAGE_SIZE, CACHED_PAGES, dataService.getExecutor());
         attendanceTable = new JTable(attendanceTableModel);
         employeeComboBox = new JComboBox<>();
     }
@@ -270,7 +283,7 @@ public class HRDashboard extends JFrame {
         table.setGridColor(Color.LIGHT_GRAY);
 
         // Enable sorting by clicking column headers
-        table.setAutoCreateRowSorter(false); // We're using our custom sorter
+        table.setAutoCreateRowSorter(false); // Sorting is handled by the sort controls
     }
 
     private void setupLayout() {
@@ -371,10 +384,7 @@ public class HRDashboard extends JFrame {
         refreshButton.setForeground(Color.BLACK);
         refreshButton.setFont(new Font("Arial", Font.BOLD, 11));
         refreshButton.setPreferredSize(new Dimension(120, 25));
-        refreshButton.addActionListener(e -> {
-            loadEmployeeData();
-            showStatus("Employee data refreshed");
-        });
+        refreshButton.addActionListener(e -> reloadEmployees());
         searchSortPanel.add(refreshButton);
 
         // Action buttons panel
@@ -420,41 +430,40 @@ public class HRDashboard extends JFrame {
 
     // Enhanced sorting method
     private void applySorting() {
-        String selectedSort = (String) sortOrderComboBox.getSelectedItem();
-
         try {
-            switch (selectedSort) {
-                case "ID: Ascending":
-                    tableSorter.setSortKeys(java.util.List.of(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
-                    showStatus("Sorted by Employee ID: Ascending");
-                    break;
-                case "ID: Descending":
-                    tableSorter.setSortKeys(java.util.List.of(new RowSorter.SortKey(0, SortOrder.DESCENDING)));
-                    showStatus("Sorted by Employee ID: Descending");
-                    break;
-                case "Name: A-Z":
-                    tableSorter.setSortKeys(java.util.List.of(new RowSorter.SortKey(1, SortOrder.ASCENDING)));
-                    showStatus("Sorted by Name: A-Z");
-                    break;
-                case "Name: Z-A":
-                    tableSorter.setSortKeys(java.util.List.of(new RowSorter.SortKey(1, SortOrder.DESCENDING)));
-                    showStatus("Sorted by Name: Z-A");
-                    break;
-                case "Position: A-Z":
-                    tableSorter.setSortKeys(java.util.List.of(new RowSorter.SortKey(2, SortOrder.ASCENDING)));
-                    showStatus("Sorted by Position: A-Z");
-                    break;
-                default:
-                    tableSorter.setSortKeys(java.util.List.of(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
-                    showStatus("Default sorting applied");
-                    break;
+            // Sorting is done by the database, so the list is paged in again in the new order
+            if (searchResults != null) {
+                showSearchResults();
+            } else {
+                loadEmployeeData();
             }
+            showStatus("Sorted by " + sortOrderComboBox.getSelectedItem());
         } catch (Exception e) {
             showStatus("Error applying sort: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    private EmployeeSort selectedSort() {
+        String selectedSort = (String) sortOrderComboBox.getSelectedItem();
+        if (selectedSort == null) {
+            return EmployeeSort.ID_ASC;
+        }
+        switch (selectedSort) {
+            case "ID: Descending":
+                return EmployeeSort.ID_DESC;
+            case "Name: A-Z":
+                return EmployeeSort.NAME_ASC;
+            case "Name: Z-A":
+                return EmployeeSort.NAME_DESC;
+            case "Position: A-Z":
+                return EmployeeSort.POSITION_ASC;
+            case "ID: Ascending":
+            default:
+                return EmployeeSort.ID_ASC;
+        }
+    }
+
     private void showStatus(String message) {
         // Update status in a status bar or show a temporary message
         // For now, we'll print to console and could show in a status label
@@ -633,10 +642,7 @@ public class HRDashboard extends JFrame {
         JButton refreshButton = new JButton("🔄 Refresh");
 
         viewButton.addActionListener(e -> loadAttendanceData());
-        refreshButton.addActionListener(e -> {
-            loadEmployeeComboBox();
-            loadAttendanceData();
-        });
+        refreshButton.addActionListener(e -> reloadEmployees());
 
         topPanel.add(viewButton);
         topPanel.add(refreshButton);
@@ -651,6 +657,26 @@ public class HRDashboard extends JFrame {
         // Search field enter key
         searchField.addActionListener(e -> searchEmployees());
 
+        // Search as you type, once typing pauses
+        searchDebounce = new Timer(SEARCH_DELAY_MS, e -> searchEmployees());
+        searchDebounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchDebounce.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes only
+            }
+        });
+
         // Enhanced: Sort button and combo box handlers
         sortButton.addActionListener(e -> applySorting());
         sortOrderComboBox.addActionListener(e -> applySorting());
@@ -659,8 +685,11 @@ public class HRDashboard extends JFrame {
         employeeComboBox.addActionListener(e -> loadAttendanceData());
 
         // Month/Year combo box changes
-        monthComboBox.addActionListener(e -> loadPayrollData());
-        yearComboBox.addActionListener(e -> loadPayrollData());
+        monthComboBox.addActionListener(e -> payrollPeriodChanged());
+        yearComboBox.addActionListener(e -> payrollPeriodChanged());
+
+        // Populate tabs on demand
+        tabbedPane.addChangeListener(e -> loadSelectedTab());
 
         // Employee table mouse click handler for actions
         employeeTable.addMouseListener(new MouseAdapter() {
@@ -697,22 +726,30 @@ public class HRDashboard extends JFrame {
                     // Toggle between ascending and descending for ID column
                     isAscendingSort = !isAscendingSort;
                     String sortType = isAscendingSort ? "ID: Ascending" : "ID: Descending";
-                    sortOrderComboBox.setSelectedItem(sortType);
-                    applySorting();
+                    sortOrderComboBox.setSelectedItem(sortType); // Reloads through the combo box listener
                 }
             }
         });
     }
 
     private void handleEmployeeAction(int row, MouseEvent e) {
-        // Convert view row to model row due to sorting
-        int modelRow = employeeTable.convertRowIndexToModel(row);
-        int employeeId = (Integer) employeeTableModel.getValueAt(modelRow, 0);
-
-        Employee employee = employeeDAO.getEmployeeById(employeeId);
-
-        if (employee == null) return;
+        EmployeeSummary listed = employeeTableModel.getRow(row);
+        if (listed == null) return; // Row still loading
+
+        // The list only holds summaries; the actions need the full record
+        BackgroundResults.onEdt(dataService.getEmployee(listed.getEmployeeId()), employeeTable::isShowing,
+                employee -> {
+            if (employee != null) {
+                showEmployeeActions(employee, e.getX(), e.getY());
+            }
+        }, error -> {
+            JOptionPane.showMessageDialog(this, "Error loading employee: " + error.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            error.printStackTrace();
+        });
+    }
 
+    private void showEmployeeActions(Employee employee, int x, int y) {
         // Show context menu with options
         JPopupMenu popup = new JPopupMenu();
 
@@ -736,7 +773,7 @@ public class HRDashboard extends JFrame {
         popup.addSeparator();
         popup.add(deleteItem);
 
-        popup.show(employeeTable, e.getX(), e.getY());
+        popup.show(employeeTable, x, y);
     }
 
     private void handlePayrollAction(int row) {
@@ -748,7 +785,7 @@ public class HRDashboard extends JFrame {
     private void showAddEmployeeDialog() {
         EmployeeDetailsDialog dialog = new EmployeeDetailsDialog(this, null, true);
         dialog.setVisible(true);
-        loadEmployeeData(); // Refresh after potential addition
+        reloadEmployees(); // Refresh after potential addition
     }
 
     private void showEmployeeDetails(Employee employee) {
@@ -759,7 +796,7 @@ public class HRDashboard extends JFrame {
     private void showEditEmployeeDialog(Employee employee) {
         EmployeeDetailsDialog dialog = new EmployeeDetailsDialog(this, employee, false);
         dialog.setVisible(true);
-        loadEmployeeData(); // Refresh after potential edit
+        reloadEmployees(); // Refresh after potential edit
     }
 
     private void showPasswordChangeDialog(Employee employee) {
@@ -786,8 +823,7 @@ public class HRDashboard extends JFrame {
                     JOptionPane.showMessageDialog(this,
                             "Employee " + employee.getFullName() + " deleted successfully.",
                             "Success", JOptionPane.INFORMATION_MESSAGE);
-                    loadEmployeeData(); // Refresh table
-                    loadEmployeeComboBox(); // Refresh combo box
+                    reloadEmployees(); // Refresh table and combo box
                 } else {
                     JOptionPane.showMessageDialog(this,
                             "Failed to delete employee. Please try again.",
@@ -836,138 +872,271 @@ public class HRDashboard extends JFrame {
     }
 
     // Data loading methods
+    // DB and payroll work runs on the DashboardDataService workers; table models are only touched on the EDT
     private void loadData() {
-        loadEmployeeData();
-        loadEmployeeComboBox();
-        loadPayrollData();
-        loadAttendanceData();
+        loadSelectedTab();
+    }
 
-        // Apply default sorting after loading data
-        applySorting();
+    /**
+     * Populate the selected tab if it has not been loaded yet or its data went stale
+     */
+    private void loadSelectedTab() {
+        switch (tabbedPane.getSelectedIndex()) {
+            case EMPLOYEE_TAB:
+                if (employeeTabStale) {
+                    employeeTabStale = false;
+                    loadEmployeeData();
+                }
+                break;
+            case PAYROLL_TAB:
+                if (payrollTabStale) {
+                    payrollTabStale = false;
+                    loadPayrollData();
+                }
+                break;
+            case ATTENDANCE_TAB:
+                if (attendanceTabStale) {
+                    attendanceTabStale = false;
+                    loadEmployeeComboBox();
+                }
+                break;
+            default:
+                // Leave Management and Reports open their own dialogs
+                break;
+        }
+    }
+
+    /**
+     * Recalculate payroll for the new period only if the payroll tab is showing
+     */
+    private void payrollPeriodChanged() {
+        if (tabbedPane.getSelectedIndex() == PAYROLL_TAB) {
+            payrollTabStale = false;
+            loadPayrollData();
+        } else {
+            payrollTabStale = true;
+        }
+    }
+
+    /**
+     * Fetch the employee list again and refresh the visible tab; the others reload when next shown
+     */
+    private void reloadEmployees() {
+        dataService.refreshEmployees();
+        employeeTabStale = true;
+        payrollTabStale = true;
+        attendanceTabStale = true;
+        loadSelectedTab();
+        showStatus("Employee data refreshed");
     }
 
     private void loadEmployeeData() {
-        employeeTableModel.setRowCount(0);
+        searchResults = null;
+        searches.supersede(); // Drop a search still in flight
+        showStatus("Loading employees...");
 
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-
-            for (Employee emp : employees) {
-                Object[] row = {
-                        emp.getEmployeeId(), // This will be treated as Integer for proper sorting
-                        emp.getFullName(),
-                        emp.getPosition(),
-                        emp.getStatus(),
-                        String.format("₱%.2f", emp.getBasicSalary()),
-                        emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "N/A",
-                        "Actions" // This will be rendered as a button
-                };
-                employeeTableModel.addRow(row);
+        EmployeeSort sort = selectedSort();
+        employeeTableModel.setSource(new PagedTableModel.PageSource<EmployeeSummary>() {
+            @Override
+            public int count() {
+                return employeeDAO.getEmployeeCount();
             }
 
-            // Update status after loading
-            showStatus("Loaded " + employees.size() + " employees");
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading employee data: " + e.getMessage(),
+            @Override
+            public List<EmployeeSummary> fetch(EmployeeSummary after, int offset, int limit) {
+                return employeeDAO.getEmployeeSummaryPage(sort, after, limit);
+            }
+        }, count -> showStatus("Loaded " + count + " employees"), error -> {
+            JOptionPane.showMessageDialog(this, "Error loading employee data: " + error.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+            error.printStackTrace();
             showStatus("Error loading employee data");
-        }
+        });
     }
 
-    private void loadEmployeeComboBox() {
-        employeeComboBox.removeAllItems();
+    private static Object[] employeeRow(EmployeeSummary emp) {
+        return new Object[]{
+                emp.getEmployeeId(),
+                emp.getFullName(),
+                emp.getPositionTitle(),
+                emp.getStatus(),
+                String.format("₱%.2f", emp.getBasicSalary()),
+                emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "N/A",
+                "Actions" // This will be rendered as a button
+        };
+    }
 
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
-            for (Employee emp : employees) {
-                employeeComboBox.addItem(emp);
+    private void loadEmployeeComboBox() {
+        BooleanSupplier current = comboLoads.next();
+
+        BackgroundResults.onEdt(dataService.getEmployees(), current, employees -> {
+            Employee previous = (Employee) employeeComboBox.getSelectedItem();
+            DefaultComboBoxModel<Employee> model = new DefaultComboBoxModel<>(employees.toArray(new Employee[0]));
+            if (previous != null) {
+                for (Employee emp : employees) {
+                    if (emp.getEmployeeId() == previous.getEmployeeId()) {
+                        model.setSelectedItem(emp);
+                        break;
+                    }
+                }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+            employeeComboBox.setModel(model);
+            loadAttendanceData();
+        }, Throwable::printStackTrace);
     }
 
     private void loadPayrollData() {
+        BooleanSupplier current = payrollLoads.next();
         payrollTableModel.setRowCount(0);
 
-        try {
-            List<Employee> employees = employeeDAO.getAllEmployees();
+        // Get selected period
+        int selectedMonth = monthComboBox.getSelectedIndex() + 1;
+        int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+
+        LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
+        LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+        String periodLabel = periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy"));
+        showStatus("Calculating payroll for " + periodLabel + "...");
+
+        // One batch calculation for the whole period, shared with the employee list
+        CompletableFuture<List<Object[]>> rows = dataService.getEmployees().thenCombine(
+                dataService.getPayroll(periodStart, periodEnd),
+                (employees, payrollByEmployee) -> buildPayrollRows(employees, payrollByEmployee, periodLabel));
+
+        BackgroundResults.onEdt(rows, current, result ->
+                publishRows(payrollTableModel, result, current, () -> {
+                    showStatus("Payroll loaded for " + periodLabel);
+                    prefetchPayroll(periodStart.minusMonths(1));
+                }), error -> {
+            JOptionPane.showMessageDialog(this, "Error loading payroll data: " + error.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            error.printStackTrace();
+        });
+    }
 
-            // Get selected period
-            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
-            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+    /**
+     * Calculate the month before the displayed one in the background, so stepping back
+     * through periods usually finds the payroll already done
+     */
+    private void prefetchPayroll(LocalDate monthStart) {
+        LocalDate monthEnd = monthStart.withDayOfMonth(monthStart.lengthOfMonth());
+        if (!dataService.hasPayroll(monthStart, monthEnd)) {
+            dataService.getPayroll(monthStart, monthEnd);
+        }
+    }
 
-            LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
-            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+    private static List<Object[]> buildPayrollRows(List<Employee> employees,
+                                                   Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee,
+                                                   String periodLabel) {
+        List<Object[]> rows = new ArrayList<>(employees.size());
+        for (Employee emp : employees) {
+            rows.add(payrollRow(emp, payrollByEmployee.get(emp.getEmployeeId()), periodLabel));
+        }
+        return rows;
+    }
 
-            for (Employee emp : employees) {
-                try {
-                    PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
-
-                    Object[] row = {
-                            emp.getEmployeeId(),
-                            emp.getFullName(),
-                            periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy")),
-                            payrollData.getDaysWorked(),
-                            String.format("₱%.2f", payrollData.getGrossPay()),
-                            String.format("₱%.2f", payrollData.getTotalDeductions()),
-                            String.format("₱%.2f", payrollData.getNetPay()),
-                            "View Payslip" // This will be rendered as a button
-                    };
-                    payrollTableModel.addRow(row);
-                } catch (Exception e) {
-                    // Add row with error status
-                    Object[] row = {
-                            emp.getEmployeeId(),
-                            emp.getFullName(),
-                            periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy")),
-                            "Error",
-                            "Error",
-                            "Error",
-                            "Error",
-                            "View Error"
-                    };
-                    payrollTableModel.addRow(row);
-                }
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading payroll data: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+    private static Object[] payrollRow(Employee emp, PayrollCalculator.PayrollData payrollData, String periodLabel) {
+        if (payrollData != null) {
+            return new Object[]{
+                    emp.getEmployeeId(),
+                    emp.getFullName(),
+                    periodLabel,
+                    payrollData.getDaysWorked(),
+                    String.format("₱%.2f", payrollData.getGrossPay()),
+                    String.format("₱%.2f", payrollData.getTotalDeductions()),
+                    String.format("₱%.2f", payrollData.getNetPay()),
+                    "View Payslip" // This will be rendered as a button
+            };
         }
+        // No position assigned: add row with error status
+        return new Object[]{
+                emp.getEmployeeId(),
+                emp.getFullName(),
+                periodLabel,
+                "Error",
+                "Error",
+                "Error",
+                "Error",
+                "View Error"
+        };
     }
 
     private void loadAttendanceData() {
-        attendanceTableModel.setRowCount(0);
-
         Employee selectedEmployee = (Employee) employeeComboBox.getSelectedItem();
-        if (selectedEmployee == null) return;
+        if (selectedEmployee == null) {
+            attendanceTableModel.clear();
+            return;
+        }
 
-        try {
-            List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeId(selectedEmployee.getEmployeeId());
-
-            for (Attendance att : attendanceList) {
-                Object[] row = {
-                        att.getDate(),
-                        att.getLogIn() != null ? att.getLogIn() : "N/A",
-                        att.getLogOut() != null ? att.getLogOut() : "N/A",
-                        String.format("%.2f hrs", att.getWorkHours()),
-                        att.isLate() ? "Yes" : "No",
-                        att.hasUndertime() ? "Yes" : "No",
-                        att.isFullDay() ? "Full Day" : "Partial Day"
-                };
-                attendanceTableModel.addRow(row);
+        // Newest records first; older history is only queried when scrolled to
+        int employeeId = selectedEmployee.getEmployeeId();
+        attendanceTableModel.setSource(new PagedTableModel.PageSource<Attendance>() {
+            @Override
+            public int count() {
+                return attendanceDAO.countAttendanceByEmployeeId(employeeId);
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading attendance data: " + e.getMessage(),
+
+            @Override
+            public List<Attendance> fetch(Attendance after, int offset, int limit) {
+                return attendanceDAO.getAttendancePage(employeeId,
+                        after != null ? after.getDate().toLocalDate() : null, limit);
+            }
+        }, null, error -> {
+            JOptionPane.showMessageDialog(this, "Error loading attendance data: " + error.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+            error.printStackTrace();
+        });
+    }
+
+    private static Object[] attendanceRow(Attendance att) {
+        return new Object[]{
+                att.getDate(),
+                att.getLogIn() != null ? att.getLogIn() : "N/A",
+                att.getLogOut() != null ? att.getLogOut() : "N/A",
+                String.format("%.2f hrs", att.getWorkHours()),
+                att.isLate() ? "Yes" : "No",
+                att.hasUndertime() ? "Yes" : "No",
+                att.isFullDay() ? "Full Day" : "Partial Day"
+        };
+    }
+
+    /**
+     * Append rows in batches, one EDT event per batch, so large tables appear progressively
+     * without freezing the window. Stops if the view is reloaded before it finishes.
+     */
+    private void publishRows(DefaultTableModel model, List<Object[]> rows, BooleanSupplier stillCurrent,
+                             Runnable whenDone) {
+        if (!stillCurrent.getAsBoolean()) {
+            return;
+        }
+        model.setRowCount(0);
+        publishBatch(model, rows, 0, stillCurrent, whenDone);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void publishBatch(DefaultTableModel model, List<Object[]> rows, int from, BooleanSupplier stillCurrent,
+                              Runnable whenDone) {
+        if (!stillCurrent.getAsBoolean()) {
+            return;
+        }
+        int to = Math.min(rows.size(), from + ROW_BATCH_SIZE);
+        if (to > from) {
+            Vector data = model.getDataVector();
+            int firstRow = data.size();
+            for (int i = from; i < to; i++) {
+                data.add(new Vector<>(Arrays.asList(rows.get(i))));
+            }
+            model.fireTableRowsInserted(firstRow, data.size() - 1);
+        }
+        if (to < rows.size()) {
+            SwingUtilities.invokeLater(() -> publishBatch(model, rows, to, stillCurrent, whenDone));
+        } else if (whenDone != null) {
+            whenDone.run();
         }
     }
 
     private void searchEmployees() {
+        searchDebounce.stop();
         String searchTerm = searchField.getText().trim();
         if (searchTerm.isEmpty()) {
             loadEmployeeData();
@@ -975,32 +1144,31 @@ public class HRDashboard extends JFrame {
             return;
         }
 
-        employeeTableModel.setRowCount(0);
-
-        try {
-            List<Employee> employees = employeeDAO.searchEmployees(searchTerm);
-
-            for (Employee emp : employees) {
-                Object[] row = {
-                        emp.getEmployeeId(),
-                        emp.getFullName(),
-                        emp.getPosition(),
-                        emp.getStatus(),
-                        String.format("₱%.2f", emp.getBasicSalary()),
-                        emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "N/A",
-                        "Actions"
-                };
-                employeeTableModel.addRow(row);
-            }
-
-            showStatus("Found " + employees.size() + " employees matching '" + searchTerm + "'");
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error searching employees: " + e.getMessage(),
+        // The index answers from memory; it is only built in the background on first use
+        BackgroundResults.onEdt(dataService.getSearchIndex().thenApply(index -> index.search(searchTerm, 0)),
+                searches.next(), results -> {
+            // Shown in rank order; picking a sort order re-sorts them
+            searchResults = results.stream().map(EmployeeSummary::of).collect(Collectors.toList());
+            employeeTableModel.setSource(PagedTableModel.listSource(searchResults), null, error -> {
+                error.printStackTrace();
+                showStatus("Error showing search results");
+            });
+            showStatus("Found " + results.size() + " employees matching '" + searchTerm + "'");
+        }, error -> {
+            JOptionPane.showMessageDialog(this, "Error searching employees: " + error.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+            error.printStackTrace();
             showStatus("Error searching employees");
-        }
+        });
+    }
+
+    private void showSearchResults() {
+        List<EmployeeSummary> sorted = new ArrayList<>(searchResults);
+        sorted.sort(selectedSort().summaryComparator());
+        employeeTableModel.setSource(PagedTableModel.listSource(sorted), null, error -> {
+            error.printStackTrace();
+            showStatus("Error showing search results");
+        });
     }
 
     private void generateSelectedPayroll() {
@@ -1020,49 +1188,180 @@ public class HRDashboard extends JFrame {
                 "This will calculate payroll for all employees. Continue?",
                 "Confirm Calculation", JOptionPane.YES_NO_OPTION);
 
-        if (confirm == JOptionPane.YES_OPTION) {
-            // Show progress dialog
-            JProgressBar progressBar = new JProgressBar(0, employeeTableModel.getRowCount());
-            progressBar.setStringPainted(true);
-
-            JDialog progressDialog = new JDialog(this, "Calculating Payrolls", true);
-            progressDialog.add(new JLabel("Calculating payrolls for all employees..."), BorderLayout.NORTH);
-            progressDialog.add(progressBar, BorderLayout.CENTER);
-            progressDialog.setSize(400, 100);
-            progressDialog.setLocationRelativeTo(this);
-
-            SwingWorker<Void, Integer> worker = new SwingWorker<Void, Integer>() {
-                @Override
-                protected Void doInBackground() throws Exception {
-                    List<Employee> employees = employeeDAO.getAllEmployees();
-
-                    for (int i = 0; i < employees.size(); i++) {
-                        // Simulate calculation time
-                        Thread.sleep(100);
-                        publish(i + 1);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        int selectedMonth = monthComboBox.getSelectedIndex() + 1;
+        int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+        LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
+        LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+        String periodLabel = periodStart.format(DateTimeFormatter.ofPattern("MMM yyyy"));
+
+        // Rows stream into the payroll table as employees finish; any load still in flight is dropped
+        BooleanSupplier current = payrollLoads.next();
+        payrollTableModel.setRowCount(0);
+        payrollTabStale = false;
+
+        // Show progress dialog
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setIndeterminate(true);
+        JLabel rateLabel = new JLabel("Loading employees...");
+        JButton cancelButton = new JButton("Cancel");
+
+        JDialog progressDialog = new JDialog(this, "Calculating Payrolls", true);
+        progressDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        progressDialog.add(new JLabel("Calculating payrolls for all employees..."), BorderLayout.NORTH);
+        progressDialog.add(progressBar, BorderLayout.CENTER);
+        JPanel bottomPanel = new JPanel(new BorderLayout(10, 0));
+        bottomPanel.add(rateLabel, BorderLayout.CENTER);
+        bottomPanel.add(cancelButton, BorderLayout.EAST);
+        progressDialog.add(bottomPanel, BorderLayout.SOUTH);
+        progressDialog.setSize(450, 130);
+        progressDialog.setLocationRelativeTo(this);
+
+        long startTime = System.currentTimeMillis();
+        AtomicReference<PayrollRunService.PayrollRun> runRef = new AtomicReference<>();
+        AtomicBoolean cancelRequested = new AtomicBoolean();
+
+        cancelButton.addActionListener(e -> {
+            cancelRequested.set(true);
+            PayrollRunService.PayrollRun run = runRef.get();
+            if (run != null) {
+                run.cancel();
+            }
+            cancelButton.setEnabled(false);
+            rateLabel.setText("Cancelling, waiting for running calculations...");
+        });
+
+        // Throughput and ETA from the run itself, so failed employees count too
+        Timer progressTimer = new Timer(250, e -> {
+            PayrollRunService.PayrollRun run = runRef.get();
+            if (run == null || cancelRequested.get()) {
+                return;
+            }
+            int completed = run.getCompleted();
+            int total = run.getTotal();
+            double seconds = (System.currentTimeMillis() - startTime) / 1000.0;
+            double perSecond = seconds > 0 ? completed / seconds : 0;
+
+            progressBar.setIndeterminate(false);
+            progressBar.setMaximum(Math.max(1, total));
+            progressBar.setValue(completed);
+            progressBar.setString(completed + " / " + total + " completed");
+            rateLabel.setText(perSecond > 0
+                    ? String.format("%.1f employees/s, about %.0f s left", perSecond, (total - completed) / perSecond)
+                    : "Starting...");
+        });
+
+        SwingWorker<PayrollRunService.RunResult, PayrollCalculator.PayrollData> worker =
+                new SwingWorker<PayrollRunService.RunResult, PayrollCalculator.PayrollData>() {
+            // Written before the run starts, so visible to process() and done()
+            private volatile List<Employee> employees;
+            private volatile Map<Integer, Employee> employeesById;
+
+            @Override
+            protected PayrollRunService.RunResult doInBackground() throws Exception {
+                List<Employee> all = dataService.getEmployees().join();
+                Map<Integer, Employee> byId = new LinkedHashMap<>();
+                for (Employee emp : all) {
+                    byId.put(emp.getEmployeeId(), emp);
+                }
+                employees = all;
+                employeesById = byId;
+
+                PayrollRunService.PayrollRun run = getPayrollRunService().start(byId.keySet(), periodStart, periodEnd,
+                        new PayrollRunService.ProgressListener() {
+                            @Override
+                            public void onCalculated(PayrollCalculator.PayrollData data) {
+                                publish(data);
+                            }
+
+                            @Override
+                            public void onProgress(int completed, int total, int employeeId, boolean success) {
+                                // Polled by the progress timer
+                            }
+                        });
+                runRef.set(run);
+                if (cancelRequested.get()) {
+                    run.cancel();
+                }
+                return run.await();
+            }
+
+            @Override
+            protected void process(List<PayrollCalculator.PayrollData> chunks) {
+                if (!current.getAsBoolean()) {
+                    return;
+                }
+                for (PayrollCalculator.PayrollData data : chunks) {
+                    Employee emp = employeesById.get(data.getEmployeeId());
+                    if (emp != null) {
+                        payrollTableModel.addRow(payrollRow(emp, data, periodLabel));
                     }
-                    return null;
                 }
+            }
 
-                @Override
-                protected void process(java.util.List<Integer> chunks) {
-                    int latest = chunks.get(chunks.size() - 1);
-                    progressBar.setValue(latest);
-                    progressBar.setString(latest + " / " + employeeTableModel.getRowCount() + " completed");
+            @Override
+            protected void done() {
+                progressTimer.stop();
+                progressDialog.dispose();
+
+                PayrollRunService.RunResult result;
+                try {
+                    result = get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                            ? e.getCause().getCause() : e.getCause();
+                    JOptionPane.showMessageDialog(HRDashboard.this, "Error calculating payrolls: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    cause.printStackTrace();
+                    return;
                 }
 
-                @Override
-                protected void done() {
-                    progressDialog.dispose();
-                    loadPayrollData();
-                    JOptionPane.showMessageDialog(HRDashboard.this,
-                            "Payroll calculation completed for all employees!",
-                            "Success", JOptionPane.INFORMATION_MESSAGE);
+                if (!result.isCancelled()) {
+                    // Keep the results so reloading the table does not calculate them again
+                    dataService.putPayroll(periodStart, periodEnd, result.getResults());
+                    // Replace the streamed rows with the full list in employee order
+                    publishRows(payrollTableModel, buildPayrollRows(employees, result.getResults(), periodLabel),
+                            current, null);
                 }
-            };
 
-            worker.execute();
-            progressDialog.setVisible(true);
+                double seconds = (System.currentTimeMillis() - startTime) / 1000.0;
+                int calculated = result.getResults().size();
+                StringBuilder message = new StringBuilder(String.format(
+                        "Payroll calculated for %d of %d employees in %.1f s (%.1f per second).",
+                        calculated, result.getTotal(), seconds, seconds > 0 ? calculated / seconds : 0));
+                if (!result.getFailures().isEmpty()) {
+                    message.append("\n").append(result.getFailures().size()).append(" failed: ")
+                            .append(result.getFailures().keySet());
+                }
+                if (result.isCancelled()) {
+                    message.append("\nCancelled: ").append(result.getSkippedCount()).append(" employees were skipped.");
+                }
+                showStatus("Payroll run finished for " + periodLabel);
+                JOptionPane.showMessageDialog(HRDashboard.this, message.toString(),
+                        result.isCancelled() ? "Calculation Cancelled" : "Success",
+                        result.getFailures().isEmpty() && !result.isCancelled()
+                                ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+            }
+        };
+
+        worker.execute();
+        progressTimer.start();
+        progressDialog.setVisible(true);
+    }
+
+    private PayrollRunService getPayrollRunService() {
+        synchronized (this) {
+            if (payrollRunService == null) {
+                payrollRunService = new PayrollRunService();
+            }
+            return payrollRunService;
         }
     }
 
@@ -1077,17 +1376,30 @@ public class HRDashboard extends JFrame {
     }
 
     private void showPayrollDetails(int employeeId) {
-        try {
-            Employee employee = employeeDAO.getEmployeeById(employeeId);
-
-            int selectedMonth = monthComboBox.getSelectedIndex() + 1;
-            int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+        int selectedMonth = monthComboBox.getSelectedIndex() + 1;
+        int selectedYear = Integer.parseInt((String) yearComboBox.getSelectedItem());
+
+        LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
+        LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+
+        // Reuses the period results already shown in the payroll table
+        CompletableFuture<Object[]> details = dataService.getEmployees().thenCombine(
+                dataService.getPayroll(periodStart, periodEnd), (employees, payrollByEmployee) -> {
+                    Employee employee = employees.stream()
+                            .filter(emp -> emp.getEmployeeId() == employeeId)
+                            .findFirst()
+                            .orElseThrow(() -> new IllegalStateException("Employee not found: " + employeeId));
+                    PayrollCalculator.PayrollData payrollData = payrollByEmployee.get(employeeId);
+                    if (payrollData == null) {
+                        throw new IllegalStateException("No position assigned to employee " + employeeId);
+                    }
+                    return new Object[]{employee, payrollData};
+                });
 
-            LocalDate periodStart = LocalDate.of(selectedYear, selectedMonth, 1);
-            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+        BackgroundResults.onEdt(details, () -> true, result -> {
+            Employee employee = (Employee) result[0];
+            PayrollCalculator.PayrollData payrollData = (PayrollCalculator.PayrollData) result[1];
 
-            PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd);
-            
             // Convert to Payroll object for dialog
             Payroll payroll = new Payroll();
             payroll.setEmployeeId(payrollData.getEmployeeId());
@@ -1109,12 +1421,11 @@ public class HRDashboard extends JFrame {
             // Create detailed payroll dialog
             PayrollDetailsDialog dialog = new PayrollDetailsDialog(this, employee, payroll);
             dialog.setVisible(true);
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error generating payroll: " + e.getMessage(),
+        }, error -> {
+            JOptionPane.showMessageDialog(this, "Error generating payroll: " + error.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+            error.printStackTrace();
+        });
     }
 
     private void logout() {
@@ -1128,6 +1439,19 @@ public class HRDashboard extends JFrame {
         }
     }
 
+    @Override
+    public void dispose() {
+        if (dataService != null) {
+            dataService.shutdown();
+        }
+        synchronized (this) {
+            if (payrollRunService != null) {
+                payrollRunService.shutdown();
+            }
+        }
+        super.dispose();
+    }
+
      // Custom renderer for action buttons
     private class ActionButtonRenderer extends DefaultTableCellRenderer {
         @Override
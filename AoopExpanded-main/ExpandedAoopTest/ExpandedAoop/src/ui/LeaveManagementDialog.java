@@ -11,6 +11,8 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class LeaveManagementDialog extends JDialog {
     private Employee currentUser;
@@ -151,8 +153,12 @@ public class LeaveManagementDialog extends JDialog {
                 requests = leaveRequestDAO.getLeaveRequestsByStatus(selectedStatus);
             }
 
+            // One batched lookup for the names instead of a query per request
+            Map<Integer, Employee> employees = employeeDAO.getEmployeesByIds(
+                    requests.stream().map(LeaveRequest::getEmployeeId).collect(Collectors.toList()));
+
             for (LeaveRequest request : requests) {
-                Employee emp = employeeDAO.getEmployeeById(request.getEmployeeId());
+                Employee emp = employees.get(request.getEmployeeId());
                 String employeeName = emp != null ? emp.getFullName() : "Unknown";
 
                 Object[] row = {
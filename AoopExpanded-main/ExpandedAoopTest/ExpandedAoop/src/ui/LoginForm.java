@@ -2,6 +2,7 @@ package ui;
 
 import dao.EmployeeDAO;
 import model.Employee;
+import service.StartupWarmup;
 import util.DBConnection;
 import ui.HRDashboard;
 import ui.EmployeeDashboard;
@@ -10,6 +11,11 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.lang.management.ManagementFactory;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -68,6 +74,8 @@ public class LoginForm extends JFrame {
         statusLabel.setForeground(Color.RED);
         showPasswordCheckBox.setFont(new Font("Arial", Font.PLAIN, 11));
         connectionStatusLabel.setFont(new Font("Arial", Font.ITALIC, 10));
+        connectionStatusLabel.setToolTipText("Click to run database diagnostics");
+        connectionStatusLabel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
 
         // Set button colors
         loginButton.setBackground(new Color(70, 130, 180));
@@ -260,13 +268,31 @@ public class LoginForm extends JFrame {
 
         // Set initial focus
         SwingUtilities.invokeLater(() -> employeeIdField.requestFocus());
+
+        // Detailed database diagnostics on demand
+        connectionStatusLabel.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                showDatabaseDiagnostics();
+            }
+        });
+
+        // Time from JVM launch until the user can log in
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                LOGGER.info(String.format("Login screen ready %d ms after launch",
+                        ManagementFactory.getRuntimeMXBean().getUptime()));
+            }
+        });
     }
 
     private void checkDatabaseConnection() {
         SwingWorker<Boolean, Void> connectionChecker = new SwingWorker<Boolean, Void>() {
             @Override
             protected Boolean doInBackground() throws Exception {
-                return DBConnection.testConnection();
+                // Liveness only; the full diagnostics run when the status label is clicked
+                return DBConnection.isDatabaseReachable();
             }
 
             @Override
@@ -292,6 +318,44 @@ public class LoginForm extends JFrame {
         connectionChecker.execute();
     }
 
+    /**
+     * Run the full table and row-count diagnostics on request and show the report
+     */
+    private void showDatabaseDiagnostics() {
+        connectionStatusLabel.setText("⏳ Running database diagnostics...");
+        connectionStatusLabel.setForeground(Color.GRAY);
+
+        SwingWorker<DBConnection.ConnectionTestResult, Void> diagnostics =
+                new SwingWorker<DBConnection.ConnectionTestResult, Void>() {
+            @Override
+            protected DBConnection.ConnectionTestResult doInBackground() {
+                return DBConnection.testConnectionDetailed();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    DBConnection.ConnectionTestResult result = get();
+                    boolean success = result.isOverallSuccess();
+                    connectionStatusLabel.setText(success ? "🟢 Database Connected" : "🔴 Database Connection Failed");
+                    connectionStatusLabel.setForeground(success ? new Color(0, 128, 0) : Color.RED);
+
+                    JTextArea report = new JTextArea(result.toString(), 20, 60);
+                    report.setEditable(false);
+                    report.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+                    JOptionPane.showMessageDialog(LoginForm.this, new JScrollPane(report),
+                            "Database Diagnostics",
+                            success ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+                } catch (Exception e) {
+                    connectionStatusLabel.setText("🔴 Database Error");
+                    connectionStatusLabel.setForeground(Color.RED);
+                    LOGGER.log(Level.SEVERE, "Database diagnostics failed", e);
+                }
+            }
+        };
+        diagnostics.execute();
+    }
+
     private void performLogin() {
         String employeeIdStr = employeeIdField.getText().trim();
         String password = new String(passwordField.getPassword());
@@ -377,8 +441,8 @@ public class LoginForm extends JFrame {
 
     private LoginResult performAuthentication(int employeeId, String password) {
         try {
-            // Test database connection first
-            if (!DBConnection.testConnection()) {
+            // Make sure the database is reachable first
+            if (!DBConnection.isDatabaseReachable()) {
                 return new LoginResult(false, null, "Database connection failed. Please check your connection.");
             }
 
@@ -542,6 +606,7 @@ public class LoginForm extends JFrame {
     }
 
     public static void main(String[] args) {
+        StartupWarmup.start();
         SwingUtilities.invokeLater(() -> {
             new LoginForm().setVisible(true);
         });
@@ -1,5 +1,6 @@
 package ui;
 
+import service.StartupWarmup;
 import util.DBConnection;
 import ui.LoginForm;
 import javax.swing.*;
@@ -7,7 +8,13 @@ import java.awt.*;
 
 public class MainApplication {
 
+    // Full table and row-count checks at launch instead of a single liveness probe
+    private static final boolean STARTUP_DIAGNOSTICS = Boolean.getBoolean("motorph.startup.diagnostics");
+
     public static void main(String[] args) {
+        // Load payroll services and the payslip template while the user logs in
+        StartupWarmup.start();
+
         // Set Look and Feel
         try {
             // Try to set system look and feel
@@ -22,7 +29,7 @@ public class MainApplication {
             System.out.println("Could not set system look and feel, using default");
         }
 
-        // Test database connection first
+        // Check the database behind the splash screen
         SwingUtilities.invokeLater(() -> {
             showSplashScreen();
         });
@@ -65,19 +72,16 @@ public class MainApplication {
             @Override
             protected Boolean doInBackground() throws Exception {
                 publish("Connecting to database...");
-                Thread.sleep(1000);
 
-                boolean connected = DBConnection.testConnection();
+                boolean connected = STARTUP_DIAGNOSTICS
+                        ? DBConnection.testConnection()
+                        : DBConnection.isDatabaseReachable();
 
                 if (connected) {
-                    publish("Database connected successfully!");
-                    Thread.sleep(500);
                     publish("Loading application...");
-                    Thread.sleep(1000);
                     return true;
                 } else {
                     publish("Database connection failed!");
-                    Thread.sleep(2000);
                     return false;
                 }
             }
@@ -0,0 +1,315 @@
+package ui;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Table model that loads rows a page at a time as the table asks for them instead of
+ * holding the whole result. Pages are fetched on a background executor, each one
+ * continuing after the last row of the page before it (keyset pagination), and only a
+ * small window of recently shown pages is kept. Rows that are not loaded yet show as
+ * "Loading..." until their page arrives.
+ * All methods must be called on the Event Dispatch Thread.
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+    private static final Logger LOGGER = Logger.getLogger(PagedTableModel.class.getName());
+
+    private static final String LOADING = "Loading...";
+
+    /**
+     * Where the rows come from, already in display order. Called on a background thread.
+     */
+    public interface PageSource<T> {
+        int count();
+
+        /**
+         * @param after last row of the previous page, or null for the first page
+         * @param offset index of the first row wanted, for sources that cannot use a keyset
+         * @param limit maximum number of rows to return
+         */
+        List<T> fetch(T after, int offset, int limit);
+
+        /**
+         * Whether fetch needs the last row of the previous page; sources that page by
+         * offset return false so the table can jump straight to any page
+         */
+        default boolean isKeyset() {
+            return true;
+        }
+    }
+
+    /**
+     * Page source over rows that are already in memory, such as search results
+     */
+    public static <T> PageSource<T> listSource(List<T> rows) {
+        List<T> snapshot = Collections.unmodifiableList(new ArrayList<>(rows));
+        return new PageSource<T>() {
+            @Override
+            public int count() {
+                return snapshot.size();
+            }
+
+            @Override
+            public List<T> fetch(T after, int offset, int limit) {
+                return snapshot.subList(Math.min(offset, snapshot.size()), Math.min(offset + limit, snapshot.size()));
+            }
+
+            @Override
+            public boolean isKeyset() {
+                return false;
+            }
+        };
+    }
+
+    private final String[] columns;
+    private final Function<T, Object[]> rowMapper;
+    private final int pageSize;
+    private final Executor executor;
+
+    private PageSource<T> source;
+    private int rowCount;
+    // Incremented whenever the source changes so pages of the previous source are dropped
+    private int generation;
+    private int wantedPage = -1;
+
+    private final Map<Integer, Page<T>> pages;
+    // Last row of the page before each page, kept after the page itself is evicted
+    private final Map<Integer, T> pageAnchors = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+
+    /**
+     * @param columns column names
+     * @param rowMapper converts a row into its cell values; runs on the background thread
+     * @param pageSize rows per query
+     * @param cachedPages pages kept in memory; must cover more than one screen of rows
+     * @param executor runs the page queries
+     */
+    public PagedTableModel(String[] columns, Function<T, Object[]> rowMapper, int pageSize, int cachedPages,
+                           Executor executor) {
+        if (pageSize <= 0 || cachedPages < 2) {
+            throw new IllegalArgumentException("Page size must be positive and at least two pages must be cached");
+        }
+        this.columns = columns.clone();
+        this.rowMapper = rowMapper;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        this.pages = new LinkedHashMap<Integer, Page<T>>(cachedPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page<T>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    /**
+     * Show the rows of a new source. The table is emptied at once; the row count and the
+     * first page are loaded together in the background.
+     * @param onLoaded receives the row count once the first page is showing, may be null
+     * @param onError receives the failure if the count or first page cannot be loaded
+     */
+    public void setSource(PageSource<T> newSource, IntConsumer onLoaded, Consumer<Throwable> onError) {
+        reset(newSource);
+        if (newSource == null) {
+            return;
+        }
+
+        int expected = generation;
+        loading.add(0);
+        CompletableFuture.supplyAsync(() -> {
+            int count = newSource.count();
+            return new FirstPage<>(count, load(newSource, null, 0));
+        }, executor).whenComplete((first, error) -> SwingUtilities.invokeLater(() -> {
+            if (expected != generation) {
+                return;
+            }
+            loading.remove(0);
+            if (error != null) {
+                if (onError != null) {
+                    onError.accept(unwrap(error));
+                }
+                return;
+            }
+            rowCount = first.count;
+            store(0, first.page);
+            fireTableDataChanged();
+            if (onLoaded != null) {
+                onLoaded.accept(rowCount);
+            }
+        }));
+    }
+
+    /**
+     * Remove all rows and forget the source
+     */
+    public void clear() {
+        reset(null);
+    }
+
+    /**
+     * The row object at an index, or null if its page is not loaded
+     */
+    public T getRow(int row) {
+        Page<T> page = pages.get(row / pageSize);
+        int index = row % pageSize;
+        return page != null && index < page.rows.size() ? page.rows.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int pageIndex = row / pageSize;
+        Page<T> page = pages.get(pageIndex);
+        int index = row % pageSize;
+        if (page == null || index >= page.values.size()) {
+            requestPage(pageIndex);
+            return column == 0 ? LOADING : null;
+        }
+        return page.values.get(index)[column];
+    }
+
+    private void reset(PageSource<T> newSource) {
+        generation++;
+        source = newSource;
+        rowCount = 0;
+        wantedPage = -1;
+        pages.clear();
+        pageAnchors.clear();
+        loading.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Load a page the table asked for. A page can only be queried once the page before it
+     * has been seen, so after a jump the pages in between are walked in order.
+     */
+    private void requestPage(int pageIndex) {
+        if (source == null) {
+            return;
+        }
+        wantedPage = pageIndex;
+        int next = pageIndex;
+        while (source.isKeyset() && next > 0 && !pageAnchors.containsKey(next)) {
+            next--;
+        }
+        if (!loading.contains(next) && !pages.containsKey(next)) {
+            fetchPage(next);
+        }
+    }
+
+    private void fetchPage(int pageIndex) {
+        int expected = generation;
+        PageSource<T> current = source;
+        T after = pageIndex == 0 ? null : pageAnchors.get(pageIndex);
+        loading.add(pageIndex);
+
+        CompletableFuture.supplyAsync(() -> load(current, after, pageIndex * pageSize), executor)
+                .whenComplete((page, error) -> SwingUtilities.invokeLater(() -> {
+                    if (expected != generation) {
+                        return;
+                    }
+                    loading.remove(pageIndex);
+                    if (error != null) {
+                        // Left as "Loading..."; the page is asked for again on the next repaint
+                        LOGGER.log(Level.WARNING, "Failed to load rows " + pageIndex * pageSize, unwrap(error));
+                        return;
+                    }
+                    pageLoaded(pageIndex, page);
+                }));
+    }
+
+    private void pageLoaded(int pageIndex, Page<T> page) {
+        store(pageIndex, page);
+
+        int first = pageIndex * pageSize;
+        int end = first + page.rows.size();
+        if (page.rows.size() < pageSize && end < rowCount) {
+            // Rows were deleted since the count was taken
+            rowCount = end;
+            fireTableDataChanged();
+        } else if (end > first) {
+            fireTableRowsUpdated(first, end - 1);
+        }
+
+        if (wantedPage > pageIndex && !pages.containsKey(wantedPage)) {
+            // Still walking towards the page the table asked for
+            requestPage(wantedPage);
+        } else if (wantedPage == pageIndex) {
+            // Keep the page below the viewport ready for scrolling
+            int nextPage = pageIndex + 1;
+            if (nextPage * pageSize < rowCount && pageAnchors.containsKey(nextPage)
+                    && !pages.containsKey(nextPage) && !loading.contains(nextPage)) {
+                fetchPage(nextPage);
+            }
+        }
+    }
+
+    private void store(int pageIndex, Page<T> page) {
+        pages.put(pageIndex, page);
+        if (page.rows.size() == pageSize) {
+            pageAnchors.put(pageIndex + 1, page.rows.get(page.rows.size() - 1));
+        }
+    }
+
+    private Page<T> load(PageSource<T> from, T after, int offset) {
+        List<T> rows = new ArrayList<>(from.fetch(after, offset, pageSize));
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            values.add(rowMapper.apply(row));
+        }
+        return new Page<>(rows, values);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static final class Page<T> {
+        final List<T> rows;
+        final List<Object[]> values;
+
+        Page(List<T> rows, List<Object[]> values) {
+            this.rows = rows;
+            this.values = values;
+        }
+    }
+
+    private static final class FirstPage<T> {
+        final int count;
+        final Page<T> page;
+
+        FirstPage(int count, Page<T> page) {
+            this.count = count;
+            this.page = page;
+        }
+    }
+}
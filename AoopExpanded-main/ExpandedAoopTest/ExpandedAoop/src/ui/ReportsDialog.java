@@ -19,6 +19,7 @@ import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 
 public class ReportsDialog extends JDialog {
     private Employee currentUser;
@@ -273,10 +274,12 @@ public class ReportsDialog extends JDialog {
             report.append("-".repeat(80)).append("\n");
 
             double totalGross = 0, totalDeductions = 0, totalNet = 0;
+            Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee =
+                    payrollCalculator.calculatePayrollForPeriod(periodStart, periodEnd);
 
             for (Employee emp : employees) {
                 try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
+                    PayrollCalculator.PayrollData payroll = requirePayroll(payrollByEmployee, emp);
 
                     double grossPay = payroll.getGrossPay();
                     double deductions = payroll.getTotalDeductions();
@@ -290,8 +293,8 @@ public class ReportsDialog extends JDialog {
                     if (name.length() > 25) name = name.substring(0, 22) + "...";
 
                     report.append(String.format("%-6d %-25s ₱%-11.2f ₱%-11.2f ₱%-11.2f ₱%-11.2f%n",
-                            emp.getEmployeeId(), name, payroll.getGrossEarnings(),
-                            payroll.getRiceSubsidy() + payroll.getPhoneAllowance() + payroll.getClothingAllowance(),
+                            emp.getEmployeeId(), name, payroll.getBasicPay(),
+                            payroll.getTotalAllowances(),
                             deductions, netPay));
                 } catch (Exception e) {
                     report.append(String.format("%-6d %-25s %-12s %-12s %-12s %-12s%n",
@@ -314,6 +317,15 @@ public class ReportsDialog extends JDialog {
         }
     }
 
+    private PayrollCalculator.PayrollData requirePayroll(Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee,
+                                                        Employee emp) {
+        PayrollCalculator.PayrollData payroll = payrollByEmployee.get(emp.getEmployeeId());
+        if (payroll == null) {
+            throw new IllegalStateException("No payroll calculated for employee " + emp.getEmployeeId());
+        }
+        return payroll;
+    }
+
     private void generateEmployeeDirectoryReport(String format) {
         try {
             List<Employee> employees = employeeDAO.getAllEmployees();
@@ -355,10 +367,12 @@ public class ReportsDialog extends JDialog {
             report.append("-".repeat(80)).append("\n");
 
             double totalSSS = 0, totalPhilHealth = 0, totalPagIBIG = 0, totalTax = 0;
+            Map<Integer, PayrollCalculator.PayrollData> payrollByEmployee =
+                    payrollCalculator.calculatePayrollForPeriod(periodStart, periodEnd);
 
             for (Employee emp : employees) {
                 try {
-                    Payroll payroll = payrollCalculator.calculatePayroll(emp.getEmployeeId(), periodStart, periodEnd);
+                    PayrollCalculator.PayrollData payroll = requirePayroll(payrollByEmployee, emp);
 
                     totalSSS += payroll.getSss();
                     totalPhilHealth += payroll.getPhilhealth();
@@ -0,0 +1,662 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool used behind {@link DBConnection#getConnection()}.
+ * Callers keep using try-with-resources; closing a borrowed connection hands the
+ * physical connection back to the pool instead of tearing down the socket.
+ * Runtime statistics are available through {@link #getSnapshot()} and JMX.
+ */
+public class ConnectionPool implements ConnectionPoolMXBean {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    /**
+     * Opens a new physical connection to the database
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final Config config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private int totalConnections = 0;
+    private int waitingThreads = 0;
+    private boolean closed = false;
+
+    // Borrow latency histogram bucket upper bounds in milliseconds; the last bucket is open-ended
+    private static final long[] LATENCY_BUCKETS_MILLIS = {1, 5, 10, 50, 100, 500, 1000};
+
+    private final AtomicLongArray borrowLatencyHistogram = new AtomicLongArray(LATENCY_BUCKETS_MILLIS.length + 1);
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong borrowNanosTotal = new AtomicLong();
+    private final AtomicLong borrowNanosMax = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private volatile long lastBorrowTimeoutNanos;
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionsClosed = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(ConnectionFactory factory, Config config) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Connection factory cannot be null");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("Pool configuration cannot be null");
+        }
+        this.factory = factory;
+        this.config = config;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "motorph-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1000L, config.getHousekeepingIntervalMillis());
+        housekeeper.scheduleWithFixedDelay(this::evictIdleConnections, interval, interval, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Connection pool started: " + config);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the configured timeout when the pool is exhausted
+     */
+    public Connection borrow() throws SQLException {
+        long startNanos = System.nanoTime();
+        Connection connection = acquire(startNanos + TimeUnit.MILLISECONDS.toNanos(config.getBorrowTimeoutMillis()));
+        recordBorrow(System.nanoTime() - startNanos);
+        return connection;
+    }
+
+    private Connection acquire(long deadline) throws SQLException {
+
+        while (true) {
+            PooledEntry entry = null;
+            boolean mustCreate = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("Connection pool has been shut down");
+                    }
+                    entry = idle.pollFirst();
+                    if (entry != null) {
+                        break;
+                    }
+                    if (totalConnections < config.getMaxPoolSize()) {
+                        totalConnections++;
+                        mustCreate = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        borrowTimeouts.incrementAndGet();
+                        lastBorrowTimeoutNanos = System.nanoTime();
+                        throw new SQLTransientConnectionException(String.format(
+                                "Timed out after %d ms waiting for a database connection (pool size %d, all in use)",
+                                config.getBorrowTimeoutMillis(), config.getMaxPoolSize()));
+                    }
+                    waitingThreads++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waitingThreads--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (mustCreate) {
+                try {
+                    entry = new PooledEntry(factory.create());
+                    connectionsCreated.incrementAndGet();
+                } catch (SQLException | RuntimeException e) {
+                    releaseSlot();
+                    throw e;
+                }
+                return entry.lease();
+            }
+
+            // Reuse an idle connection, retiring it if it is too old or no longer alive
+            if (entry.isExpired(config.getMaxLifetimeMillis())) {
+                discard(entry);
+                continue;
+            }
+            if (entry.idleMillis() >= config.getValidationIdleThresholdMillis() && !entry.validate(config.getValidationTimeoutSeconds())) {
+                LOGGER.fine("Discarding pooled connection that failed validation");
+                validationFailures.incrementAndGet();
+                discard(entry);
+                continue;
+            }
+            return entry.lease();
+        }
+    }
+
+    /**
+     * Return a physical connection to the idle queue, or close it if it should be retired
+     */
+    private void giveBack(PooledEntry entry) {
+        boolean reusable = entry.resetForReuse() && !entry.isExpired(config.getMaxLifetimeMillis());
+
+        lock.lock();
+        try {
+            if (reusable && !closed) {
+                entry.markIdle();
+                idle.addFirst(entry);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(entry);
+    }
+
+    private void discard(PooledEntry entry) {
+        entry.closePhysical();
+        connectionsClosed.incrementAndGet();
+        releaseSlot();
+    }
+
+    private void recordBorrow(long elapsedNanos) {
+        borrowCount.incrementAndGet();
+        borrowNanosTotal.addAndGet(elapsedNanos);
+        borrowNanosMax.accumulateAndGet(elapsedNanos, Math::max);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS_MILLIS.length && elapsedMillis >= LATENCY_BUCKETS_MILLIS[bucket]) {
+            bucket++;
+        }
+        borrowLatencyHistogram.incrementAndGet(bucket);
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Close idle connections that exceeded the idle timeout or the maximum lifetime
+     */
+    void evictIdleConnections() {
+        List<PooledEntry> evicted = new ArrayList<>();
+
+        lock.lock();
+        try {
+            Iterator<PooledEntry> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledEntry entry = it.next();
+                boolean aboveMinimum = totalConnections - evicted.size() > config.getMinIdle();
+                if ((aboveMinimum && entry.idleMillis() >= config.getIdleTimeoutMillis())
+                        || entry.isExpired(config.getMaxLifetimeMillis())) {
+                    it.remove();
+                    evicted.add(entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledEntry entry : evicted) {
+            discard(entry);
+        }
+        if (!evicted.isEmpty()) {
+            LOGGER.fine("Evicted " + evicted.size() + " idle pooled connection(s)");
+        }
+    }
+
+    /**
+     * Close every idle connection and reject further borrows
+     */
+    public void shutdown() {
+        List<PooledEntry> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        housekeeper.shutdownNow();
+        for (PooledEntry entry : toClose) {
+            discard(entry);
+        }
+        LOGGER.info("Connection pool shut down");
+    }
+
+    @Override
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return totalConnections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getActiveConnections() {
+        lock.lock();
+        try {
+            return totalConnections - idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getThreadsAwaitingConnection() {
+        lock.lock();
+        try {
+            return waitingThreads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getMaxPoolSize() { return config.getMaxPoolSize(); }
+
+    @Override
+    public long getBorrowCount() { return borrowCount.get(); }
+
+    @Override
+    public long getBorrowTimeouts() { return borrowTimeouts.get(); }
+
+    @Override
+    public long getConnectionsCreated() { return connectionsCreated.get(); }
+
+    @Override
+    public long getConnectionsClosed() { return connectionsClosed.get(); }
+
+    @Override
+    public long getValidationFailures() { return validationFailures.get(); }
+
+    @Override
+    public double getAverageBorrowMillis() {
+        long count = borrowCount.get();
+        return count == 0 ? 0.0 : borrowNanosTotal.get() / (double) count / 1_000_000.0;
+    }
+
+    @Override
+    public double getMaxBorrowMillis() {
+        return borrowNanosMax.get() / 1_000_000.0;
+    }
+
+    @Override
+    public Map<String, Long> getBorrowLatencyHistogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < LATENCY_BUCKETS_MILLIS.length; i++) {
+            histogram.put("<" + LATENCY_BUCKETS_MILLIS[i] + "ms", borrowLatencyHistogram.get(i));
+        }
+        histogram.put(">=" + LATENCY_BUCKETS_MILLIS[LATENCY_BUCKETS_MILLIS.length - 1] + "ms",
+                borrowLatencyHistogram.get(LATENCY_BUCKETS_MILLIS.length));
+        return histogram;
+    }
+
+    @Override
+    public void evictIdle() {
+        evictIdleConnections();
+    }
+
+    /**
+     * Point-in-time copy of the pool statistics; gauges are read under the pool lock
+     */
+    public Snapshot getSnapshot() {
+        int total;
+        int idleCount;
+        int waiting;
+        lock.lock();
+        try {
+            total = totalConnections;
+            idleCount = idle.size();
+            waiting = waitingThreads;
+        } finally {
+            lock.unlock();
+        }
+        long timeouts = getBorrowTimeouts();
+        boolean recentTimeout = timeouts > 0 && System.nanoTime() - lastBorrowTimeoutNanos
+                < TimeUnit.MILLISECONDS.toNanos(config.getStarvationWindowMillis());
+        return new Snapshot(total - idleCount, idleCount, total, waiting, config.getMaxPoolSize(),
+                getBorrowCount(), timeouts, recentTimeout, getConnectionsCreated(), getConnectionsClosed(),
+                getValidationFailures(), getAverageBorrowMillis(), getMaxBorrowMillis(), getBorrowLatencyHistogram());
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * Book-keeping for one physical connection owned by the pool
+     */
+    private final class PooledEntry {
+        private final Connection physical;
+        private final long createdAt;
+        private long lastReturnedAt;
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = this.createdAt;
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+
+        void markIdle() {
+            lastReturnedAt = System.currentTimeMillis();
+        }
+
+        long idleMillis() {
+            return System.currentTimeMillis() - lastReturnedAt;
+        }
+
+        boolean isExpired(long maxLifetimeMillis) {
+            return maxLifetimeMillis > 0 && System.currentTimeMillis() - createdAt >= maxLifetimeMillis;
+        }
+
+        boolean validate(int timeoutSeconds) {
+            try {
+                return physical.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Undo per-lease state so the next borrower starts from the driver defaults
+         */
+        boolean resetForReuse() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Pooled connection could not be reset, discarding it", e);
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Error closing physical connection", e);
+            }
+        }
+    }
+
+    /**
+     * Connection handed out to callers; close() returns the physical connection to the pool
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean released = false;
+
+        LeaseHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        giveBack(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + (released ? ", released]" : "]");
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Immutable pool statistics captured by {@link #getSnapshot()}
+     */
+    public static class Snapshot {
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int totalConnections;
+        private final int threadsAwaitingConnection;
+        private final int maxPoolSize;
+        private final long borrowCount;
+        private final long borrowTimeouts;
+        private final boolean recentBorrowTimeout;
+        private final long connectionsCreated;
+        private final long connectionsClosed;
+        private final long validationFailures;
+        private final double averageBorrowMillis;
+        private final double maxBorrowMillis;
+        private final Map<String, Long> borrowLatencyHistogram;
+
+        Snapshot(int activeConnections, int idleConnections, int totalConnections, int threadsAwaitingConnection,
+                 int maxPoolSize, long borrowCount, long borrowTimeouts, boolean recentBorrowTimeout,
+                 long connectionsCreated, long connectionsClosed, long validationFailures, double averageBorrowMillis,
+                 double maxBorrowMillis, Map<String, Long> borrowLatencyHistogram) {
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.totalConnections = totalConnections;
+            this.threadsAwaitingConnection = threadsAwaitingConnection;
+            this.maxPoolSize = maxPoolSize;
+            this.borrowCount = borrowCount;
+            this.borrowTimeouts = borrowTimeouts;
+            this.recentBorrowTimeout = recentBorrowTimeout;
+            this.connectionsCreated = connectionsCreated;
+            this.connectionsClosed = connectionsClosed;
+            this.validationFailures = validationFailures;
+            this.averageBorrowMillis = averageBorrowMillis;
+            this.maxBorrowMillis = maxBorrowMillis;
+            this.borrowLatencyHistogram = Collections.unmodifiableMap(new LinkedHashMap<>(borrowLatencyHistogram));
+        }
+
+        public int getActiveConnections() { return activeConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getTotalConnections() { return totalConnections; }
+        public int getThreadsAwaitingConnection() { return threadsAwaitingConnection; }
+        public int getMaxPoolSize() { return maxPoolSize; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getBorrowTimeouts() { return borrowTimeouts; }
+        /** Whether a borrow timed out within the configured starvation window */
+        public boolean hasRecentBorrowTimeout() { return recentBorrowTimeout; }
+        public long getConnectionsCreated() { return connectionsCreated; }
+        public long getConnectionsClosed() { return connectionsClosed; }
+        public long getValidationFailures() { return validationFailures; }
+        public double getAverageBorrowMillis() { return averageBorrowMillis; }
+        public double getMaxBorrowMillis() { return maxBorrowMillis; }
+        public Map<String, Long> getBorrowLatencyHistogram() { return borrowLatencyHistogram; }
+
+        /**
+         * True when callers are queuing for connections now or one timed out waiting within the
+         * starvation window; timeouts from before the window no longer count
+         */
+        public boolean isStarved() {
+            return threadsAwaitingConnection > 0 || recentBorrowTimeout;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Active: %d, Idle: %d, Total: %d/%d, Waiting: %d%n",
+                    activeConnections, idleConnections, totalConnections, maxPoolSize, threadsAwaitingConnection));
+            sb.append(String.format("Borrows: %d (avg %.2f ms, max %.2f ms), Timeouts: %d%n",
+                    borrowCount, averageBorrowMillis, maxBorrowMillis, borrowTimeouts));
+            sb.append(String.format("Created: %d, Closed: %d, Validation failures: %d%n",
+                    connectionsCreated, connectionsClosed, validationFailures));
+            sb.append("Borrow latency: ").append(borrowLatencyHistogram);
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Pool settings, read from system properties with sensible desktop defaults
+     */
+    public static class Config {
+        private int maxPoolSize = 10;
+        private int minIdle = 1;
+        private long borrowTimeoutMillis = 30_000L;
+        private long idleTimeoutMillis = 300_000L;
+        private long maxLifetimeMillis = 1_800_000L;
+        private long validationIdleThresholdMillis = 30_000L;
+        private int validationTimeoutSeconds = 5;
+        private long housekeepingIntervalMillis = 30_000L;
+        private long starvationWindowMillis = 60_000L;
+
+        /**
+         * Build configuration from -Dmotorph.db.pool.* system properties
+         */
+        public static Config fromSystemProperties() {
+            Config config = new Config();
+            config.setMaxPoolSize(Integer.getInteger("motorph.db.pool.maxSize", config.maxPoolSize));
+            config.setMinIdle(Integer.getInteger("motorph.db.pool.minIdle", config.minIdle));
+            config.setBorrowTimeoutMillis(Long.getLong("motorph.db.pool.borrowTimeoutMs", config.borrowTimeoutMillis));
+            config.setIdleTimeoutMillis(Long.getLong("motorph.db.pool.idleTimeoutMs", config.idleTimeoutMillis));
+            config.setMaxLifetimeMillis(Long.getLong("motorph.db.pool.maxLifetimeMs", config.maxLifetimeMillis));
+            config.setValidationIdleThresholdMillis(Long.getLong("motorph.db.pool.validateAfterIdleMs", config.validationIdleThresholdMillis));
+            config.setHousekeepingIntervalMillis(Long.getLong("motorph.db.pool.housekeepingMs", config.housekeepingIntervalMillis));
+            config.setStarvationWindowMillis(Long.getLong("motorph.db.pool.starvationWindowMs", config.starvationWindowMillis));
+            return config;
+        }
+
+        public int getMaxPoolSize() { return maxPoolSize; }
+        public void setMaxPoolSize(int maxPoolSize) {
+            if (maxPoolSize <= 0) throw new IllegalArgumentException("Max pool size must be positive");
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getMinIdle() { return minIdle; }
+        public void setMinIdle(int minIdle) {
+            if (minIdle < 0) throw new IllegalArgumentException("Min idle cannot be negative");
+            this.minIdle = minIdle;
+        }
+
+        public long getBorrowTimeoutMillis() { return borrowTimeoutMillis; }
+        public void setBorrowTimeoutMillis(long borrowTimeoutMillis) { this.borrowTimeoutMillis = borrowTimeoutMillis; }
+
+        public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+        public void setIdleTimeoutMillis(long idleTimeoutMillis) { this.idleTimeoutMillis = idleTimeoutMillis; }
+
+        /** Zero disables lifetime-based retirement */
+        public long getMaxLifetimeMillis() { return maxLifetimeMillis; }
+        public void setMaxLifetimeMillis(long maxLifetimeMillis) { this.maxLifetimeMillis = maxLifetimeMillis; }
+
+        public long getValidationIdleThresholdMillis() { return validationIdleThresholdMillis; }
+        public void setValidationIdleThresholdMillis(long validationIdleThresholdMillis) {
+            this.validationIdleThresholdMillis = validationIdleThresholdMillis;
+        }
+
+        public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+        public void setValidationTimeoutSeconds(int validationTimeoutSeconds) { this.validationTimeoutSeconds = validationTimeoutSeconds; }
+
+        public long getHousekeepingIntervalMillis() { return housekeepingIntervalMillis; }
+        public void setHousekeepingIntervalMillis(long housekeepingIntervalMillis) {
+            this.housekeepingIntervalMillis = housekeepingIntervalMillis;
+        }
+
+        /** How long after a borrow timeout the pool still reports itself as starved */
+        public long getStarvationWindowMillis() { return starvationWindowMillis; }
+        public void setStarvationWindowMillis(long starvationWindowMillis) {
+            this.starvationWindowMillis = starvationWindowMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Config{" +
+                    "maxPoolSize=" + maxPoolSize +
+                    ", minIdle=" + minIdle +
+                    ", borrowTimeoutMillis=" + borrowTimeoutMillis +
+                    ", idleTimeoutMillis=" + idleTimeoutMillis +
+                    ", maxLifetimeMillis=" + maxLifetimeMillis +
+                    ", validationIdleThresholdMillis=" + validationIdleThresholdMillis +
+                    '}';
+        }
+    }
+}
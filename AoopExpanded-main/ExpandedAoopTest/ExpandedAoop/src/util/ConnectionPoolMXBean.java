@@ -0,0 +1,30 @@
+package util;
+
+import java.util.Map;
+
+/**
+ * JMX management interface for the shared connection pool.
+ * Registered as com.motorph:type=ConnectionPool so it can be watched from JConsole or VisualVM.
+ */
+public interface ConnectionPoolMXBean {
+    int getActiveConnections();
+    int getIdleConnections();
+    int getTotalConnections();
+    int getThreadsAwaitingConnection();
+    int getMaxPoolSize();
+
+    long getBorrowCount();
+    long getBorrowTimeouts();
+    long getConnectionsCreated();
+    long getConnectionsClosed();
+    long getValidationFailures();
+
+    double getAverageBorrowMillis();
+    double getMaxBorrowMillis();
+    Map<String, Long> getBorrowLatencyHistogram();
+
+    /**
+     * Run idle eviction immediately instead of waiting for the housekeeper
+     */
+    void evictIdle();
+}
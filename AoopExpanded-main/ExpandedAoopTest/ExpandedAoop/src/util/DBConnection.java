@@ -3,9 +3,18 @@ package util;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
 import java.sql.Statement;
 import java.sql.ResultSet;
+import java.lang.management.ManagementFactory;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -71,28 +80,148 @@ public class DBConnection {
                     "   4. 🔄 Restart MySQL service\n" +
                     "   5. 💻 Check if another application is using port %s";
 
+    // Connection pooling (enabled by default, disable with -Dmotorph.db.pool.enabled=false)
+    private static final boolean POOLING_ENABLED =
+            Boolean.parseBoolean(System.getProperty("motorph.db.pool.enabled", "true"));
+    private static final Properties CONNECTION_PROPS = createConnectionProperties();
+    private static volatile boolean driverLoaded = false;
+    private static volatile ConnectionPool pool;
+    private static final List<Runnable> POOL_SHUTDOWN_TASKS = new CopyOnWriteArrayList<>();
+    private static final String POOL_MBEAN_NAME = "com.motorph:type=ConnectionPool,name=" + DATABASE_NAME;
+    private static final int PROBE_TIMEOUT_SECONDS = 3;
+
     /**
-     * Get database connection with enhanced error handling
+     * Get database connection with enhanced error handling.
+     * In pooled mode the returned connection goes back to the pool when closed.
      * @return Connection object
      * @throws SQLException if connection fails with detailed error information
      */
     public static Connection getConnection() throws SQLException {
+        if (!POOLING_ENABLED) {
+            return openPhysicalConnection();
+        }
+        return getPool().borrow();
+    }
+
+    /**
+     * Lazily create the shared pool on first use
+     */
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool(DBConnection::openPhysicalConnection,
+                            ConnectionPool.Config.fromSystemProperties());
+                    pool = current;
+                    registerPoolMBean(current);
+                    try {
+                        Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::shutdownPool, "motorph-pool-shutdown"));
+                    } catch (IllegalStateException e) {
+                        // First connection requested while the JVM is already exiting
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Run a task before the pooled connections are closed, such as writing buffered data
+     */
+    public static void addPoolShutdownTask(Runnable task) {
+        POOL_SHUTDOWN_TASKS.add(task);
+    }
+
+    /**
+     * Close all pooled connections (called automatically on JVM exit)
+     */
+    public static void shutdownPool() {
+        for (Runnable task : POOL_SHUTDOWN_TASKS) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Pool shutdown task failed", e);
+            }
+        }
+
+        ConnectionPool current;
+        synchronized (DBConnection.class) {
+            current = pool;
+            pool = null;
+        }
+        if (current != null) {
+            unregisterPoolMBean();
+            current.shutdown();
+        }
+    }
+
+    /**
+     * Publish pool statistics over JMX for JConsole/VisualVM
+     */
+    private static void registerPoolMBean(ConnectionPool connectionPool) {
         try {
-            // Load MySQL JDBC Driver with better error handling
-            loadJDBCDriver();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(POOL_MBEAN_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(connectionPool, name);
+        } catch (JMException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "⚠️ Could not register connection pool MBean", e);
+        }
+    }
 
-            // Create connection properties
-            Properties props = createConnectionProperties();
+    private static void unregisterPoolMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(POOL_MBEAN_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Could not unregister connection pool MBean", e);
+        }
+    }
 
-            // Attempt to establish connection
-            Connection conn = DriverManager.getConnection(URL + CONNECTION_PROPERTIES, props);
+    /**
+     * Current pool statistics, or null when pooling is disabled or no connection was requested yet
+     */
+    public static ConnectionPool.Snapshot getPoolStats() {
+        ConnectionPool current = pool;
+        return current != null ? current.getSnapshot() : null;
+    }
 
-            // Validate connection
-            if (conn == null || !conn.isValid(5)) {
-                throw new SQLException("Connection established but validation failed");
+    /**
+     * Whether DAO connections are served from the shared pool
+     */
+    public static boolean isPoolingEnabled() {
+        return POOLING_ENABLED;
+    }
+
+    /**
+     * Upper bound on simultaneously open DAO connections, used to size concurrent database work
+     */
+    public static int getMaxPoolSize() {
+        ConnectionPool current = pool;
+        return current != null ? current.getMaxPoolSize() : ConnectionPool.Config.fromSystemProperties().getMaxPoolSize();
+    }
+
+    /**
+     * Open a brand-new physical connection to MySQL
+     */
+    private static Connection openPhysicalConnection() throws SQLException {
+        try {
+            // Load MySQL JDBC Driver once per JVM
+            loadJDBCDriver();
+
+            Connection conn = DriverManager.getConnection(URL + CONNECTION_PROPERTIES, CONNECTION_PROPS);
+            if (conn == null) {
+                throw new SQLException("Driver returned no connection");
             }
 
-            LOGGER.info("✅ Database connection established successfully to: " + URL);
+            LOGGER.fine("✅ Database connection established successfully to: " + URL);
             return conn;
 
         } catch (ClassNotFoundException e) {
@@ -100,20 +229,30 @@ public class DBConnection {
             throw new SQLException(DRIVER_NOT_FOUND_ERROR, e);
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Database connection failed", e);
-            throw new SQLException(generateDetailedErrorMessage(e), e);
+            // Keep the driver's SQL state and error code so callers can still tell why it failed
+            throw new SQLException(generateDetailedErrorMessage(e), e.getSQLState(), e.getErrorCode(), e);
         }
     }
 
     /**
-     * Load JDBC driver with specific error handling
+     * Load JDBC driver with specific error handling (only the first call does any work)
      */
     private static void loadJDBCDriver() throws ClassNotFoundException {
-        try {
-            Class.forName(DRIVER);
-            LOGGER.info("✅ MySQL JDBC Driver loaded successfully");
-        } catch (ClassNotFoundException e) {
-            LOGGER.severe("❌ MySQL JDBC Driver not found: " + DRIVER);
-            throw e;
+        if (driverLoaded) {
+            return;
+        }
+        synchronized (DBConnection.class) {
+            if (driverLoaded) {
+                return;
+            }
+            try {
+                Class.forName(DRIVER);
+                driverLoaded = true;
+                LOGGER.info("✅ MySQL JDBC Driver loaded successfully");
+            } catch (ClassNotFoundException e) {
+                LOGGER.severe("❌ MySQL JDBC Driver not found: " + DRIVER);
+                throw e;
+            }
         }
     }
 
@@ -133,6 +272,8 @@ public class DBConnection {
         props.setProperty("failOverReadOnly", "false");
         props.setProperty("maxReconnects", "3");
         props.setProperty("initialTimeout", "2");
+        // Send JDBC batches in as few round trips as the driver can (used for attendance punches)
+        props.setProperty("rewriteBatchedStatements", "true");
         props.setProperty("connectTimeout", "10000");
         props.setProperty("socketTimeout", "30000");
         return props;
@@ -189,7 +330,7 @@ public class DBConnection {
         try {
             // Test 1: JDBC Driver
             result.addTest("JDBC Driver Loading", () -> {
-                Class.forName(DRIVER);
+                loadJDBCDriver();
                 return "✅ MySQL JDBC Driver loaded successfully";
             });
 
@@ -221,6 +362,20 @@ public class DBConnection {
                 }
             });
 
+            // Test 6: Connection Pool health
+            if (POOLING_ENABLED) {
+                result.addTest("Connection Pool", () -> {
+                    ConnectionPool.Snapshot stats = getPoolStats();
+                    if (stats == null) {
+                        return "ℹ️ Pool not started";
+                    }
+                    return (stats.isStarved() ? "⚠️ " : "✅ ") + stats.getActiveConnections() + " active, "
+                            + stats.getIdleConnections() + " idle, " + stats.getThreadsAwaitingConnection()
+                            + " waiting, avg borrow " + String.format("%.2f ms", stats.getAverageBorrowMillis());
+                });
+                result.setPoolStats(getPoolStats());
+            }
+
             result.setOverallSuccess(true);
             LOGGER.info("✅ Comprehensive database test completed successfully");
 
@@ -240,6 +395,42 @@ public class DBConnection {
         return testConnectionDetailed().isOverallSuccess();
     }
 
+    /**
+     * Lightweight liveness probe: borrows one connection and pings the server.
+     * Use testConnectionDetailed() for the table and row-count diagnostics.
+     */
+    public static boolean isDatabaseReachable() {
+        try (Connection conn = getConnection()) {
+            return conn.isValid(PROBE_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            LOGGER.warning("Database liveness probe failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Whether a failure means the database could not be reached, as opposed to a bad
+     * statement, bad data or a missing procedure, which trying again would only repeat.
+     * Covers lost or refused connections (SQL state class 08) and timing out on the pool.
+     * The whole cause chain is checked, since DAOs and getConnection() wrap the driver's exception.
+     */
+    public static boolean isConnectionFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String state = ((SQLException) cause).getSQLState();
+                if (state != null && state.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Verify table structure exists
      */
@@ -358,6 +549,10 @@ public class DBConnection {
             LOGGER.info("Username: " + metaData.getUserName());
             LOGGER.info("Max Connections: " + metaData.getMaxConnections());
             LOGGER.info("Transaction Isolation: " + metaData.getDefaultTransactionIsolation());
+            ConnectionPool.Snapshot stats = getPoolStats();
+            if (stats != null) {
+                LOGGER.info("Connection Pool:\n" + stats);
+            }
             LOGGER.info("==============================");
 
         } catch (SQLException e) {
@@ -403,10 +598,12 @@ public class DBConnection {
                         "   🗄️ Database: %s\n" +
                         "   👤 User: %s\n" +
                         "   🔑 Password: %s\n" +
-                        "   📡 URL: %s",
+                        "   📡 URL: %s\n" +
+                        "   🔁 Pooling: %s",
                 HOST, PORT, DATABASE_NAME, USER,
                 PASSWORD.replaceAll(".", "*"), // Mask password
-                URL
+                URL,
+                POOLING_ENABLED ? "enabled (" + ConnectionPool.Config.fromSystemProperties() + ")" : "disabled"
         );
     }
 
@@ -417,6 +614,7 @@ public class DBConnection {
         private boolean overallSuccess = false;
         private String overallError = "";
         private java.util.List<TestResult> testResults = new java.util.ArrayList<>();
+        private ConnectionPool.Snapshot poolStats;
 
         public void addTest(String testName, TestRunner runner) {
             try {
@@ -432,6 +630,8 @@ public class DBConnection {
         public String getOverallError() { return overallError; }
         public void setOverallError(String error) { this.overallError = error; }
         public java.util.List<TestResult> getTestResults() { return testResults; }
+        public ConnectionPool.Snapshot getPoolStats() { return poolStats; }
+        public void setPoolStats(ConnectionPool.Snapshot poolStats) { this.poolStats = poolStats; }
 
         @Override
         public String toString() {
@@ -443,6 +643,11 @@ public class DBConnection {
                 sb.append(String.format("%-25s: %s\n", test.name, test.result));
             }
 
+            if (poolStats != null) {
+                sb.append("----------------------------------\n");
+                sb.append("🔁 Connection Pool Statistics:\n").append(poolStats).append("\n");
+            }
+
             sb.append("==================================\n");
             sb.append("Overall Status: ").append(overallSuccess ? "✅ SUCCESS" : "❌ FAILED");
 
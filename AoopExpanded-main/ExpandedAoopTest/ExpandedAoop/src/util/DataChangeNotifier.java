@@ -0,0 +1,77 @@
+package util;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes notifications after DAOs write rows, so in-memory caches can drop stale entries.
+ * Listeners are called synchronously on the writing thread and must be quick.
+ */
+public final class DataChangeNotifier {
+    private static final Logger LOGGER = Logger.getLogger(DataChangeNotifier.class.getName());
+
+    private static final List<DataChangeListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Receives data change notifications; all methods default to no-op
+     */
+    public interface DataChangeListener {
+        /**
+         * Rows belonging to one employee changed; null dates mean the change is not limited to a period
+         */
+        default void employeeDataChanged(int employeeId, LocalDate from, LocalDate to) { }
+
+        /**
+         * A position (salary, allowances) changed, affecting every employee holding it
+         */
+        default void positionChanged(int positionId) { }
+    }
+
+    private DataChangeNotifier() {
+        // Utility class
+    }
+
+    public static void addListener(DataChangeListener listener) {
+        if (listener != null && !LISTENERS.contains(listener)) {
+            LISTENERS.add(listener);
+        }
+    }
+
+    public static void removeListener(DataChangeListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Whether anyone is listening; lets DAOs skip lookups done only to build notifications
+     */
+    public static boolean hasListeners() {
+        return !LISTENERS.isEmpty();
+    }
+
+    public static void fireEmployeeDataChanged(int employeeId, LocalDate from, LocalDate to) {
+        for (DataChangeListener listener : LISTENERS) {
+            try {
+                listener.employeeDataChanged(employeeId, from, to);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Data change listener failed for employee " + employeeId, e);
+            }
+        }
+    }
+
+    public static void fireEmployeeDataChanged(int employeeId) {
+        fireEmployeeDataChanged(employeeId, null, null);
+    }
+
+    public static void firePositionChanged(int positionId) {
+        for (DataChangeListener listener : LISTENERS) {
+            try {
+                listener.positionChanged(positionId);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Data change listener failed for position " + positionId, e);
+            }
+        }
+    }
+}
@@ -25,6 +25,12 @@ CHANGELOG:
      credentials in a single, safe transaction.
    - Added `sp_generate_payslip_data` to demonstrate how to centralize business logic (like
      payslip calculations) in the database, which simplifies reporting tasks in the application.
+   - Added `sp_record_log_in` and `sp_record_log_out` so a clock-in or clock-out is a single
+     round trip that returns the resulting attendance row.
+
+4. INDEXES:
+   - `idx_employees_name` covers the employee list projection, so the list screen and employee
+     pickers read it without looking up the table rows.
 ====================================================================================================
 */
 
@@ -364,14 +370,58 @@ END$$
 DELIMITER ;
 
 
+-- Procedure 3: Record a log in punch.
+-- Purpose: One call per punch. The upsert on uq_employee_date replaces the separate employee and
+-- duplicate checks (the foreign key rejects unknown employees), and the resulting row comes back
+-- in the same round trip. The earliest log in of the day is kept, so replaying a punch is harmless.
+DELIMITER $$
+CREATE PROCEDURE sp_record_log_in (
+    IN p_employee_id INT,
+    IN p_attendance_date DATE,
+    IN p_log_in TIME
+)
+BEGIN
+    INSERT INTO attendance (employee_id, attendance_date, log_in)
+    VALUES (p_employee_id, p_attendance_date, p_log_in)
+    ON DUPLICATE KEY UPDATE log_in = LEAST(COALESCE(log_in, VALUES(log_in)), VALUES(log_in));
+
+    SELECT * FROM attendance
+    WHERE employee_id = p_employee_id AND attendance_date = p_attendance_date;
+END$$
+DELIMITER ;
+
+
+-- Procedure 4: Record a log out punch.
+-- Purpose: Sets the log out on the day's row found through uq_employee_date and returns the row.
+-- A log out before the log in is ignored; the latest log out is kept, so replaying a punch is harmless.
+DELIMITER $$
+CREATE PROCEDURE sp_record_log_out (
+    IN p_employee_id INT,
+    IN p_attendance_date DATE,
+    IN p_log_out TIME
+)
+BEGIN
+    UPDATE attendance SET log_out = p_log_out
+    WHERE employee_id = p_employee_id AND attendance_date = p_attendance_date
+      AND log_in <= p_log_out AND (log_out IS NULL OR log_out < p_log_out);
+
+    SELECT * FROM attendance
+    WHERE employee_id = p_employee_id AND attendance_date = p_attendance_date;
+END$$
+DELIMITER ;
+
+
 -- =============================================
 -- Index Creation for Performance
 -- =============================================
-CREATE INDEX idx_employees_name ON employees(last_name, first_name);
+-- The name index carries every employees column the list screen reads, so its projection
+-- queries are answered from the index without touching the table rows.
+CREATE INDEX idx_employees_name ON employees(last_name, first_name, status, position_id, phone_number);
 CREATE INDEX idx_employees_position ON employees(position_id);
 CREATE INDEX idx_employees_status ON employees(status);
 CREATE INDEX idx_leave_requests_employee_date ON leave_requests(employee_id, start_date, end_date);
 CREATE INDEX idx_attendance_employee_date ON attendance(employee_id, attendance_date);
+CREATE INDEX idx_attendance_date ON attendance(attendance_date);
 
 
 -- =============================================
@@ -0,0 +1,60 @@
+/*
+====================================================================================================
+MIGRATION: 001_record_punch_procedures
+DATABASE: aoopdatabase_payroll
+DESCRIPTION:
+Adds `sp_record_log_in` and `sp_record_log_out` to a database created from an earlier
+aoopdatabase_payroll.sql. AttendanceDAO.recordLogIn and recordLogOut call them, so a database
+without them fails every clock-in and clock-out.
+Safe to run more than once. New databases created from aoopdatabase_payroll.sql already have them.
+
+USAGE:
+    mysql -u root -p aoopdatabase_payroll < 001_record_punch_procedures.sql
+====================================================================================================
+*/
+
+USE aoopdatabase_payroll;
+
+DROP PROCEDURE IF EXISTS sp_record_log_in;
+DROP PROCEDURE IF EXISTS sp_record_log_out;
+
+
+-- Record a log in punch.
+-- Purpose: One call per punch. The upsert on uq_employee_date replaces the separate employee and
+-- duplicate checks (the foreign key rejects unknown employees), and the resulting row comes back
+-- in the same round trip. The earliest log in of the day is kept, so replaying a punch is harmless.
+DELIMITER $$
+CREATE PROCEDURE sp_record_log_in (
+    IN p_employee_id INT,
+    IN p_attendance_date DATE,
+    IN p_log_in TIME
+)
+BEGIN
+    INSERT INTO attendance (employee_id, attendance_date, log_in)
+    VALUES (p_employee_id, p_attendance_date, p_log_in)
+    ON DUPLICATE KEY UPDATE log_in = LEAST(COALESCE(log_in, VALUES(log_in)), VALUES(log_in));
+
+    SELECT * FROM attendance
+    WHERE employee_id = p_employee_id AND attendance_date = p_attendance_date;
+END$$
+DELIMITER ;
+
+
+-- Record a log out punch.
+-- Purpose: Sets the log out on the day's row found through uq_employee_date and returns the row.
+-- A log out before the log in is ignored; the latest log out is kept, so replaying a punch is harmless.
+DELIMITER $$
+CREATE PROCEDURE sp_record_log_out (
+    IN p_employee_id INT,
+    IN p_attendance_date DATE,
+    IN p_log_out TIME
+)
+BEGIN
+    UPDATE attendance SET log_out = p_log_out
+    WHERE employee_id = p_employee_id AND attendance_date = p_attendance_date
+      AND log_in <= p_log_out AND (log_out IS NULL OR log_out < p_log_out);
+
+    SELECT * FROM attendance
+    WHERE employee_id = p_employee_id AND attendance_date = p_attendance_date;
+END$$
+DELIMITER ;
@@ -0,0 +1,78 @@
+package test;
+
+import model.Attendance;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Compares the bytes allocated per row by Attendance.fromRow with the setter path the
+ * DAO used before. Not a unit test: the numbers depend on the JVM, so run it by hand:
+ *     java -cp build/classes:build/test/classes test.AttendanceHydrationBenchmark
+ * Needs a HotSpot-based JVM for per-thread allocation counters.
+ */
+public class AttendanceHydrationBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 6, 3, 8, 0, 5);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 6, 3, 17, 2, 0);
+    private static final Time LOG_IN = Time.valueOf(LocalTime.of(8, 5));
+    private static final Time LOG_OUT = Time.valueOf(LocalTime.of(17, 0));
+    private static final Date[] DATES = new Date[ROWS];
+
+    static {
+        for (int i = 0; i < ROWS; i++) {
+            DATES[i] = Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        }
+    }
+
+    public static void main(String[] args) {
+        Attendance[] out = new Attendance[ROWS];
+
+        // Warm up both paths so the comparison is not dominated by class loading or the interpreter
+        for (int round = 0; round < 3; round++) {
+            allocatedBytes(false, out);
+            allocatedBytes(true, out);
+        }
+        long setterBytes = allocatedBytes(false, out);
+        long hydratedBytes = allocatedBytes(true, out);
+
+        System.out.printf("Attendance mapping over %d rows: setters %.1f B/row, fromRow %.1f B/row%n",
+                ROWS, setterBytes / (double) ROWS, hydratedBytes / (double) ROWS);
+    }
+
+    private static Attendance viaSetters(int i) {
+        Attendance attendance = new Attendance();
+        attendance.setId(i + 1);
+        attendance.setEmployeeId(10001 + i % 50);
+        attendance.setDate(DATES[i]);
+        attendance.setLogIn(LOG_IN);
+        attendance.setLogOut(LOG_OUT);
+        attendance.setCreatedAt(CREATED);
+        attendance.setUpdatedAt(UPDATED);
+        return attendance;
+    }
+
+    private static Attendance viaFromRow(int i) {
+        return Attendance.fromRow(i + 1, 10001 + i % 50, DATES[i], LOG_IN, LOG_OUT, CREATED, UPDATED);
+    }
+
+    /**
+     * Bytes allocated by this thread while mapping every row; results are kept so the
+     * allocations cannot be optimized away
+     */
+    private static long allocatedBytes(boolean hydrate, Attendance[] out) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROWS; i++) {
+            out[i] = hydrate ? viaFromRow(i) : viaSetters(i);
+        }
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+}
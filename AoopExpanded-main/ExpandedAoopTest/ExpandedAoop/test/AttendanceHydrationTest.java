@@ -0,0 +1,99 @@
+package test;
+
+import model.Attendance;
+import model.Employee;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * JUnit 5 test suite for building attendance records and employees from stored rows
+ * Tests that stored values and timestamps are kept and that no setter validation runs
+ */
+@DisplayName("Attendance Hydration Tests")
+class AttendanceHydrationTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 6, 3, 8, 0, 5);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 6, 3, 17, 2, 0);
+
+    private Date date;
+    private Time logIn;
+    private Time logOut;
+
+    // Employee built the way EmployeeDAO builds one from a row
+    private static final class StoredEmployee extends Employee {
+        StoredEmployee(int employeeId, double basicSalary) {
+            super(employeeId, basicSalary, CREATED, UPDATED);
+        }
+
+        @Override
+        public double calculateGrossPay(int daysWorked, double overtimeHours) { return 0.0; }
+
+        @Override
+        public double calculateDeductions() { return 0.0; }
+
+        @Override
+        public double calculateAllowances() { return 0.0; }
+
+        @Override
+        public boolean isEligibleForBenefits() { return true; }
+    }
+
+    @BeforeEach
+    @DisplayName("Setup test data before each test")
+    void setUp() {
+        date = Date.valueOf(LocalDate.of(2024, 6, 3));
+        logIn = Time.valueOf(LocalTime.of(8, 5));
+        logOut = Time.valueOf(LocalTime.of(17, 0));
+    }
+
+    @Test
+    @DisplayName("Test Stored Values - Attendance keeps the row values and timestamps as given")
+    void testFromRowKeepsValues() {
+        Attendance attendance = Attendance.fromRow(7, 10002, date, logIn, logOut, CREATED, UPDATED);
+
+        assertEquals(7, attendance.getId());
+        assertEquals(10002, attendance.getEmployeeId());
+        assertEquals(date, attendance.getDate());
+        assertEquals(logIn, attendance.getLogIn());
+        assertEquals(logOut, attendance.getLogOut());
+        assertEquals(8.92, attendance.getWorkHours(), 0.01);
+
+        // touch() would have replaced the stored update time with the current time
+        assertEquals(CREATED, attendance.getCreatedAt());
+        assertEquals(UPDATED, attendance.getUpdatedAt(), "Loading a row should not look like an update");
+    }
+
+    @Test
+    @DisplayName("Test No Validation - Stored attendance values are not checked again")
+    void testFromRowSkipsValidation() {
+        // Each of these is rejected by the matching setter
+        Attendance noEmployee = Attendance.fromRow(1, 0, date, logIn, logOut, CREATED, UPDATED);
+        Attendance noDate = Attendance.fromRow(2, 10001, null, logIn, logOut, CREATED, UPDATED);
+        Attendance outBeforeIn = Attendance.fromRow(3, 10001, date, logOut, logIn, CREATED, UPDATED);
+
+        assertEquals(0, noEmployee.getEmployeeId());
+        assertNull(noDate.getDate());
+        assertEquals(logIn, outBeforeIn.getLogOut());
+        assertThrows(IllegalArgumentException.class, () -> new Attendance().setEmployeeId(0),
+                "The setter path should still validate");
+    }
+
+    @Test
+    @DisplayName("Test Employee Hydration - Stored employees keep their ID, salary and timestamps")
+    void testEmployeeHydration() {
+        Employee employee = new StoredEmployee(10005, 52670);
+
+        assertEquals(10005, employee.getEmployeeId());
+        assertEquals(10005, employee.getId(), "The entity ID should match the employee ID");
+        assertEquals(52670, employee.getBasicSalary(), 0.001);
+        assertEquals("Regular", employee.getStatus());
+        assertEquals(CREATED, employee.getCreatedAt());
+        assertEquals(UPDATED, employee.getUpdatedAt());
+    }
+}
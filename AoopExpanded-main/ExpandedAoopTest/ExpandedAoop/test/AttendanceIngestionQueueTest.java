@@ -0,0 +1,171 @@
+package test;
+
+import service.AttendanceIngestionQueue;
+import service.AttendanceIngestionQueue.Punch;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit 5 test suite for AttendanceIngestionQueue
+ * Tests batching, flushing, backpressure, retries and shutdown of buffered punches
+ */
+@DisplayName("Attendance Ingestion Queue Tests")
+class AttendanceIngestionQueueTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 3);
+
+    private List<List<Punch>> batches;
+    private AttendanceIngestionQueue queue;
+
+    @BeforeEach
+    @DisplayName("Setup test data before each test")
+    void setUp() {
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    private static AttendanceIngestionQueue.Config config(int capacity, int batchSize, long flushMillis) {
+        AttendanceIngestionQueue.Config config = new AttendanceIngestionQueue.Config();
+        config.setCapacity(capacity);
+        config.setBatchSize(batchSize);
+        config.setFlushIntervalMillis(flushMillis);
+        config.setOfferTimeoutMillis(50);
+        config.setShutdownTimeoutMillis(5_000);
+        return config;
+    }
+
+    private static Punch logIn(int employeeId) {
+        return new Punch(employeeId, DAY, Time.valueOf(LocalTime.of(8, 0)), Punch.Type.LOG_IN);
+    }
+
+    // Writer that keeps every batch it is given
+    private int record(List<Punch> batch) {
+        batches.add(new ArrayList<>(batch));
+        return 0;
+    }
+
+    private int written() {
+        return batches.stream().mapToInt(List::size).sum();
+    }
+
+    @Test
+    @DisplayName("Test Batching - Punches are written in batches of at most the batch size")
+    void testBatchSize() throws Exception {
+        queue = new AttendanceIngestionQueue(this::record, config(1_000, 25, 5_000));
+
+        for (int i = 1; i <= 100; i++) {
+            assertTrue(queue.submit(logIn(10000 + i)));
+        }
+
+        assertTrue(queue.flush(5_000));
+        assertEquals(100, written());
+        assertTrue(batches.stream().allMatch(b -> b.size() <= 25), "No batch should exceed the batch size");
+        assertEquals(100, queue.getPunchesWritten());
+        assertEquals(0, queue.getPendingPunches());
+    }
+
+    @Test
+    @DisplayName("Test Flush Interval - A partial batch is written once the interval passes")
+    void testFlushInterval() throws Exception {
+        queue = new AttendanceIngestionQueue(this::record, config(1_000, 500, 50));
+
+        // Far below the batch size, so only the interval can trigger the write
+        queue.submit(logIn(10001));
+        queue.submit(logIn(10002));
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (written() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, written());
+        assertEquals(1, queue.getBatchesCommitted());
+    }
+
+    @Test
+    @DisplayName("Test Backpressure - A full queue refuses punches after the offer timeout")
+    void testBackpressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        queue = new AttendanceIngestionQueue(batch -> {
+            release.await();
+            return record(batch);
+        }, config(5, 1, 10));
+
+        // The writer is blocked, so the queue fills up
+        int accepted = 0;
+        for (int i = 1; i <= 20; i++) {
+            if (queue.submit(logIn(10000 + i))) {
+                accepted++;
+            }
+        }
+
+        assertTrue(accepted < 20, "Some punches must be refused while the writer is blocked");
+        assertEquals(20 - accepted, queue.getPunchesRejected());
+
+        release.countDown();
+        assertTrue(queue.flush(5_000));
+        assertEquals(accepted, written());
+    }
+
+    @Test
+    @DisplayName("Test Retry - A failed batch is kept and written on retry")
+    void testRetry() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        queue = new AttendanceIngestionQueue(batch -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return record(batch);
+        }, config(100, 10, 10));
+
+        queue.submit(logIn(10001));
+
+        assertTrue(queue.flush(5_000));
+        assertEquals(1, written(), "The punch should be written on the second attempt");
+        assertEquals(1, queue.getFailedBatches());
+    }
+
+    @Test
+    @DisplayName("Test Shutdown - Everything already queued is written")
+    void testShutdownFlushes() {
+        queue = new AttendanceIngestionQueue(this::record, config(1_000, 50, 10_000));
+
+        for (int i = 1; i <= 120; i++) {
+            queue.submit(logIn(10000 + i));
+        }
+        queue.shutdown();
+
+        assertEquals(120, written());
+        assertFalse(queue.submit(logIn(10999)), "Queue refuses punches after shutdown");
+    }
+
+    @Test
+    @DisplayName("Test Metrics - Skipped punches are counted separately from written ones")
+    void testSkippedMetrics() throws Exception {
+        // The writer reports one punch per batch as skipped, e.g. a duplicate log in
+        queue = new AttendanceIngestionQueue(batch -> 1, config(100, 10, 10));
+
+        queue.submit(logIn(10001));
+        queue.submit(logIn(10001));
+
+        assertTrue(queue.flush(5_000));
+        assertEquals(2, queue.getPunchesWritten() + queue.getPunchesSkipped());
+        assertTrue(queue.getPunchesSkipped() >= 1);
+        assertTrue(queue.getAverageCommitMillis() >= 0.0);
+        assertTrue(queue.getMaxCommitMillis() >= queue.getLastCommitMillis());
+    }
+}
@@ -0,0 +1,297 @@
+package test;
+
+import service.AttendanceIngestionQueue;
+import service.AttendanceIngestionQueue.Punch;
+import service.AttendanceJournal;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * JUnit 5 test suite for AttendanceJournal
+ * Tests replay, dead-lettering, recovery after reopening or a crash, concurrent appends and the queue fallback
+ */
+@DisplayName("Attendance Journal Tests")
+class AttendanceJournalTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 3);
+
+    private List<Punch> replayed;
+    private AtomicBoolean databaseDown;
+    private AtomicInteger rejectedEmployee;
+    private Path directory;
+    private AttendanceJournal journal;
+
+    @BeforeEach
+    @DisplayName("Setup test data before each test")
+    void setUp() throws IOException {
+        replayed = new CopyOnWriteArrayList<>();
+        databaseDown = new AtomicBoolean();
+        rejectedEmployee = new AtomicInteger();
+        directory = Files.createTempDirectory("motorph-journal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    // Journal in the temporary folder whose replay fails while the database is down, and
+    // whose database rejects any batch holding the rejected employee
+    private AttendanceJournal open() throws IOException {
+        return new AttendanceJournal(directory, batch -> {
+            if (databaseDown.get()) {
+                throw new SQLTransientConnectionException("Database unavailable");
+            }
+            if (batch.stream().anyMatch(p -> p.getEmployeeId() == rejectedEmployee.get())) {
+                throw new SQLException("Cannot add or update a child row", "23000");
+            }
+            replayed.addAll(batch);
+            return 0;
+        }, 10, 0);
+    }
+
+    private static Punch punch(int employeeId, int hour, Punch.Type type) {
+        return new Punch(employeeId, DAY, Time.valueOf(LocalTime.of(hour, 0)), type);
+    }
+
+    private static AttendanceIngestionQueue.Config queueConfig(int capacity, int batchSize) {
+        AttendanceIngestionQueue.Config config = new AttendanceIngestionQueue.Config();
+        config.setCapacity(capacity);
+        config.setBatchSize(batchSize);
+        config.setFlushIntervalMillis(10);
+        config.setOfferTimeoutMillis(10);
+        return config;
+    }
+
+    @Test
+    @DisplayName("Test Replay - Journaled punches are written in order and the journal emptied")
+    void testReplay() throws Exception {
+        journal = open();
+        journal.append(punch(10001, 8, Punch.Type.LOG_IN));
+        journal.append(punch(10001, 17, Punch.Type.LOG_OUT));
+        assertEquals(2, journal.getPendingPunches());
+
+        assertTrue(journal.replay());
+
+        // Every field survives the round trip through the file
+        assertEquals(2, replayed.size());
+        assertEquals(Punch.Type.LOG_IN, replayed.get(0).getType());
+        assertEquals(Time.valueOf(LocalTime.of(17, 0)), replayed.get(1).getTime());
+        assertEquals(10001, replayed.get(1).getEmployeeId());
+        assertEquals(DAY, replayed.get(1).getDate());
+        assertEquals(0, journal.getPendingPunches(), "Replayed punches should leave the journal");
+    }
+
+    @Test
+    @DisplayName("Test Dead Letter - A batch the database rejects is set aside and replay carries on")
+    void testDeadLetter() throws Exception {
+        journal = open();
+        for (int i = 1; i <= 15; i++) {
+            journal.append(punch(10000 + i, 8, Punch.Type.LOG_IN));
+        }
+        rejectedEmployee.set(10003);
+
+        assertTrue(journal.replay(), "A rejected batch should not hold back the rest of the journal");
+
+        // Batches are 10 punches, so the first batch goes aside whole and the second is written
+        assertEquals(5, replayed.size());
+        assertEquals(10011, replayed.get(0).getEmployeeId());
+        assertEquals(10, journal.getPunchesDeadLettered());
+        assertEquals(0, journal.getPendingPunches());
+        // Records are 17 bytes: employee, day, second of day, type and checksum
+        assertEquals(10 * 17, Files.size(directory.resolve("attendance.journal.dead")),
+                "The dead-letter file should keep the rejected records");
+    }
+
+    @Test
+    @DisplayName("Test Reopen - Punches survive reopening the journal")
+    void testReopen() throws Exception {
+        journal = open();
+        for (int i = 1; i <= 25; i++) {
+            journal.append(punch(10000 + i, 8, Punch.Type.LOG_IN));
+        }
+        journal.close();
+
+        journal = open();
+        assertEquals(25, journal.getPendingPunches());
+        assertTrue(journal.replay());
+        assertEquals(25, replayed.size());
+    }
+
+    @Test
+    @DisplayName("Test Replay Retry - A failed replay keeps the punches and resumes where it stopped")
+    void testReplayRetry() throws Exception {
+        journal = open();
+        for (int i = 1; i <= 15; i++) {
+            journal.append(punch(10000 + i, 8, Punch.Type.LOG_IN));
+        }
+
+        databaseDown.set(true);
+        assertThrows(SQLTransientConnectionException.class, () -> journal.replay());
+        journal.append(punch(10099, 9, Punch.Type.LOG_IN));
+        assertEquals(16, journal.getPendingPunches());
+
+        databaseDown.set(false);
+        journal.replay();
+        journal.replay();
+
+        assertEquals(16, replayed.size(), "No punch should be replayed twice or lost");
+        assertEquals(0, journal.getPendingPunches());
+    }
+
+    @Test
+    @DisplayName("Test Torn Record - A damaged record at the end is dropped on reopen")
+    void testTornRecord() throws Exception {
+        journal = open();
+        journal.append(punch(10001, 8, Punch.Type.LOG_IN));
+        journal.append(punch(10002, 8, Punch.Type.LOG_IN));
+        journal.close();
+
+        Path file = directory.resolve("attendance.journal");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Half of a third record, as left by a crash mid-write
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 39, 17, 0, 0, 0}), channel.size());
+            // Corrupt the second record's checksum
+            long size = channel.size();
+            channel.write(ByteBuffer.wrap(new byte[]{1}), size - 8);
+        }
+
+        journal = open();
+        assertEquals(1, journal.getPendingPunches());
+        journal.replay();
+        assertEquals(10001, replayed.get(0).getEmployeeId());
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Appends - Appends from many threads all reach the journal")
+    void testConcurrentAppends() throws Exception {
+        journal = open();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 1; i <= 200; i++) {
+                int id = 10000 + i;
+                futures.add(pool.submit(() -> {
+                    journal.append(punch(id, 8, Punch.Type.LOG_IN));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(200, journal.getPendingPunches());
+        assertTrue(journal.getSyncCount() <= 200, "Concurrent appends should share fsyncs");
+        journal.replay();
+        assertEquals(200, replayed.stream().map(Punch::getEmployeeId).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Test Queue Fallback - Batches the database rejects are journaled")
+    void testQueueFallsBackToJournal() throws Exception {
+        journal = open();
+        AttendanceIngestionQueue queue = new AttendanceIngestionQueue(batch -> {
+            throw new SQLTransientConnectionException("Database unavailable");
+        }, queueConfig(100, 5), journal);
+        try {
+            for (int i = 1; i <= 12; i++) {
+                assertTrue(queue.submit(punch(10000 + i, 8, Punch.Type.LOG_IN)));
+            }
+            assertTrue(queue.flush(5_000));
+        } finally {
+            queue.shutdown();
+        }
+
+        assertEquals(12, queue.getPunchesJournaled());
+        assertEquals(12, journal.getPendingPunches());
+        journal.replay();
+        assertEquals(12, replayed.size());
+    }
+
+    @Test
+    @DisplayName("Test Queue Rejected - A batch that fails for a reason other than an outage is not journaled")
+    void testQueueRetriesRejectedBatch() throws Exception {
+        journal = open();
+        List<Punch> written = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        AttendanceIngestionQueue queue = new AttendanceIngestionQueue(batch -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new SQLException("Deadlock found when trying to get lock", "40001");
+            }
+            written.addAll(batch);
+            return 0;
+        }, queueConfig(100, 5), journal);
+        try {
+            assertTrue(queue.submit(punch(10001, 8, Punch.Type.LOG_IN)));
+            assertTrue(queue.flush(5_000));
+        } finally {
+            queue.shutdown();
+        }
+
+        assertEquals(0, queue.getPunchesJournaled());
+        assertEquals(0, journal.getPendingPunches());
+        assertEquals(1, written.size(), "The writer should retry the batch itself");
+    }
+
+    @Test
+    @DisplayName("Test Queue Full - Punches that find the queue full are journaled, not left pending")
+    void testQueueFullGoesToJournal() throws Exception {
+        journal = open();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Punch> written = new CopyOnWriteArrayList<>();
+        AttendanceIngestionQueue queue = new AttendanceIngestionQueue(batch -> {
+            release.await();
+            written.addAll(batch);
+            return 0;
+        }, queueConfig(2, 1), journal);
+        try {
+            for (int i = 1; i <= 10; i++) {
+                assertTrue(queue.submit(punch(10000 + i, 8, Punch.Type.LOG_IN)));
+            }
+            assertTrue(queue.getPunchesJournaled() > 0, "The blocked writer must leave some punches to the journal");
+            assertEquals(10 - queue.getPunchesJournaled(), queue.getPendingPunches());
+
+            release.countDown();
+            assertTrue(queue.flush(5_000));
+            assertEquals(0, queue.getPendingPunches());
+        } finally {
+            queue.shutdown();
+        }
+
+        assertEquals(0, queue.getPunchesRejected());
+        assertEquals(queue.getPunchesJournaled(), journal.getPendingPunches());
+        journal.replay();
+        assertEquals(10, written.size() + replayed.size());
+    }
+}
@@ -0,0 +1,76 @@
+package test;
+
+import service.AttendanceJournal;
+import service.AttendanceService;
+import util.DBConnection;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * JUnit 5 test suite for AttendanceService while MySQL cannot be reached
+ * Tests that the real connection failure is recognised and that punches go to the local journal.
+ * The checks only run when no MySQL server answers on the configured port.
+ */
+@DisplayName("Attendance Service Tests")
+class AttendanceServiceTest {
+
+    @BeforeEach
+    @DisplayName("Setup test data before each test")
+    void setUp() throws IOException {
+        // The shared journal reads these once; replay is left to the test
+        if (System.getProperty("motorph.journal.dir") == null) {
+            System.setProperty("motorph.journal.dir", Files.createTempDirectory("motorph-journal").toString());
+            System.setProperty("motorph.journal.replayMs", "0");
+        }
+    }
+
+    // Whether a connection can be opened; closes it again if so
+    private static boolean databaseRunning() {
+        try (Connection connection = DBConnection.getConnection()) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("Test Connection Failure - A failed connect to MySQL counts as a connection failure")
+    void testConnectFailureDetected() {
+        SQLException failure = null;
+        try (Connection connection = DBConnection.getConnection()) {
+            // A running server leaves no failure to check
+            return;
+        } catch (SQLException e) {
+            failure = e;
+        }
+
+        assertTrue(DBConnection.isConnectionFailure(failure), "The wrapped driver failure should be recognised");
+        assertTrue(DBConnection.isConnectionFailure(new RuntimeException("Failed to record log in", failure)),
+                "A DAO wrapping the failure should not hide it");
+        assertFalse(DBConnection.isConnectionFailure(new RuntimeException(new SQLException("Duplicate entry", "23000"))),
+                "A statement error is not a connection failure");
+    }
+
+    @Test
+    @DisplayName("Test Offline Punch - A log in while MySQL is down is saved to the journal")
+    void testOfflineLogInJournaled() {
+        if (databaseRunning()) {
+            return;
+        }
+        AttendanceJournal journal = AttendanceJournal.getShared();
+        long pending = journal.getPendingPunches();
+
+        boolean recorded = new AttendanceService().recordLogIn(10001, LocalDate.now(), Time.valueOf(LocalTime.of(8, 0)));
+
+        assertTrue(recorded, "The punch should be accepted into the journal");
+        assertEquals(pending + 1, journal.getPendingPunches(), "The punch should wait in the journal for replay");
+    }
+}
@@ -0,0 +1,222 @@
+package test;
+
+import util.ConnectionPool;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import util.ConnectionPoolMXBean;
+
+/**
+ * JUnit 5 test suite for ConnectionPool
+ * Tests connection reuse, bounds, validation, shutdown and pool statistics
+ */
+@DisplayName("Connection Pool Tests")
+class ConnectionPoolTest {
+
+    private AtomicInteger opened;
+    private AtomicInteger closed;
+    private AtomicBoolean valid;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    @DisplayName("Setup test data before each test")
+    void setUp() {
+        opened = new AtomicInteger();
+        closed = new AtomicInteger();
+        valid = new AtomicBoolean(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ConnectionPool createPool(int maxSize, long borrowTimeoutMillis) {
+        ConnectionPool.Config config = new ConnectionPool.Config();
+        config.setMaxPoolSize(maxSize);
+        config.setBorrowTimeoutMillis(borrowTimeoutMillis);
+        config.setValidationIdleThresholdMillis(0);
+        return new ConnectionPool(this::fakeConnection, config);
+    }
+
+    // Stand-in for a MySQL connection that only tracks closing and validity
+    private Connection fakeConnection() {
+        opened.incrementAndGet();
+        AtomicBoolean isClosed = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (isClosed.compareAndSet(false, true)) closed.incrementAndGet();
+                            return null;
+                        case "isClosed":
+                            return isClosed.get();
+                        case "isValid":
+                            return valid.get();
+                        case "getAutoCommit":
+                            return true;
+                        case "isReadOnly":
+                            return false;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Test
+    @DisplayName("Test Reuse - Closing a borrowed connection returns it to the pool")
+    void testConnectionIsReused() throws SQLException {
+        pool = createPool(2, 1000);
+
+        try (Connection first = pool.borrow()) {
+            assertFalse(first.isClosed());
+        }
+        try (Connection second = pool.borrow()) {
+            assertFalse(second.isClosed());
+        }
+
+        assertEquals(1, opened.get(), "Only one physical connection should be opened");
+        assertEquals(0, closed.get(), "Physical connection should stay open in the pool");
+        assertEquals(1, pool.getIdleConnections());
+    }
+
+    @Test
+    @DisplayName("Test Bounds - Borrowing beyond the pool size times out")
+    void testPoolIsBounded() throws SQLException {
+        pool = createPool(1, 100);
+
+        try (Connection held = pool.borrow()) {
+            assertEquals(1, pool.getActiveConnections());
+            assertThrows(SQLTransientConnectionException.class, () -> pool.borrow());
+        }
+        assertEquals(1, opened.get());
+    }
+
+    @Test
+    @DisplayName("Test Release - A returned connection cannot be used again")
+    void testReleasedConnectionIsUnusable() throws SQLException {
+        pool = createPool(1, 1000);
+
+        Connection conn = pool.borrow();
+        conn.close();
+
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, () -> conn.createStatement());
+    }
+
+    @Test
+    @DisplayName("Test Validation - Idle connections failing validation are replaced")
+    void testInvalidIdleConnectionIsDiscarded() throws SQLException {
+        pool = createPool(1, 1000);
+
+        pool.borrow().close();
+        valid.set(false);
+
+        try (Connection conn = pool.borrow()) {
+            assertNotNull(conn);
+        }
+        assertEquals(2, opened.get(), "A fresh connection should replace the invalid one");
+        assertEquals(1, closed.get(), "The invalid connection should be closed");
+    }
+
+    @Test
+    @DisplayName("Test Shutdown - Idle connections are closed and new borrows rejected")
+    void testShutdown() throws SQLException {
+        pool = createPool(2, 1000);
+        pool.borrow().close();
+
+        pool.shutdown();
+
+        assertEquals(1, closed.get());
+        assertThrows(SQLException.class, () -> pool.borrow());
+    }
+
+    @Test
+    @DisplayName("Test Snapshot - Borrows, churn, validation failures and timeouts are counted")
+    void testSnapshotCounters() throws SQLException {
+        pool = createPool(1, 50);
+
+        // One clean borrow, one that replaces an invalid connection, one that times out
+        pool.borrow().close();
+        valid.set(false);
+        try (Connection held = pool.borrow()) {
+            assertThrows(SQLException.class, () -> pool.borrow());
+        }
+
+        ConnectionPool.Snapshot stats = pool.getSnapshot();
+        assertEquals(2, stats.getBorrowCount());
+        assertEquals(2, stats.getConnectionsCreated());
+        assertEquals(1, stats.getConnectionsClosed());
+        assertEquals(1, stats.getValidationFailures());
+        assertEquals(1, stats.getBorrowTimeouts());
+        assertEquals(0, stats.getActiveConnections());
+        assertEquals(1, stats.getIdleConnections());
+        assertTrue(stats.isStarved());
+        assertEquals(2L, stats.getBorrowLatencyHistogram().values().stream().mapToLong(Long::longValue).sum(),
+                "Every successful borrow should land in one histogram bucket");
+    }
+
+    @Test
+    @DisplayName("Test Starvation - Only current waiters and recent timeouts count")
+    void testStarvationIsCurrent() throws Exception {
+        pool = createPool(1, 50);
+        pool.getConfig().setStarvationWindowMillis(100);
+
+        Thread waiter;
+        try (Connection held = pool.borrow()) {
+            assertThrows(SQLException.class, () -> pool.borrow());
+            assertTrue(pool.getSnapshot().isStarved(), "A timeout just now should count");
+
+            Thread.sleep(150);
+            assertFalse(pool.getSnapshot().isStarved(), "A timeout outside the window should not count");
+            assertEquals(1, pool.getSnapshot().getBorrowTimeouts(), "The cumulative counter is kept");
+
+            pool.getConfig().setBorrowTimeoutMillis(5000);
+            waiter = new Thread(() -> {
+                try {
+                    pool.borrow().close();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            waiter.start();
+            while (pool.getThreadsAwaitingConnection() == 0) {
+                Thread.sleep(5);
+            }
+            assertTrue(pool.getSnapshot().isStarved(), "A thread waiting now should count");
+        }
+        waiter.join(5000);
+        assertFalse(pool.getSnapshot().isStarved());
+    }
+
+    @Test
+    @DisplayName("Test MXBean - Pool statistics are readable through the platform MBean server")
+    void testMXBeanRegistration() throws Exception {
+        pool = createPool(2, 1000);
+        pool.borrow().close();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.motorph.test:type=ConnectionPool");
+        server.registerMBean(pool, name);
+        try {
+            ConnectionPoolMXBean proxy = JMX.newMXBeanProxy(server, name, ConnectionPoolMXBean.class);
+            assertEquals(1, proxy.getIdleConnections());
+            assertEquals(1, proxy.getBorrowCount());
+            assertEquals(8, proxy.getBorrowLatencyHistogram().size());
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package test;
+
+import model.ContributionSchedule;
+import model.GovernmentContribution;
+import service.ContributionScheduleRegistry;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JUnit 5 tests for effective-dated contribution and tax schedules
+ */
+@DisplayName("Contribution Schedule Tests")
+class ContributionScheduleTest {
+
+    private static final double DELTA = 0.001;
+
+    private static final String TWO_VERSIONS = String.join("\n",
+            "# base version",
+            "SSS,2023-01-01,0,9999.99,5000,250,500",
+            "SSS,2023-01-01,10000,MAX,10000,500,1000",
+            "PHILHEALTH,2023-01-01,0,MAX,500,250,250",
+            "PAGIBIG,2023-01-01,1000,MAX,0.02,0.02",
+            "PAGIBIG_MAX,2023-01-01,5000",
+            "TAX,2023-01-01,0,250000,0,0",
+            "TAX,2023-01-01,250000,MAX,0,0.10",
+            "",
+            "# only SSS changes in 2025",
+            "SSS,2025-01-01,0,9999.99,5000,300,600",
+            "SSS,2025-01-01,10000,MAX,10000,600,1200");
+
+    private Path tempFile;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (tempFile != null) {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static double legacyMonthlyTax(double monthlySalary) {
+        double annualSalary = monthlySalary * 12;
+        double annualTax;
+        if (annualSalary <= 250000) {
+            annualTax = 0.0;
+        } else if (annualSalary <= 400000) {
+            annualTax = (annualSalary - 250000) * 0.15;
+        } else if (annualSalary <= 800000) {
+            annualTax = 22500 + (annualSalary - 400000) * 0.20;
+        } else if (annualSalary <= 2000000) {
+            annualTax = 102500 + (annualSalary - 800000) * 0.25;
+        } else if (annualSalary <= 8000000) {
+            annualTax = 402500 + (annualSalary - 2000000) * 0.30;
+        } else {
+            annualTax = 2202500 + (annualSalary - 8000000) * 0.35;
+        }
+        return annualTax / 12;
+    }
+
+    @Test
+    @DisplayName("Built-in tax schedule matches the previous hard-coded brackets")
+    void testBuiltInTax() {
+        ContributionSchedule schedule = ContributionSchedule.builtIn();
+        for (double salary = 0; salary <= 800000; salary += 731.5) {
+            assertEquals(legacyMonthlyTax(salary), schedule.monthlyIncomeTax(salary), DELTA, "salary " + salary);
+        }
+    }
+
+    @Test
+    @DisplayName("Bundled schedule file matches the built-in tables")
+    void testBundledFileMatchesBuiltIn() throws IOException {
+        List<ContributionSchedule> versions;
+        try (Reader reader = Files.newBufferedReader(Paths.get("resources/schedules/contribution_schedules.csv"))) {
+            versions = ContributionScheduleRegistry.parse(reader);
+        }
+        assertEquals(1, versions.size());
+
+        ContributionSchedule loaded = versions.get(0);
+        ContributionSchedule builtIn = ContributionSchedule.builtIn();
+        GovernmentContribution.Shares expected = new GovernmentContribution.Shares();
+        GovernmentContribution.Shares actual = new GovernmentContribution.Shares();
+        for (double salary = 0; salary <= 150000; salary += 97.3) {
+            assertEquals(builtIn.lookupSSS(salary, expected).getEmployeeShare(),
+                    loaded.lookupSSS(salary, actual).getEmployeeShare(), DELTA);
+            assertEquals(builtIn.lookupPhilHealth(salary, expected).getEmployeeShare(),
+                    loaded.lookupPhilHealth(salary, actual).getEmployeeShare(), DELTA);
+            assertEquals(builtIn.lookupPagIBIG(salary, expected).getEmployeeShare(),
+                    loaded.lookupPagIBIG(salary, actual).getEmployeeShare(), DELTA);
+            assertEquals(builtIn.monthlyIncomeTax(salary), loaded.monthlyIncomeTax(salary), DELTA);
+        }
+    }
+
+    @Test
+    @DisplayName("Versions inherit unchanged tables and are selected by date")
+    void testVersionSelection() throws IOException {
+        ContributionScheduleRegistry registry = new ContributionScheduleRegistry(null);
+        registry.install(ContributionScheduleRegistry.parse(new StringReader(TWO_VERSIONS)));
+        GovernmentContribution.Shares shares = new GovernmentContribution.Shares();
+
+        ContributionSchedule june2024 = registry.forDate(LocalDate.of(2024, 6, 1));
+        assertEquals(250, june2024.lookupSSS(8000, shares).getEmployeeShare(), DELTA);
+
+        ContributionSchedule june2025 = registry.forDate(LocalDate.of(2025, 6, 1));
+        assertEquals(300, june2025.lookupSSS(8000, shares).getEmployeeShare(), DELTA);
+        assertEquals(legacyTenPercent(30000), june2025.monthlyIncomeTax(30000), DELTA,
+                "Tax table should be inherited from the 2023 version");
+
+        ContributionSchedule before = registry.forDate(LocalDate.of(2020, 1, 1));
+        assertEquals(LocalDate.of(2023, 1, 1), before.getEffectiveFrom(), "Earlier periods use the first version");
+    }
+
+    private static double legacyTenPercent(double monthlySalary) {
+        return (monthlySalary * 12 - 250000) * 0.10 / 12;
+    }
+
+    @Test
+    @DisplayName("Malformed rows are rejected with the line number")
+    void testMalformedFile() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ContributionScheduleRegistry.parse(new StringReader("SSS,2023-01-01,0,abc,1,2,3")));
+        assertTrue(error.getMessage().startsWith("Line 1"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ContributionScheduleRegistry.parse(new StringReader("SSS,2023-01-01,0,MAX,5000,250,500")),
+                "A first version without every table is incomplete");
+    }
+
+    @Test
+    @DisplayName("Reload swaps in edited schedules and keeps the old ones on error")
+    void testHotReload() throws IOException {
+        tempFile = Files.createTempFile("schedules", ".csv");
+        Files.write(tempFile, TWO_VERSIONS.getBytes(StandardCharsets.UTF_8));
+        ContributionScheduleRegistry registry = new ContributionScheduleRegistry(tempFile);
+        assertTrue(registry.reload());
+        assertEquals(2, registry.getVersions().size());
+
+        Files.write(tempFile, (TWO_VERSIONS + "\nSSS,2026-01-01,0,MAX,5000,400,800\n").getBytes(StandardCharsets.UTF_8));
+        assertTrue(registry.reload());
+        assertEquals(3, registry.getVersions().size());
+
+        Files.write(tempFile, "not a schedule".getBytes(StandardCharsets.UTF_8));
+        assertFalse(registry.reload());
+        assertEquals(3, registry.getVersions().size(), "Failed reload must keep the current schedules");
+    }
+}
@@ -0,0 +1,97 @@
+package test;
+
+import model.Employee;
+import model.RegularEmployee;
+import service.EmployeeSearchIndex;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JUnit 5 tests for the in-memory employee search index
+ */
+@DisplayName("Employee Search Index Tests")
+class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    private static Employee employee(int id, String firstName, String lastName, String position, String sss) {
+        RegularEmployee employee = new RegularEmployee(id, firstName, lastName, position, 50000);
+        employee.setSssNumber(sss);
+        return employee;
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getEmployeeId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSearchIndex(Arrays.asList(
+                employee(10001, "Manuel", "Garcia", "Chief Executive Officer", "44-4506057-3"),
+                employee(10002, "Antonio", "Lim", "Chief Operating Officer", "52-2061274-9"),
+                employee(10003, "Bianca Sofia", "Aquino", "Chief Finance Officer", "30-8870406-2"),
+                employee(10004, "Isabella", "Reyes", "Chief Marketing Officer", "40-2511815-0"),
+                employee(10005, "Eduard", "Hernandez", "IT Operations and Systems", "50-5577638-1"),
+                employee(10006, "Andrea Mae", "Villanueva", "HR Manager", "49-1632020-8")));
+    }
+
+    @Test
+    @DisplayName("Substring of a name matches regardless of case")
+    void testSubstringMatch() {
+        assertEquals(Arrays.asList(10006), ids(index.search("NUEV", 0)));
+    }
+
+    @Test
+    @DisplayName("Short queries match word prefixes")
+    void testShortPrefix() {
+        assertEquals(Arrays.asList(10002), ids(index.search("li", 0)));
+    }
+
+    @Test
+    @DisplayName("Every word of the query must match")
+    void testAllTermsMustMatch() {
+        assertEquals(Arrays.asList(10002), ids(index.search("chief operating", 0)));
+        assertTrue(index.search("chief manager", 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Name matches rank above position matches")
+    void testRanking() {
+        index.put(employee(10007, "Roderick", "Operations", "Account Manager", null));
+
+        List<Integer> results = ids(index.search("operat", 0));
+        assertEquals(Integer.valueOf(10007), results.get(0));
+        assertTrue(results.containsAll(Arrays.asList(10002, 10005)));
+    }
+
+    @Test
+    @DisplayName("Government numbers match with or without dashes")
+    void testGovernmentNumbers() {
+        assertEquals(Arrays.asList(10001), ids(index.search("4506057", 0)));
+        assertEquals(Arrays.asList(10001), ids(index.search("44-4506", 0)));
+        assertEquals(Arrays.asList(10003), ids(index.search("308870", 0)));
+    }
+
+    @Test
+    @DisplayName("Exact employee ID ranks first")
+    void testIdSearch() {
+        assertEquals(Integer.valueOf(10004), ids(index.search("10004", 0)).get(0));
+        assertEquals(6, index.search("1000", 0).size());
+        assertEquals(2, index.search("1000", 2).size());
+    }
+
+    @Test
+    @DisplayName("Updates and removals are reflected immediately")
+    void testPutAndRemove() {
+        index.put(employee(10002, "Antonio", "Limbaga", "Chief Operating Officer", "52-2061274-9"));
+        assertEquals(Arrays.asList(10002), ids(index.search("limbaga", 0)));
+
+        index.remove(10002);
+        assertTrue(index.search("antonio", 0).isEmpty());
+        assertEquals(5, index.size());
+    }
+}
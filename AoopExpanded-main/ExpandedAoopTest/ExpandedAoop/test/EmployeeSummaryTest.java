@@ -0,0 +1,80 @@
+package test;
+
+import dao.EmployeeSort;
+import model.Employee;
+import model.EmployeeSummary;
+import model.RegularEmployee;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JUnit 5 tests for employee summaries and their in-memory ordering
+ */
+@DisplayName("Employee Summary Tests")
+class EmployeeSummaryTest {
+
+    private List<Employee> employees;
+
+    private static Employee employee(int id, String firstName, String lastName, String position) {
+        RegularEmployee employee = new RegularEmployee(id, firstName, lastName, position, 50000 + id);
+        employee.setPhoneNumber("0917-000-" + id);
+        return employee;
+    }
+
+    @BeforeEach
+    void setUp() {
+        employees = Arrays.asList(
+                employee(10003, "Bianca Sofia", "Aquino", "Chief Finance Officer"),
+                employee(10001, "Manuel", "Garcia", "Chief Executive Officer"),
+                employee(10007, "Alice", "Garcia", null),
+                employee(10006, "Andrea Mae", "Villanueva", "HR Manager"),
+                employee(10002, "Antonio", "Lim", "Chief Operating Officer"));
+    }
+
+    @Test
+    @DisplayName("Summary keeps the columns the employee list shows")
+    void testOf() {
+        EmployeeSummary summary = EmployeeSummary.of(employees.get(0));
+
+        assertEquals(10003, summary.getEmployeeId());
+        assertEquals("Bianca Sofia Aquino", summary.getFullName());
+        assertEquals("Chief Finance Officer", summary.getPositionTitle());
+        assertEquals(employees.get(0).getStatus(), summary.getStatus());
+        assertEquals(60003, summary.getBasicSalary(), 0.001);
+        assertEquals("0917-000-10003", summary.getPhoneNumber());
+    }
+
+    @Test
+    @DisplayName("Summaries sort in the same order as the employees they came from")
+    void testSummaryOrderMatchesEmployeeOrder() {
+        for (EmployeeSort sort : EmployeeSort.values()) {
+            List<Employee> sortedEmployees = new ArrayList<>(employees);
+            sortedEmployees.sort(sort.comparator());
+
+            List<EmployeeSummary> sortedSummaries = employees.stream()
+                    .map(EmployeeSummary::of)
+                    .sorted(sort.summaryComparator())
+                    .collect(Collectors.toList());
+
+            assertEquals(sortedEmployees.stream().map(Employee::getEmployeeId).collect(Collectors.toList()),
+                    sortedSummaries.stream().map(EmployeeSummary::getEmployeeId).collect(Collectors.toList()),
+                    sort.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Position order follows the position title, then the employee ID")
+    void testPositionOrder() {
+        List<Employee> sorted = new ArrayList<>(employees);
+        sorted.sort(EmployeeSort.POSITION_ASC.comparator());
+
+        // No position first, then alphabetical by title
+        assertEquals(Arrays.asList(10007, 10001, 10003, 10002, 10006),
+                sorted.stream().map(Employee::getEmployeeId).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,127 @@
+package test;
+
+import model.ContributionSchedule;
+import model.GovernmentContribution;
+import org.junit.jupiter.api.*;
+import service.ContributionScheduleRegistry;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * JUnit 5 tests for the compiled government contribution bracket lookups
+ */
+@DisplayName("Government Contribution Lookup Tests")
+class GovernmentContributionTest {
+
+    private static final double DELTA = 0.001;
+
+    private GovernmentContribution.Shares shares;
+
+    @BeforeEach
+    void setUp() {
+        shares = new GovernmentContribution.Shares();
+    }
+
+    @Test
+    @DisplayName("SSS lookup matches bracket edges")
+    void testSSSBrackets() {
+        GovernmentContribution.lookupSSS(0.00, shares);
+        assertEquals(5000.00, shares.getBase(), DELTA);
+        assertEquals(250.00, shares.getEmployeeShare(), DELTA);
+        assertEquals(500.00, shares.getEmployerShare(), DELTA);
+
+        GovernmentContribution.lookupSSS(5250.00, shares);
+        assertEquals(5500.00, shares.getBase(), DELTA);
+
+        GovernmentContribution.lookupSSS(32749.99, shares);
+        assertEquals(32500.00, shares.getBase(), DELTA);
+        assertEquals(1625.00, shares.getEmployeeShare(), DELTA);
+
+        GovernmentContribution.lookupSSS(1_000_000.00, shares);
+        assertEquals(35000.00, shares.getBase(), DELTA);
+        assertEquals(1750.00, shares.getEmployeeShare(), DELTA);
+    }
+
+    @Test
+    @DisplayName("PhilHealth lookup returns premium and shares")
+    void testPhilHealthBrackets() {
+        GovernmentContribution.lookupPhilHealth(10000.00, shares);
+        assertEquals(500.00, shares.getBase(), DELTA);
+        assertEquals(250.00, shares.getEmployeeShare(), DELTA);
+
+        GovernmentContribution.lookupPhilHealth(50000.00, shares);
+        assertEquals(2500.00, shares.getBase(), DELTA);
+        assertEquals(1250.00, shares.getEmployerShare(), DELTA);
+
+        GovernmentContribution.lookupPhilHealth(100000.00, shares);
+        assertEquals(2500.00, shares.getEmployeeShare(), DELTA);
+    }
+
+    @Test
+    @DisplayName("Pag-IBIG lookup caps the contributory salary and applies rates")
+    void testPagIBIG() {
+        GovernmentContribution.lookupPagIBIG(1200.00, shares);
+        assertEquals(12.00, shares.getEmployeeShare(), DELTA);
+        assertEquals(24.00, shares.getEmployerShare(), DELTA);
+        assertEquals(0.01, shares.getEmployeeRate(), DELTA);
+
+        GovernmentContribution.lookupPagIBIG(800.00, shares);
+        assertEquals(8.00, shares.getEmployeeShare(), DELTA, "Below 1,000 uses the first bracket rate");
+
+        GovernmentContribution.lookupPagIBIG(90000.00, shares);
+        assertEquals(5000.00, shares.getBase(), DELTA);
+        assertEquals(100.00, shares.getEmployeeShare(), DELTA);
+    }
+
+    @Test
+    @DisplayName("Lookups agree with the factory methods")
+    void testLookupMatchesFactories() {
+        ContributionSchedule builtIn = ContributionSchedule.builtIn();
+        for (double salary = 0; salary <= 120000; salary += 137.25) {
+            assertEquals(GovernmentContribution.createSSS(1, salary, builtIn).getAmount(),
+                    GovernmentContribution.lookupSSS(salary, shares).getEmployeeShare(), DELTA);
+            assertEquals(GovernmentContribution.createPhilHealth(1, salary, builtIn).getAmount(),
+                    GovernmentContribution.lookupPhilHealth(salary, shares).getEmployeeShare(), DELTA);
+            assertEquals(GovernmentContribution.createPagIBIG(1, salary, builtIn).getAmount(),
+                    GovernmentContribution.lookupPagIBIG(salary, shares).getEmployeeShare(), DELTA);
+        }
+    }
+
+    @Test
+    @DisplayName("Holder is reused and returned by every lookup")
+    void testHolderIsReused() {
+        assertSame(shares, GovernmentContribution.lookupSSS(20000, shares));
+        assertSame(shares, GovernmentContribution.lookupPhilHealth(20000, shares));
+        assertSame(shares, GovernmentContribution.lookupPagIBIG(20000, shares));
+    }
+
+    @Test
+    @DisplayName("Factories and rate getters use the schedule they are given")
+    void testScheduleSelectsRates() throws IOException {
+        List<ContributionSchedule> versions = ContributionScheduleRegistry.parse(new StringReader(String.join("\n",
+                "SSS,2023-01-01,0,MAX,5000,250,500",
+                "PHILHEALTH,2023-01-01,0,MAX,500,250,250",
+                "PAGIBIG,2023-01-01,1000,MAX,0.02,0.02",
+                "PAGIBIG_MAX,2023-01-01,5000",
+                "TAX,2023-01-01,0,MAX,0,0",
+                "PHILHEALTH,2025-01-01,0,MAX,1000,500,500",
+                "PAGIBIG,2025-01-01,1000,MAX,0.02,0.03",
+                "PAGIBIG_MAX,2025-01-01,10000")));
+        ContributionSchedule before = versions.get(0);
+        ContributionSchedule after = versions.get(1);
+
+        assertEquals(250, GovernmentContribution.createPhilHealth(1, 30000, before).getAmount(), DELTA);
+        assertEquals(500, GovernmentContribution.createPhilHealth(1, 30000, after).getAmount(), DELTA);
+        assertEquals(100, GovernmentContribution.createPagIBIG(1, 30000, before).getAmount(), DELTA);
+        assertEquals(200, GovernmentContribution.createPagIBIG(1, 30000, after).getAmount(), DELTA);
+        assertEquals(250, GovernmentContribution.createSSS(1, 30000, after).getAmount(), DELTA,
+                "SSS should be inherited from the 2023 version");
+
+        assertEquals(0.02, GovernmentContribution.getPagIBIGEmployerRate(30000, before), DELTA);
+        assertEquals(0.03, GovernmentContribution.getPagIBIGEmployerRate(30000, after), DELTA);
+        assertEquals(1000, GovernmentContribution.getPhilHealthMonthlyPremium(30000, after), DELTA);
+    }
+}
@@ -0,0 +1,54 @@
+package test;
+
+import dao.KeyBatches;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JUnit 5 test suite for KeyBatches
+ * Tests how multi-get keys are cleaned and split into bounded IN lists
+ */
+@DisplayName("Key Batches Tests")
+class KeyBatchesTest {
+
+    @Test
+    @DisplayName("Test Distinct Keys - Duplicates are dropped and first-seen order is kept")
+    void testDistinctKeys() {
+        assertEquals(Arrays.asList(10005, 10001, 10003),
+                KeyBatches.distinctKeys(Arrays.asList(10005, 10001, 10005, 10003, 10001)));
+        assertTrue(KeyBatches.distinctKeys(Collections.emptyList()).isEmpty(), "No keys should give no keys");
+    }
+
+    @Test
+    @DisplayName("Test Invalid Keys - Null and non-positive keys are rejected")
+    void testInvalidKeys() {
+        assertThrows(IllegalArgumentException.class, () -> KeyBatches.distinctKeys(null));
+        assertThrows(IllegalArgumentException.class, () -> KeyBatches.distinctKeys(Arrays.asList(10001, 0)));
+        assertThrows(IllegalArgumentException.class, () -> KeyBatches.distinctKeys(Arrays.asList(10001, null)));
+    }
+
+    @Test
+    @DisplayName("Test Chunks - Keys are split into chunks of at most the given size, in order")
+    void testChunks() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 1; i <= 1001; i++) {
+            keys.add(i);
+        }
+
+        List<List<Integer>> chunks = KeyBatches.chunks(keys, 500);
+
+        // 1001 keys: two full chunks and one with the last key
+        assertEquals(3, chunks.size());
+        assertEquals(500, chunks.get(0).size());
+        assertEquals(1, chunks.get(2).size());
+        assertEquals(Integer.valueOf(501), chunks.get(1).get(0));
+        assertEquals(Integer.valueOf(1001), chunks.get(2).get(0));
+        assertTrue(KeyBatches.chunks(Collections.emptyList(), 500).isEmpty(), "No keys should need no query");
+        assertThrows(IllegalArgumentException.class, () -> KeyBatches.chunks(keys, 0));
+    }
+}
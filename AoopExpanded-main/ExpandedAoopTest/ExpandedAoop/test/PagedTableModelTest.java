@@ -0,0 +1,143 @@
+package test;
+
+import ui.PagedTableModel;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit 5 tests for the paged table model and its keyset page walking
+ */
+@DisplayName("Paged Table Model Tests")
+class PagedTableModelTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    /**
+     * Rows 0..size-1 fetched by keyset, recording the key each query continued after
+     */
+    private static class KeysetSource implements PagedTableModel.PageSource<Integer> {
+        final List<Integer> afterKeys = new ArrayList<>();
+        int size;
+
+        KeysetSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int count() {
+            return size;
+        }
+
+        @Override
+        public synchronized List<Integer> fetch(Integer after, int offset, int limit) {
+            afterKeys.add(after);
+            List<Integer> rows = new ArrayList<>();
+            for (int i = after == null ? 0 : after + 1; i < size && rows.size() < limit; i++) {
+                rows.add(i);
+            }
+            return rows;
+        }
+    }
+
+    private PagedTableModel<Integer> model;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SwingUtilities.invokeAndWait(() -> model = new PagedTableModel<>(new String[]{"Value", "Double"},
+                i -> new Object[]{i, i * 2}, PAGE_SIZE, 3, Runnable::run));
+    }
+
+    /**
+     * Run on the EDT and wait for the page results it posts back
+     */
+    private static void onEdt(Runnable action) throws Exception {
+        SwingUtilities.invokeAndWait(action);
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    @Test
+    @DisplayName("Count and first page are loaded together")
+    void testFirstPage() throws Exception {
+        KeysetSource source = new KeysetSource(35);
+        AtomicInteger loaded = new AtomicInteger(-1);
+
+        onEdt(() -> model.setSource(source, loaded::set, Throwable::printStackTrace));
+
+        assertEquals(35, loaded.get());
+        assertEquals(35, model.getRowCount());
+        assertEquals(9, model.getValueAt(9, 0));
+        assertEquals(18, model.getValueAt(9, 1));
+        assertEquals(1, source.afterKeys.size());
+    }
+
+    @Test
+    @DisplayName("Next page continues after the last row of the previous one")
+    void testKeysetContinuation() throws Exception {
+        KeysetSource source = new KeysetSource(35);
+        onEdt(() -> model.setSource(source, null, Throwable::printStackTrace));
+
+        onEdt(() -> assertEquals("Loading...", model.getValueAt(12, 0)));
+
+        assertEquals(12, model.getValueAt(12, 0));
+        assertEquals(Integer.valueOf(9), source.afterKeys.get(1));
+    }
+
+    @Test
+    @DisplayName("Jumping ahead walks the pages in between in order")
+    void testJumpWalksPages() throws Exception {
+        KeysetSource source = new KeysetSource(100);
+        onEdt(() -> model.setSource(source, null, Throwable::printStackTrace));
+
+        onEdt(() -> model.getValueAt(55, 0));
+        for (int i = 0; i < 10; i++) {
+            SwingUtilities.invokeAndWait(() -> { });
+        }
+
+        assertEquals(55, model.getValueAt(55, 0));
+        assertEquals(Integer.valueOf(9), source.afterKeys.get(1));
+        assertEquals(Integer.valueOf(49), source.afterKeys.get(5));
+        assertNull(model.getRow(5), "Early pages are evicted from the window");
+    }
+
+    @Test
+    @DisplayName("Short page shrinks the row count when rows were deleted")
+    void testShortPageShrinksCount() throws Exception {
+        KeysetSource source = new KeysetSource(35);
+        onEdt(() -> model.setSource(source, null, Throwable::printStackTrace));
+
+        source.size = 15;
+        onEdt(() -> model.getValueAt(12, 0));
+
+        assertEquals(15, model.getRowCount());
+    }
+
+    @Test
+    @DisplayName("List source pages by offset")
+    void testListSource() throws Exception {
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            rows.add(i * 3);
+        }
+        onEdt(() -> model.setSource(PagedTableModel.listSource(rows), null, Throwable::printStackTrace));
+        onEdt(() -> model.getValueAt(21, 0));
+
+        assertEquals(25, model.getRowCount());
+        assertEquals(63, model.getValueAt(21, 0));
+        assertEquals(Integer.valueOf(63), model.getRow(21));
+    }
+
+    @Test
+    @DisplayName("Clearing removes all rows")
+    void testClear() throws Exception {
+        onEdt(() -> model.setSource(new KeysetSource(35), null, Throwable::printStackTrace));
+        onEdt(() -> model.clear());
+
+        assertEquals(0, model.getRowCount());
+        assertNull(model.getRow(0));
+    }
+}
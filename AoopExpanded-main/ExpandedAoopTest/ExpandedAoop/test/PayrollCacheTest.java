@@ -0,0 +1,115 @@
+package test;
+
+import service.PayrollCache;
+import service.PayrollCalculator.PayrollData;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+
+/**
+ * JUnit 5 tests for the payroll result cache and its invalidation rules
+ */
+@DisplayName("Payroll Cache Tests")
+class PayrollCacheTest {
+
+    private static final LocalDate JUNE_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate JUNE_END = LocalDate.of(2024, 6, 30);
+    private static final LocalDate JULY_START = LocalDate.of(2024, 7, 1);
+    private static final LocalDate JULY_END = LocalDate.of(2024, 7, 31);
+
+    private PayrollCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PayrollCache(3);
+    }
+
+    private static PayrollData payroll(int employeeId, LocalDate start, LocalDate end) {
+        PayrollData data = new PayrollData();
+        data.setEmployeeId(employeeId);
+        data.setPeriodStart(start);
+        data.setPeriodEnd(end);
+        return data;
+    }
+
+    private void put(int employeeId, LocalDate start, LocalDate end, int positionId) {
+        cache.put(payroll(employeeId, start, end), positionId, cache.currentGeneration());
+    }
+
+    @Test
+    @DisplayName("Hits and misses are counted per lookup")
+    void testHitAndMiss() {
+        assertNull(cache.get(10001, JUNE_START, JUNE_END));
+        put(10001, JUNE_START, JUNE_END, 1);
+
+        assertNotNull(cache.get(10001, JUNE_START, JUNE_END));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Least recently used entry is evicted when full")
+    void testEviction() {
+        put(10001, JUNE_START, JUNE_END, 1);
+        put(10002, JUNE_START, JUNE_END, 1);
+        put(10003, JUNE_START, JUNE_END, 1);
+        cache.get(10001, JUNE_START, JUNE_END);
+
+        put(10004, JUNE_START, JUNE_END, 1);
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(10002, JUNE_START, JUNE_END), "Oldest untouched entry should be evicted");
+        assertNotNull(cache.get(10001, JUNE_START, JUNE_END));
+    }
+
+    @Test
+    @DisplayName("Employee change only drops overlapping periods of that employee")
+    void testEmployeeInvalidation() {
+        put(10001, JUNE_START, JUNE_END, 1);
+        put(10001, JULY_START, JULY_END, 1);
+        put(10002, JUNE_START, JUNE_END, 1);
+
+        cache.employeeDataChanged(10001, LocalDate.of(2024, 6, 15), LocalDate.of(2024, 6, 15));
+
+        assertNull(cache.get(10001, JUNE_START, JUNE_END));
+        assertNotNull(cache.get(10001, JULY_START, JULY_END));
+        assertNotNull(cache.get(10002, JUNE_START, JUNE_END));
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Unbounded employee change drops every period of that employee")
+    void testEmployeeInvalidationWithoutDates() {
+        put(10001, JUNE_START, JUNE_END, 1);
+        put(10001, JULY_START, JULY_END, 1);
+
+        cache.employeeDataChanged(10001, null, null);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Position change drops payroll based on that position")
+    void testPositionInvalidation() {
+        put(10001, JUNE_START, JUNE_END, 1);
+        put(10002, JUNE_START, JUNE_END, 2);
+
+        cache.positionChanged(2);
+
+        assertNotNull(cache.get(10001, JUNE_START, JUNE_END));
+        assertNull(cache.get(10002, JUNE_START, JUNE_END));
+    }
+
+    @Test
+    @DisplayName("Result loaded before a concurrent write is not cached")
+    void testStaleResultIsNotCached() {
+        long generation = cache.currentGeneration();
+        cache.employeeDataChanged(10001, JUNE_START, JUNE_START);
+
+        cache.put(payroll(10001, JUNE_START, JUNE_END), 1, generation);
+
+        assertEquals(0, cache.size());
+    }
+}
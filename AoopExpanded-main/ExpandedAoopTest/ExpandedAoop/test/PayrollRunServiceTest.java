@@ -0,0 +1,172 @@
+package test;
+
+import service.PayrollCalculator.PayrollCalculationException;
+import service.PayrollCalculator.PayrollData;
+import service.PayrollRunService;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * JUnit 5 test suite for PayrollRunService
+ * Tests results, bounded concurrency, progress reporting and cancellation of payroll runs
+ */
+@DisplayName("Payroll Run Service Tests")
+class PayrollRunServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate END = LocalDate.of(2024, 6, 30);
+
+    private PayrollRunService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private static List<Integer> employeeIds(int count) {
+        return IntStream.rangeClosed(10001, 10000 + count).boxed().collect(Collectors.toList());
+    }
+
+    // Calculated payroll whose net pay identifies the employee
+    private static PayrollData payrollFor(int employeeId) {
+        PayrollData data = new PayrollData();
+        data.setEmployeeId(employeeId);
+        data.setNetPay(employeeId * 1.0);
+        return data;
+    }
+
+    @Test
+    @DisplayName("Test Results - A run returns results and failures per employee")
+    void testResultsAndFailures() throws InterruptedException {
+        // Every fifth employee fails
+        service = new PayrollRunService((id, start, end) -> {
+            if (id % 5 == 0) {
+                throw new PayrollCalculationException("Position not found for employee: " + id);
+            }
+            return payrollFor(id);
+        }, 4, 3);
+
+        PayrollRunService.RunResult result = service.run(employeeIds(20), START, END, null);
+
+        assertEquals(20, result.getTotal());
+        assertEquals(16, result.getResults().size());
+        assertEquals(4, result.getFailures().size());
+        assertEquals(10001.0, result.getResults().get(10001).getNetPay());
+        assertTrue(result.getFailures().containsKey(10005), "Failures should be keyed by employee");
+        assertEquals(0, result.getSkippedCount(), "A failure should not skip other employees");
+        assertFalse(result.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Test Concurrency - Calculations never exceed the database limit")
+    void testConcurrencyIsBounded() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        service = new PayrollRunService((id, start, end) -> {
+            int now = running.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return payrollFor(id);
+        }, 8, 2);
+
+        PayrollRunService.RunResult result = service.run(employeeIds(30), START, END, null);
+
+        // Eight threads, but only two database permits
+        assertEquals(30, result.getResults().size());
+        assertTrue(peak.get() <= 2, "Peak concurrency was " + peak.get());
+    }
+
+    @Test
+    @DisplayName("Test Progress - Progress is reported once per employee")
+    void testProgressCallbacks() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger lastCompleted = new AtomicInteger();
+        service = new PayrollRunService((id, start, end) -> payrollFor(id), 4, 4);
+
+        service.run(employeeIds(12), START, END, (completed, total, employeeId, success) -> {
+            calls.incrementAndGet();
+            lastCompleted.accumulateAndGet(completed, Math::max);
+            assertEquals(12, total);
+        });
+
+        assertEquals(12, calls.get(), "Each employee should be reported once");
+        assertEquals(12, lastCompleted.get());
+    }
+
+    @Test
+    @DisplayName("Test Cancellation - Employees that have not started are skipped")
+    void testCancellation() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service = new PayrollRunService((id, start, end) -> {
+            firstStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return payrollFor(id);
+        }, 1, 1);
+
+        // Cancel while the single worker is busy with the first employee
+        PayrollRunService.PayrollRun run = service.start(employeeIds(10), START, END, null);
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        run.cancel();
+        release.countDown();
+
+        PayrollRunService.RunResult result = run.await(5, TimeUnit.SECONDS);
+        assertNotNull(result, "Cancelled run should complete");
+        assertTrue(result.isCancelled());
+        assertEquals(1, result.getResults().size(), "The running calculation should finish");
+        assertEquals(9, result.getSkippedCount());
+    }
+
+    @Test
+    @DisplayName("Test Streaming - Each payroll reaches the listener before its progress")
+    void testCalculatedPayrollIsStreamed() throws InterruptedException {
+        service = new PayrollRunService((id, start, end) -> {
+            if (id == 10003) {
+                throw new PayrollCalculationException("Position not found for employee: " + id);
+            }
+            return payrollFor(id);
+        }, 2, 2);
+
+        Set<Integer> streamed = ConcurrentHashMap.newKeySet();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        service.run(employeeIds(6), START, END, new PayrollRunService.ProgressListener() {
+            @Override
+            public void onCalculated(PayrollData data) {
+                streamed.add(data.getEmployeeId());
+            }
+
+            @Override
+            public void onProgress(int completed, int total, int employeeId, boolean success) {
+                if (success != streamed.contains(employeeId)) {
+                    outOfOrder.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(5, streamed.size());
+        assertFalse(streamed.contains(10003), "A failed employee has nothing to stream");
+        assertEquals(0, outOfOrder.get(), "Progress should never arrive before the payroll");
+    }
+}
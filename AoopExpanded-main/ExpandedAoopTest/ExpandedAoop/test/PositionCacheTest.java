@@ -0,0 +1,150 @@
+package test;
+
+import dao.PositionCache;
+import model.Position;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * JUnit 5 test suite for PositionCache
+ * Tests lookups, reloads after writes and expiry, and failed reloads
+ */
+@DisplayName("Position Cache Tests")
+class PositionCacheTest {
+
+    private List<Position> positions;
+    private int loads;
+    private boolean databaseDown;
+
+    @BeforeEach
+    @DisplayName("Setup test data before each test")
+    void setUp() {
+        positions = Arrays.asList(
+                new Position(1, "Chief Executive Officer", 90000),
+                new Position(2, "HR Manager", 52670),
+                new Position(3, "Account Manager", 53500));
+        loads = 0;
+        databaseDown = false;
+    }
+
+    private PositionCache createCache(long ttlMillis) {
+        return new PositionCache(() -> {
+            loads++;
+            if (databaseDown) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return new ArrayList<>(positions);
+        }, ttlMillis);
+    }
+
+    @Test
+    @DisplayName("Test Lookups - Positions are found by ID and title from one load")
+    void testLookups() {
+        PositionCache cache = createCache(0);
+
+        assertEquals("HR Manager", cache.getById(2).getPositionName());
+        assertEquals(3, cache.getByTitle("Account Manager").getPositionId());
+        assertNull(cache.getById(99), "An unknown ID has no position");
+        assertNull(cache.getByTitle(null));
+        assertEquals("Account Manager", cache.getAll().get(0).getPositionName(), "Positions should be sorted by title");
+
+        assertEquals(1, loads, "All lookups should share one load");
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(3, cache.getPositionCount());
+        assertFalse(cache.isStale());
+    }
+
+    @Test
+    @DisplayName("Test Title Matching - Titles ignore case and surrounding spaces like the database")
+    void testTitleMatching() {
+        PositionCache cache = createCache(0);
+
+        assertEquals(2, cache.getByTitle("hr manager").getPositionId());
+        assertEquals(3, cache.getByTitle(" ACCOUNT MANAGER ").getPositionId());
+        assertNull(cache.getByTitle("Account"), "Only whole titles should match");
+    }
+
+    @Test
+    @DisplayName("Test Invalidation - A position write makes the next read reload")
+    void testInvalidate() {
+        PositionCache cache = createCache(0);
+        assertEquals(52670, cache.getById(2).getMonthlySalary(), 0.001);
+
+        positions = Arrays.asList(new Position(2, "HR Manager", 60000));
+        cache.positionChanged(2);
+
+        assertTrue(cache.isStale());
+        assertEquals(60000, cache.getById(2).getMonthlySalary(), 0.001);
+        assertNull(cache.getById(1), "A deleted position should be gone after the reload");
+        assertEquals(2, cache.getRefreshCount());
+    }
+
+    @Test
+    @DisplayName("Test Expiry - Positions older than the TTL are reloaded")
+    void testTtl() throws InterruptedException {
+        PositionCache cache = createCache(20);
+        cache.getById(1);
+        Thread.sleep(40);
+
+        assertTrue(cache.isStale());
+        cache.getById(1);
+        assertEquals(2, loads);
+    }
+
+    @Test
+    @DisplayName("Test Failed Reload - The loaded positions are kept when a reload fails")
+    void testReloadFailure() {
+        PositionCache cache = createCache(0);
+        cache.getById(1);
+
+        databaseDown = true;
+        cache.invalidate();
+        assertEquals("Chief Executive Officer", cache.getById(1).getPositionName());
+        assertEquals(1, cache.getRefreshFailures());
+        assertTrue(cache.isStale(), "The cache should stay stale so the next read tries again");
+
+        databaseDown = false;
+        cache.getById(1);
+        assertFalse(cache.isStale());
+    }
+
+    @Test
+    @DisplayName("Test Failed First Load - The error is thrown when nothing was loaded before")
+    void testFirstLoadFailure() {
+        databaseDown = true;
+        assertThrows(IllegalStateException.class, () -> createCache(0).getById(1));
+    }
+
+    @Test
+    @DisplayName("Test Concurrent Reads - Threads reading an empty cache share one load")
+    void testConcurrentFirstRead() throws Exception {
+        PositionCache cache = createCache(0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Position>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return cache.getById(3);
+                }));
+            }
+            start.countDown();
+            for (Future<Position> future : futures) {
+                assertEquals("Account Manager", future.get().getPositionName());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, loads);
+    }
+}
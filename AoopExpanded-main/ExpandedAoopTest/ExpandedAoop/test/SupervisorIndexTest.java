@@ -0,0 +1,123 @@
+package test;
+
+import dao.SupervisorIndex;
+import model.EmployeeName;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JUnit 5 test suite for SupervisorIndex
+ * Tests supervisor name and ID lookups, index updates and reloads
+ */
+@DisplayName("Supervisor Index Tests")
+class SupervisorIndexTest {
+
+    private List<EmployeeName> employees;
+    private int loads;
+    private SupervisorIndex index;
+
+    @BeforeEach
+    @DisplayName("Setup test data before each test")
+    void setUp() {
+        employees = new ArrayList<>(Arrays.asList(
+                new EmployeeName(10001, "Garcia", "Manuel III"),
+                new EmployeeName(10002, "Lim", "Antonio"),
+                new EmployeeName(10003, "Aquino", "Bianca Sofia")));
+        loads = 0;
+        index = createIndex(60_000);
+    }
+
+    private SupervisorIndex createIndex(long reloadIntervalMillis) {
+        return new SupervisorIndex(() -> {
+            loads++;
+            return new ArrayList<>(employees);
+        }, reloadIntervalMillis);
+    }
+
+    @Test
+    @DisplayName("Test Lookups - Names and IDs resolve both ways from one load")
+    void testLookups() {
+        assertEquals(Integer.valueOf(10002), index.idOf("Lim, Antonio"));
+        assertEquals("Aquino, Bianca Sofia", index.nameOf(10003));
+
+        // Names match like the database collation
+        assertEquals(Integer.valueOf(10001), index.idOf("  garcia, MANUEL III "),
+                "Case and surrounding spaces should be ignored");
+
+        assertNull(index.idOf(""), "A blank name has no supervisor");
+        assertNull(index.idOf(null), "A missing name has no supervisor");
+        assertEquals(1, loads, "All lookups should share one load");
+    }
+
+    @Test
+    @DisplayName("Test Updates - Inserts, renames and deletes change the index without reloading")
+    void testUpdates() {
+        index.nameOf(10001);
+
+        index.put(10004, "Reyes", "Isabella");
+        index.put(10002, "Lim", "Antonia");
+        index.remove(10003);
+
+        assertEquals(Integer.valueOf(10004), index.idOf("Reyes, Isabella"));
+        assertEquals(Integer.valueOf(10002), index.idOf("Lim, Antonia"));
+        assertNull(index.idOf("Lim, Antonio"), "The old name should be gone after a rename");
+        assertNull(index.idOf("Aquino, Bianca Sofia"), "A deleted employee should be gone");
+        assertEquals(3, index.size());
+        assertEquals(1, loads, "Updates should not reload the index");
+    }
+
+    @Test
+    @DisplayName("Test Shared Names - A name held by several employees resolves to the lowest ID")
+    void testSharedNames() {
+        employees.add(new EmployeeName(10009, "Lim", "Antonio"));
+        index.nameOf(10001);
+        index.put(10005, "Lim", "Antonio");
+
+        assertEquals(Integer.valueOf(10002), index.idOf("Lim, Antonio"));
+
+        // The next holder takes over when the lowest one is renamed or deleted
+        index.put(10002, "Lim", "Antonia");
+        assertEquals(Integer.valueOf(10005), index.idOf("Lim, Antonio"));
+        index.remove(10005);
+        assertEquals(Integer.valueOf(10009), index.idOf("Lim, Antonio"));
+        index.remove(10009);
+        assertEquals(Integer.valueOf(10002), index.idOf("Lim, Antonia"));
+        assertEquals(1, loads);
+    }
+
+    @Test
+    @DisplayName("Test Reloads - A miss reloads the index at most once per interval")
+    void testReloadOnMiss() {
+        index.idOf("Lim, Antonio");
+        employees.add(new EmployeeName(10006, "Villanueva", "Andrea Mae"));
+
+        // Loaded just now, so the miss does not reload yet
+        assertNull(index.idOf("Villanueva, Andrea Mae"));
+        assertEquals(1, loads);
+
+        SupervisorIndex eager = createIndex(0);
+        assertEquals(Integer.valueOf(10006), eager.idOf("Villanueva, Andrea Mae"));
+        employees.add(new EmployeeName(10007, "Salcedo", "Brad"));
+        assertEquals("Salcedo, Brad", eager.nameOf(10007), "A miss should pick up rows written elsewhere");
+    }
+
+    @Test
+    @DisplayName("Test Batch Resolution - Names keep their order and all misses share one reload")
+    void testResolveIds() {
+        SupervisorIndex eager = createIndex(0);
+        eager.nameOf(10001);
+        employees.add(new EmployeeName(10008, "Hernandez", "Eduard"));
+
+        Map<String, Integer> ids = eager.resolveIds(Arrays.asList(
+                "Lim, Antonio", "Nobody, Here", "Hernandez, Eduard", null, "Unknown, Too", "Lim, Antonio"));
+
+        assertEquals(Arrays.asList("Lim, Antonio", "Hernandez, Eduard"), new ArrayList<>(ids.keySet()));
+        assertEquals(Integer.valueOf(10008), ids.get("Hernandez, Eduard"));
+        assertEquals(2, loads, "Unknown names should cost one reload in total");
+    }
+}